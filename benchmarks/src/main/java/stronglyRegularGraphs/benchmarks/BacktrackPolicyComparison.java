@@ -0,0 +1,193 @@
+package stronglyRegularGraphs.benchmarks;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import stronglyRegularGraphs.BackjumpingPolicy;
+import stronglyRegularGraphs.BacktrackPolicy;
+import stronglyRegularGraphs.BitRow;
+import stronglyRegularGraphs.DepthProportionalPolicy;
+import stronglyRegularGraphs.FullRestartPolicy;
+import stronglyRegularGraphs.LubyRestartPolicy;
+import stronglyRegularGraphs.MatrixWriter;
+import stronglyRegularGraphs.PercentageBacktrackPolicy;
+import stronglyRegularGraphs.SRGsolver;
+
+/**
+ * Compares the random search's backtrack policies by their time to a solution on the graphs of Main's catalog.  Every graph
+ * is searched once per policy and seed, with the same seeds for every policy, and a search that has not completed the graph
+ * after the candidate limit counts as unsolved.  For each graph and policy it prints the number of seeds solved and the
+ * median time and candidates to a solution, with unsolved runs counted as slower than any solved one; a median that is an
+ * unsolved run is shown as "-".
+ * <p>
+ * This is a plain main class rather than a JMH benchmark, since a single search already runs for seconds and its time
+ * varies far more from seed to seed than from JIT effects.  The arguments are optional:
+ * <pre>
+ *     java -cp benchmarks/target/benchmarks.jar stronglyRegularGraphs.benchmarks.BacktrackPolicyComparison [seeds]
+ *         [candidate limit] [largest number of vertices]
+ * </pre>
+ * The defaults are 3 seeds, 20,000,000 candidates and graphs of up to 29 vertices.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class BacktrackPolicyComparison
+{
+	private static final int DEFAULT_SEEDS = 3;
+	private static final long DEFAULT_CANDIDATE_LIMIT = 20000000L;
+	private static final int DEFAULT_MAXIMUM_VERTICES = 29;
+	private static final int POLICIES = 5;
+
+	//Name, vertices, degree, lambda and mu of the graphs listed in Main.
+	private static final Object[][] CATALOG = {
+		{"(5)CycleGraph", 5, 2, 0, 1},
+		{"(10)PetersonGraph", 10, 3, 0, 1},
+		{"(16)ClebschGraph", 16, 5, 0, 2},
+		{"(50)HuffmanSingletonGraph", 50, 7, 0, 1},
+		{"(4)SquareGraph", 4, 2, 0, 2},
+		{"(6)UtilityGraph", 6, 3, 0, 3},
+		{"(6)OctahedralGraph", 6, 4, 2, 4},
+		{"(8)BipartiteGraph", 8, 4, 0, 4},
+		{"(8)SixteenCellGraph", 8, 6, 4, 6},
+		{"(9)GeneralizedQuadrangleGraph", 9, 4, 1, 2},
+		{"(9)CompleteTripartiteGraph", 9, 6, 3, 6},
+		{"(10)BipartiteGraph", 10, 5, 0, 5},
+		{"(10)FiveTriangularGraph", 10, 6, 3, 4},
+		{"(10)FiveCocktailPartyGraph", 10, 8, 6, 8},
+		{"(12)BipartiteGraph", 12, 6, 0, 6},
+		{"(12)TripartiteGraph", 12, 8, 4, 8},
+		{"(12)6-CocktailPartyGraph", 12, 10, 8, 10},
+		{"(13)13-PaleyGraph", 13, 6, 2, 3},
+		{"(14)BipartiteGraph", 14, 7, 0, 7},
+		{"(14)7-CocktailPartyGraph", 14, 12, 10, 12},
+		{"(15)2,2-GeneralizedQuadrangleGraph", 15, 6, 1, 3},
+		{"(15)6-TriangularGraph", 15, 8, 4, 4},
+		{"(15)TripartiteGraph", 15, 10, 5, 10},
+		{"(15)Five-PartiteGraph", 15, 12, 9, 12},
+		{"(16)ShrikhandeGraph", 16, 6, 2, 2},
+		{"(16)BipartiteGraph", 16, 8, 0, 8},
+		{"(16)4,4-LatticeComplementGraph", 16, 9, 4, 6},
+		{"(16)fiveHalvedCubeGraph", 16, 10, 6, 6},
+		{"(16)4-PartiteGraph", 16, 12, 8, 12},
+		{"(16)8-CocktailPartyGraph", 16, 14, 12, 14},
+		{"(17)PaleyGraph", 17, 8, 3, 4},
+		{"(18)9-CocktailPartyGraph", 18, 16, 14, 16},
+		{"(18)BipartiteGraph", 18, 9, 0, 9},
+		{"(18)TripartiteGraph", 18, 12, 6, 12},
+		{"(20)BipartiteGraph", 20, 10, 0, 10},
+		{"(20)10-CocktailPartyGraph", 20, 18, 16, 18},
+		{"(21)(7,2)-KneserGraph", 21, 10, 3, 6},
+		{"(21)7-TriangularGraph", 21, 10, 5, 4},
+		{"(22)BipartiteGraph", 22, 11, 0, 11},
+		{"(22)11-CocktailPartyGraph", 22, 20, 18, 20},
+		{"(24)BipartiteGraph", 24, 12, 0, 12},
+		{"(24)12-CocktailPartyGraph", 24, 22, 20, 22},
+		{"(25)5,5-LatticeGraph", 25, 8, 3, 2},
+		{"(25)PaleyGraph", 25, 12, 5, 6},
+		{"(26)PaulusGraph", 26, 10, 3, 4},
+		{"(27)(2,4)-GeneralizedQuadrangleGraph", 27, 10, 1, 5},
+		{"(29)PaleyGraph", 29, 14, 6, 7},
+	};
+
+	public static void main(String args[])
+	{
+		int seeds = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_SEEDS;
+		long candidateLimit = (args.length > 1) ? Long.parseLong(args[1]) : DEFAULT_CANDIDATE_LIMIT;
+		int maximumVertices = (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULT_MAXIMUM_VERTICES;
+		String fileName = new File(System.getProperty("java.io.tmpdir"), "BacktrackPolicyComparison.txt").getPath();
+
+		//The solver prints every graph it completes; only the comparison's own lines are wanted.
+		PrintStream results = System.out;
+		PrintStream discard = new PrintStream(new OutputStream()
+		{
+			public void write(int b)
+			{
+			}
+		});
+
+		results.println("graph, policy, solved, median seconds, median candidates");
+		for(int g = 0; g < CATALOG.length; g++)
+		{
+			String name = (String) CATALOG[g][0];
+			int numOfVertices = (Integer) CATALOG[g][1];
+			int degree = (Integer) CATALOG[g][2];
+			int lambdaValue = (Integer) CATALOG[g][3];
+			int muValue = (Integer) CATALOG[g][4];
+			if(numOfVertices > maximumVertices)
+			{
+				continue;
+			}
+
+			for(int p = 0; p < POLICIES; p++)
+			{
+				double[] seconds = new double[seeds];
+				long[] candidates = new long[seeds];
+				int solved = 0;
+				String policyName = null;
+				for(int seed = 0; seed < seeds; seed++)
+				{
+					SRGsolver srgSolver = new SRGsolver(fileName, numOfVertices, degree, lambdaValue, muValue, seed + 1);
+					srgSolver.setVerbose(false);
+					srgSolver.setOutputFormats(EnumSet.noneOf(MatrixWriter.OutputFormat.class));
+					srgSolver.setCandidateLimit(candidateLimit);
+					BacktrackPolicy backtrackPolicy = createPolicy(p, srgSolver);
+					srgSolver.setBacktrackPolicy(backtrackPolicy);
+					policyName = backtrackPolicy.toString();
+
+					List<BitRow> currentRowSet = new ArrayList<BitRow>();
+					currentRowSet.add(srgSolver.generateRandomBitRow(true));
+					System.setOut(discard);
+					long startTime = System.nanoTime();
+					List<BitRow> maximalRowSet = srgSolver.buildBitRowListWhileLoop(currentRowSet);
+					long endTime = System.nanoTime();
+					System.setOut(results);
+					if(maximalRowSet != null && maximalRowSet.size() == numOfVertices)
+					{
+						seconds[seed] = (endTime - startTime) / 1000000000.0;
+						candidates[seed] = srgSolver.getCandidatesGenerated();
+						solved++;
+					}
+					else
+					{
+						seconds[seed] = Double.POSITIVE_INFINITY;
+						candidates[seed] = Long.MAX_VALUE;
+					}
+				}
+				Arrays.sort(seconds);
+				Arrays.sort(candidates);
+				double medianSeconds = seconds[(seeds - 1) / 2];
+				long medianCandidates = candidates[(seeds - 1) / 2];
+				results.println(name + ", " + policyName + ", " + solved + "/" + seeds + ", "
+						+ (Double.isInfinite(medianSeconds) ? "-" : String.valueOf(SRGsolver.round(medianSeconds, 3))) + ", "
+						+ ((medianCandidates == Long.MAX_VALUE) ? "-" : String.valueOf(medianCandidates)));
+			}
+		}
+	}
+
+	/**
+	 * Creates the p'th policy compared, each with its default settings.
+	 */
+	private static BacktrackPolicy createPolicy(int p, SRGsolver srgSolver)
+	{
+		switch(p)
+		{
+			case 0:
+				return new FullRestartPolicy();
+			case 1:
+				return new PercentageBacktrackPolicy(srgSolver, FullRestartPolicy.RESTART_FAILURES,
+						PercentageBacktrackPolicy.DEFAULT_PERCENT_TO_KEEP, PercentageBacktrackPolicy.DEFAULT_PERCENT_THRESHOLD);
+			case 2:
+				return new DepthProportionalPolicy();
+			case 3:
+				return new LubyRestartPolicy();
+			default:
+				return new BackjumpingPolicy(srgSolver.getNumOfVertices());
+		}
+	}
+
+}//end BacktrackPolicyComparison class
@@ -0,0 +1,200 @@
+package stronglyRegularGraphs.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import stronglyRegularGraphs.BitRow;
+import stronglyRegularGraphs.MatrixWriter;
+import stronglyRegularGraphs.SRGsolver;
+
+/**
+ * JMH benchmarks of the solver's hot paths, each run for (10, 3, 0, 1), (29, 14, 6, 7), (50, 7, 0, 1) and (162, 21, 0, 3).
+ * <p>
+ * The kernels are timed on the row set a seeded random search actually reaches: setup replays SETUP_CHUNKS runs of
+ * SETUP_CHUNK_CANDIDATES candidates and keeps the deepest row set seen (one row short of full, for graphs the search
+ * completes).  Both the List versions Main used originally and the BitRow versions the search uses now are timed, so the
+ * results show the gap between them.
+ * <p>
+ * candidatesPerSecond runs the random search itself, continuing one seeded search across invocations so it spends its time
+ * at the depths a real run does; its score is candidates per second.  The solver writes nothing to file and does not print
+ * accepted rows.
+ *
+ * @author Tyler Wilcock
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark
+{
+	private static final long SEED = 1;
+	private static final int SETUP_CHUNKS = 50;
+	private static final long SETUP_CHUNK_CANDIDATES = 1000;
+	private static final int CANDIDATES_PER_INVOCATION = 10000;
+
+	@Param({"10,3,0,1", "29,14,6,7", "50,7,0,1", "162,21,0,3"})
+	public String parameters;
+
+	private SRGsolver srgSolver;
+	private List<BitRow> bitRowSet;
+	private List< List<Integer> > listRowSet;
+	private int[][] dotProductMatrix;
+	private BitRow scratchRow;
+
+	private String fileName;
+	private int numOfVertices, degree, lambdaValue, muValue;
+	private SRGsolver searchSolver;
+	private List<BitRow> searchRowSet;
+
+	@Setup
+	public void setUp()
+	{
+		String[] values = parameters.split(",");
+		numOfVertices = Integer.parseInt(values[0]);
+		degree = Integer.parseInt(values[1]);
+		lambdaValue = Integer.parseInt(values[2]);
+		muValue = Integer.parseInt(values[3]);
+		fileName = new File(System.getProperty("java.io.tmpdir"), "SolverBenchmark.txt").getPath();
+
+		startSearch();
+		List<BitRow> deepestRows = copyOf(searchRowSet);
+		for(int c = 0; c < SETUP_CHUNKS; c++)
+		{
+			searchRowSet = searchSolver.replay(searchRowSet, SETUP_CHUNK_CANDIDATES);
+			int depth = Math.min(searchRowSet.size(), numOfVertices - 1);
+			if(depth > deepestRows.size())
+			{
+				deepestRows = copyOf(searchRowSet.subList(0, depth));
+			}
+			if(searchRowSet.size() == numOfVertices)
+			{
+				startSearch();
+			}
+		}
+
+		srgSolver = newSolver();
+
+		bitRowSet = deepestRows;
+		listRowSet = BitRow.toList2D(bitRowSet);
+		dotProductMatrix = srgSolver.bitDotProduct(bitRowSet);
+		scratchRow = new BitRow(numOfVertices);
+		startSearch();
+	}
+
+	/**
+	 * Starts a new seeded random search from its random row 0.  A solver stops for good once it completes a graph, so a
+	 * search that does is replaced by a new one.
+	 */
+	private void startSearch()
+	{
+		searchSolver = newSolver();
+		searchRowSet = new ArrayList<BitRow>();
+		searchRowSet.add(searchSolver.generateRandomBitRow(true));
+	}
+
+	private SRGsolver newSolver()
+	{
+		SRGsolver srgSolver = new SRGsolver(fileName, numOfVertices, degree, lambdaValue, muValue, SEED);
+		srgSolver.setVerbose(false);
+		srgSolver.setOutputFormats(EnumSet.noneOf(MatrixWriter.OutputFormat.class));
+		return srgSolver;
+	}
+
+	private static List<BitRow> copyOf(List<BitRow> rows)
+	{
+		List<BitRow> copiedRows = new ArrayList<BitRow>(rows.size());
+		for(int i = 0; i < rows.size(); i++)
+		{
+			copiedRows.add(new BitRow(rows.get(i)));
+		}
+		return copiedRows;
+	}
+
+	@Benchmark
+	public List<Integer> generateRandomRow()
+	{
+		return srgSolver.generateRandomRow(false);
+	}
+
+	@Benchmark
+	public BitRow generateRandomBitRow()
+	{
+		srgSolver.generateRandomBitRow(false, scratchRow);
+		return scratchRow;
+	}
+
+	@Benchmark
+	public List<Integer> generateRandomRowFromCurrentRowSet()
+	{
+		return srgSolver.generateRandomRowFromCurrentRowSet(listRowSet);
+	}
+
+	@Benchmark
+	public BitRow generateRandomBitRowFromCurrentRowSet()
+	{
+		srgSolver.generateRandomBitRowFromCurrentRowSet(bitRowSet, scratchRow);
+		return scratchRow;
+	}
+
+	@Benchmark
+	public List< List<Integer> > dotProduct()
+	{
+		return srgSolver.dotProduct(listRowSet);
+	}
+
+	@Benchmark
+	public int[][] bitDotProduct()
+	{
+		return srgSolver.bitDotProduct(bitRowSet);
+	}
+
+	@Benchmark
+	public boolean lambdaMuCheck()
+	{
+		return srgSolver.lambdaMuCheck(bitRowSet, dotProductMatrix);
+	}
+
+	/**
+	 * Runs CANDIDATES_PER_INVOCATION candidates of the random search, continuing from where the last invocation stopped and
+	 * starting a new search whenever one completes a graph.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	@OperationsPerInvocation(CANDIDATES_PER_INVOCATION)
+	public int candidatesPerSecond()
+	{
+		long remaining = CANDIDATES_PER_INVOCATION;
+		while(remaining > 0)
+		{
+			long candidatesBefore = searchSolver.getCandidatesGenerated();
+			searchRowSet = searchSolver.replay(searchRowSet, remaining);
+			remaining -= searchSolver.getCandidatesGenerated() - candidatesBefore;
+			if(searchRowSet.size() == numOfVertices)
+			{
+				startSearch();
+			}
+		}
+		return searchRowSet.size();
+	}
+
+}//end SolverBenchmark class
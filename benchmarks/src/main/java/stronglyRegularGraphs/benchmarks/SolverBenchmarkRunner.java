@@ -0,0 +1,46 @@
+package stronglyRegularGraphs.benchmarks;
+
+import java.util.Arrays;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs SolverBenchmark and writes the results as JMH JSON, so the results of two commits can be compared (for example with
+ * the JMH Visualizer, or by diffing the primaryMetric scores).  The first argument, if it does not start with '-', is the
+ * result file (default target/jmh-result.json); any further arguments are JMH command line options, for example
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar results-abc123.json -p parameters=162,21,0,3 -f 3
+ * </pre>
+ *
+ * @author Tyler Wilcock
+ */
+
+public class SolverBenchmarkRunner
+{
+	private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+	public static void main(String args[]) throws Exception
+	{
+		String resultFile = DEFAULT_RESULT_FILE;
+		String[] jmhArgs = args;
+		if(args.length > 0 && !args[0].startsWith("-"))
+		{
+			resultFile = args[0];
+			jmhArgs = Arrays.copyOfRange(args, 1, args.length);
+		}
+
+		Options options = new OptionsBuilder()
+				.parent(new CommandLineOptions(jmhArgs))
+				.include(SolverBenchmark.class.getName())
+				.resultFormat(ResultFormatType.JSON)
+				.result(resultFile)
+				.build();
+		new Runner(options).run();
+		System.out.println("Results written to " + resultFile);
+	}
+
+}//end SolverBenchmarkRunner class
@@ -0,0 +1,91 @@
+package stronglyRegularGraphs;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how many bytes SRGsolver's random search allocates per candidate row once it has warmed up.  The search is run
+ * from the same row set for a short and then an 11 times longer candidate limit, and the allocation counter of the current
+ * thread is read around each run.  Each run allocates a little once (the copies of the rows it returns, so the amount
+ * depends on the depth it stopped at), but if the loop itself allocated anything per candidate the long run would allocate
+ * 11 times as much.  With the scratch buffers in place both runs allocate about the same one or two kilobytes, which is 0 bytes
+ * per candidate.
+ * <p>
+ * The allocation counter is HotSpot's com.sun.management.ThreadMXBean.getThreadAllocatedBytes, read through reflection so
+ * the class still compiles against the plain java.lang.management API.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class AllocationBenchmark
+{
+	private static final int[][] PARAMETERS = { {29, 14, 6, 7}, {50, 7, 0, 1} };
+	private static final long WARMUP_CANDIDATES = 5000000L;
+	private static final long SHORT_RUN_CANDIDATES = 1000000L;
+	private static final long LONG_RUN_CANDIDATES = 11000000L;
+
+	public static void main(String args[]) throws Exception
+	{
+		for(int p = 0; p < PARAMETERS.length; p++)
+		{
+			for(SRGsolver.RowGenerationMode mode : SRGsolver.RowGenerationMode.values())
+			{
+				SRGsolver srgSolver = new SRGsolver("AllocationBenchmark.txt", PARAMETERS[p][0], PARAMETERS[p][1], PARAMETERS[p][2],
+						PARAMETERS[p][3]);
+				srgSolver.setVerbose(false);
+				srgSolver.setRowGenerationMode(mode);
+				srgSolver.setRandom(new FastRandom(p));
+
+				List<BitRow> currentRowSet = new ArrayList<BitRow>(PARAMETERS[p][0]);
+				currentRowSet.add(srgSolver.generateRandomBitRow(true));
+
+				run(srgSolver, currentRowSet, WARMUP_CANDIDATES);
+				long shortRunBytes = run(srgSolver, currentRowSet, SHORT_RUN_CANDIDATES);
+				long longRunBytes = run(srgSolver, currentRowSet, LONG_RUN_CANDIDATES);
+
+				if(shortRunBytes < 0 || longRunBytes < 0)
+				{
+					System.out.println("(" + PARAMETERS[p][0] + "," + PARAMETERS[p][1] + "," + PARAMETERS[p][2] + "," + PARAMETERS[p][3]
+							+ ") " + mode + ": a maximal row set was found during the run; nothing measured.");
+					continue;
+				}
+
+				double bytesPerCandidate = (double) longRunBytes / LONG_RUN_CANDIDATES;
+				System.out.println("(" + PARAMETERS[p][0] + "," + PARAMETERS[p][1] + "," + PARAMETERS[p][2] + "," + PARAMETERS[p][3]
+						+ ") " + mode);
+				System.out.println("           Short run:              " + shortRunBytes + " bytes for " + SHORT_RUN_CANDIDATES + " candidates");
+				System.out.println("           Long run:               " + longRunBytes + " bytes for " + LONG_RUN_CANDIDATES + " candidates");
+				System.out.println("           Long run per candidate: " + SRGsolver.round(bytesPerCandidate, 6));
+			}
+		}
+	}
+
+	/**
+	 * Runs the search for the passed in number of candidates and returns the bytes the current thread allocated, or -1 if
+	 * the search completed a maximal row set instead.
+	 */
+	private static long run(SRGsolver srgSolver, List<BitRow> currentRowSet, long candidates) throws Exception
+	{
+		srgSolver.setCandidateLimit(candidates);
+		long startCandidates = srgSolver.getCandidatesGenerated();
+
+		long bytesBefore = allocatedBytes();
+		srgSolver.buildBitRowListWhileLoop(currentRowSet);
+		long bytesAfter = allocatedBytes();
+
+		if(srgSolver.getCandidatesGenerated() - startCandidates < candidates)
+		{
+			return -1;
+		}
+		return bytesAfter - bytesBefore;
+	}
+
+	private static long allocatedBytes() throws Exception
+	{
+		Object threadBean = ManagementFactory.getThreadMXBean();
+		Class<?> hotspotBean = Class.forName("com.sun.management.ThreadMXBean");
+		return (Long) hotspotBean.getMethod("getThreadAllocatedBytes", long.class).invoke(threadBean, Thread.currentThread().getId());
+	}
+
+}//end AllocationBenchmark class
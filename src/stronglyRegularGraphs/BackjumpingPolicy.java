@@ -0,0 +1,144 @@
+package stronglyRegularGraphs;
+
+import java.util.Arrays;
+
+/**
+ * The BackjumpingPolicy class backtracks to the row that is holding the search up rather than to row 0 or to the row before
+ * the one being searched for.  Every candidate validateCandidate rejects is charged to the first accepted row it failed
+ * against, and the charges are kept per depth for as long as the rows before that depth stay in place.  When the budget at
+ * a depth runs out, which is proportional to the depth as in DepthProportionalPolicy, the search jumps back to the deepest
+ * culprit: the rows from the culprit on are dropped, so the culprit is the next row to be replaced.
+ * <p>
+ * In conflict-directed backjumping every row a candidate failed against is a culprit.  Here candidates are random samples
+ * rather than an enumeration, and given enough of them some candidate gets as far as the last row, so the deepest row ever
+ * charged is nearly always the last one and the jump is just a step back, which does no better than keeping the rows.  A
+ * row therefore only counts as a culprit if it rejected at least CULPRIT_SHARE of the candidates at that depth; the rows
+ * after the deepest culprit rarely see a candidate at all, so they are not what is making the depth fail.  When only row 0
+ * qualifies the search restarts.  A depth with no charges, because its candidates were rejected in other ways, drops one
+ * row.  With symmetry breaking on, a jump to row 1 keeps the canonical rows 0 and 1, since SRGsolver never drops row 1 on
+ * its own.
+ * <p>
+ * The charges are not saved in checkpoints; a resumed search starts with none, so its first jumps may differ from the ones
+ * the uninterrupted search would have made.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class BackjumpingPolicy implements BacktrackPolicy
+{
+	public static final int DEFAULT_FAILURES_PER_ROW = 2000;
+	public static final double CULPRIT_SHARE = 0.01;
+
+	private final int numOfVertices, failuresPerRow;
+	private final long[][] rejectionsByRow;
+	private final long[] rejections;
+	private int deepestCharged = 0;
+	private long backjumps = 0, rowsJumped = 0;
+
+	/**
+	 * Creates a policy for a graph with the passed in number of vertices, allowing DEFAULT_FAILURES_PER_ROW failed candidates
+	 * per accepted row.
+	 *
+	 * @param numOfVertices Number of vertices
+	 */
+	public BackjumpingPolicy(int numOfVertices)
+	{
+		this(numOfVertices, DEFAULT_FAILURES_PER_ROW);
+	}//end BackjumpingPolicy constructor
+
+	/**
+	 * Creates a policy for a graph with the passed in number of vertices, allowing the passed in number of failed candidates
+	 * per accepted row.
+	 *
+	 * @param numOfVertices Number of vertices
+	 * @param failuresPerRow Failed candidates allowed for each accepted row
+	 */
+	public BackjumpingPolicy(int numOfVertices, int failuresPerRow)
+	{
+		if(failuresPerRow < 1)
+		{
+			throw new IllegalArgumentException("The failure budget must be positive: " + failuresPerRow);
+		}
+		this.numOfVertices = numOfVertices;
+		this.failuresPerRow = failuresPerRow;
+		this.rejectionsByRow = new long[numOfVertices + 1][numOfVertices];
+		this.rejections = new long[numOfVertices + 1];
+	}//end BackjumpingPolicy constructor
+
+	public int failureBudget(int depth)
+	{
+		return (int) Math.min(Integer.MAX_VALUE, (long) failuresPerRow * Math.max(1, depth));
+	}
+
+	public void rejected(int depth, int rejectingRow)
+	{
+		rejectionsByRow[depth][rejectingRow]++;
+		rejections[depth]++;
+		if(depth > deepestCharged)
+		{
+			deepestCharged = depth;
+		}
+	}
+
+	public void truncated(int depth)
+	{
+		//The charges at a depth are about the rows before it, so they only stay valid for depths the search kept.
+		for(int d = depth + 1; d <= deepestCharged; d++)
+		{
+			if(rejections[d] != 0)
+			{
+				Arrays.fill(rejectionsByRow[d], 0);
+				rejections[d] = 0;
+			}
+		}
+		deepestCharged = Math.min(deepestCharged, depth);
+	}
+
+	public int rowsToKeep(int depth)
+	{
+		int culprit = depth - 1;
+		if(rejections[depth] != 0)
+		{
+			long minimumRejections = Math.max(1, (long) Math.ceil(CULPRIT_SHARE * rejections[depth]));
+			while(culprit > 0 && rejectionsByRow[depth][culprit] < minimumRejections)
+			{
+				culprit--;
+			}
+		}
+		culprit = Math.max(0, culprit);
+		backjumps++;
+		rowsJumped += depth - culprit;
+		return culprit;
+	}
+
+	public BacktrackPolicy copy()
+	{
+		return new BackjumpingPolicy(numOfVertices, failuresPerRow);
+	}
+
+	/**
+	 * Returns the number of times the budget ran out and the search jumped back.
+	 *
+	 * @return Long number of backjumps
+	 */
+	public long getBackjumps()
+	{
+		return backjumps;
+	}
+
+	/**
+	 * Returns the number of rows the backjumps dropped in total.
+	 *
+	 * @return Long number of rows
+	 */
+	public long getRowsJumped()
+	{
+		return rowsJumped;
+	}
+
+	public String toString()
+	{
+		return "backjump(" + failuresPerRow + ")";
+	}
+
+}//end BackjumpingPolicy class
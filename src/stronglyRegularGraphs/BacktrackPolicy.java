@@ -0,0 +1,61 @@
+package stronglyRegularGraphs;
+
+/**
+ * The BacktrackPolicy interface decides when the random search gives up on its current row set and how many rows it keeps
+ * when it does.  The search counts the candidates that have failed in a row since the last accepted row or backtrack; once
+ * that count reaches the policy's failure budget for the current depth, the search keeps the number of rows rowsToKeep
+ * returns and carries on from there.
+ * <p>
+ * The budget is only asked for when the depth changes or a backtrack has happened, never per candidate.  A policy that
+ * decides by where candidates fail, as BackjumpingPolicy does, is also told of every rejected candidate and every time the
+ * row set is cut back.  A policy may keep state, for example where it is in a restart schedule, so each solver needs its
+ * own; SRGsolver.copy uses copy to give every walker one.
+ *
+ * @author Tyler Wilcock
+ */
+
+public interface BacktrackPolicy
+{
+	/**
+	 * Returns the number of consecutive failed candidates the search allows at the passed in depth before it backtracks.
+	 *
+	 * @param depth Number of accepted rows
+	 * @return Integer number of candidates, at least 1
+	 */
+	int failureBudget(int depth);
+
+	/**
+	 * Returns the number of rows to keep once the failure budget at the passed in depth has run out.  It is called once for
+	 * every budget that runs out.
+	 *
+	 * @param depth Number of accepted rows
+	 * @return Integer number of rows, less than depth unless depth is 0 or 1
+	 */
+	int rowsToKeep(int depth);
+
+	/**
+	 * Tells the policy that a candidate for the row after (depth) accepted rows failed against accepted row (rejectingRow).
+	 * It is called for every candidate that fails validation, with either the incremental or the full check, so it must be
+	 * cheap; candidates the constrained generator could not build are not reported.
+	 *
+	 * @param depth Number of accepted rows
+	 * @param rejectingRow Index of the first accepted row the candidate failed against
+	 */
+	void rejected(int depth, int rejectingRow);
+
+	/**
+	 * Tells the policy that the search has dropped back to (depth) rows, by any backtrack or prune, so what it knows about
+	 * longer row sets no longer holds.  A depth of 0 also covers the search starting, and rows being rebuilt from scratch.
+	 *
+	 * @param depth Number of rows kept
+	 */
+	void truncated(int depth);
+
+	/**
+	 * Creates a policy with the same settings and no state, for another solver.
+	 *
+	 * @return New BacktrackPolicy
+	 */
+	BacktrackPolicy copy();
+
+}//end BacktrackPolicy interface
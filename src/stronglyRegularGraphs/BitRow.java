@@ -0,0 +1,253 @@
+package stronglyRegularGraphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The BitRow class stores one row of an adjacency matrix as packed bits instead of a List of boxed Integers.  Column (i) of the
+ * row lives in bit (i % 64) of word (i / 64), so a row of 162 vertices fits in three longs rather than 162 Integer objects.
+ * <p>
+ * The List form of a row is still used for writing rows to file, so this class provides toList and fromList to convert
+ * between the two representations.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class BitRow
+{
+	private final long[] words;
+	private final int numOfVertices;
+
+	/**
+	 * Creates a row of (numOfVertices) zeros.
+	 *
+	 * @param numOfVertices Number of columns in the row
+	 */
+	public BitRow(int numOfVertices)
+	{
+		this.numOfVertices = numOfVertices;
+		this.words = new long[wordsFor(numOfVertices)];
+	}//end BitRow constructor
+
+	/**
+	 * Creates a copy of the passed in row.
+	 *
+	 * @param otherRow Row to copy
+	 */
+	public BitRow(BitRow otherRow)
+	{
+		this.numOfVertices = otherRow.numOfVertices;
+		this.words = Arrays.copyOf(otherRow.words, otherRow.words.length);
+	}
+
+	/**
+	 * Returns the number of 64 bit words needed to hold (numOfVertices) columns.
+	 *
+	 * @param numOfVertices Number of columns
+	 * @return Integer number of words
+	 */
+	public static int wordsFor(int numOfVertices)
+	{
+		return (numOfVertices + 63) >>> 6;
+	}
+
+	/**
+	 * Builds a BitRow from a List of 1's and 0's.
+	 *
+	 * @param listRow Row in List form
+	 * @return BitRow containing the same values
+	 */
+	public static BitRow fromList(List<Integer> listRow)
+	{
+		BitRow bitRow = new BitRow(listRow.size());
+		for(int i = 0; i < listRow.size(); i++)
+		{
+			if(listRow.get(i) == 1)
+			{
+				bitRow.set(i);
+			}
+		}
+		return bitRow;
+	}
+
+	/**
+	 * Converts a 2D List of rows into a List of BitRows.
+	 *
+	 * @param listRows 2D List of rows
+	 * @return List of BitRows
+	 */
+	public static List<BitRow> fromList2D(List< List<Integer> > listRows)
+	{
+		List<BitRow> bitRows = new ArrayList<BitRow>(listRows.size());
+		for(int i = 0; i < listRows.size(); i++)
+		{
+			bitRows.add(fromList(listRows.get(i)));
+		}
+		return bitRows;
+	}
+
+	/**
+	 * Converts a List of BitRows back into a 2D List of rows, which is the form FileHandler.write2DList expects.
+	 *
+	 * @param bitRows List of BitRows
+	 * @return 2D List of 1's and 0's
+	 */
+	public static List< List<Integer> > toList2D(List<BitRow> bitRows)
+	{
+		List< List<Integer> > listRows = new ArrayList< List<Integer> >(bitRows.size());
+		for(int i = 0; i < bitRows.size(); i++)
+		{
+			listRows.add(bitRows.get(i).toList());
+		}
+		return listRows;
+	}
+
+	/**
+	 * Converts this row into a List of 1's and 0's.
+	 *
+	 * @return List form of the row
+	 */
+	public List<Integer> toList()
+	{
+		List<Integer> listRow = new ArrayList<Integer>(numOfVertices);
+		for(int i = 0; i < numOfVertices; i++)
+		{
+			listRow.add(get(i));
+		}
+		return listRow;
+	}
+
+	/**
+	 * Returns the value (1 or 0) at the passed in column.
+	 *
+	 * @param column Column index, counting from 0
+	 * @return 1 or 0
+	 */
+	public int get(int column)
+	{
+		return (int) ((words[column >>> 6] >>> column) & 1L);
+	}
+
+	/**
+	 * Sets the value at the passed in column to 1.
+	 *
+	 * @param column Column index, counting from 0
+	 */
+	public void set(int column)
+	{
+		words[column >>> 6] |= 1L << column;
+	}
+
+	/**
+	 * Sets the value at the passed in column to 0.
+	 *
+	 * @param column Column index, counting from 0
+	 */
+	public void clear(int column)
+	{
+		words[column >>> 6] &= ~(1L << column);
+	}
+
+	/**
+	 * Sets every column of the row to 0.
+	 */
+	public void clearAll()
+	{
+		Arrays.fill(words, 0L);
+	}
+
+	/**
+	 * Returns the number of 1's in the row.
+	 *
+	 * @return Integer number of 1's
+	 */
+	public int cardinality()
+	{
+		int ones = 0;
+		for(int w = 0; w < words.length; w++)
+		{
+			ones += Long.bitCount(words[w]);
+		}
+		return ones;
+	}
+
+	/**
+	 * Returns the dot product of this row with another row of the same size.  Because both rows only hold 1's and 0's,
+	 * the dot product is the number of columns where both rows have a 1, which is the population count of the AND of
+	 * each pair of words.  Long.bitCount is compiled to a single POPCNT instruction on CPUs that support it.
+	 *
+	 * @param otherRow Row to multiply against
+	 * @return Integer dot product of the two rows
+	 */
+	public int dotProduct(BitRow otherRow)
+	{
+		return dotProduct(words, otherRow.words);
+	}
+
+	/**
+	 * Returns the number of bits set in both word arrays.  The arrays are expected to be the same length.
+	 *
+	 * @param firstWords Packed columns of the first row
+	 * @param secondWords Packed columns of the second row
+	 * @return Integer dot product of the two rows
+	 */
+	public static int dotProduct(long[] firstWords, long[] secondWords)
+	{
+		int matrixResult = 0;
+		for(int w = 0; w < firstWords.length; w++)
+		{
+			matrixResult += Long.bitCount(firstWords[w] & secondWords[w]);
+		}
+		return matrixResult;
+	}
+
+	/**
+	 * Returns the number of columns in the row.
+	 *
+	 * @return Integer number of columns
+	 */
+	public int size()
+	{
+		return numOfVertices;
+	}
+
+	/**
+	 * Returns the backing word array.  Changes to the array change the row.
+	 *
+	 * @return long[] of packed columns
+	 */
+	public long[] words()
+	{
+		return words;
+	}
+
+	@Override
+	public boolean equals(Object other)
+	{
+		if(!(other instanceof BitRow))
+		{
+			return false;
+		}
+		BitRow otherRow = (BitRow) other;
+		return numOfVertices == otherRow.numOfVertices && Arrays.equals(words, otherRow.words);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return 31 * numOfVertices + Arrays.hashCode(words);
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder(numOfVertices * 2);
+		for(int i = 0; i < numOfVertices; i++)
+		{
+			builder.append(get(i)).append(' ');
+		}
+		return builder.toString();
+	}
+
+}//end BitRow class
@@ -0,0 +1,707 @@
+package stronglyRegularGraphs;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The CanonicalLabeller class computes a canonical form of a graph: a relabelling of its vertices that depends only on the
+ * graph's isomorphism class, so two graphs are isomorphic exactly when their canonical adjacency matrices (certificates)
+ * are equal.  It follows the individualisation-refinement scheme of nauty:
+ * <ul>
+ * 		<li> refinement - an ordered partition of the vertices is split until it is equitable: every vertex of a cell has the
+ * 			 same number of neighbours in every cell.  Cells are split by their neighbour counts in a splitter cell, the
+ * 			 pieces in increasing order of count.
+ * 		<li> individualisation - when refinement leaves a cell with more than one vertex, the first such cell is the target,
+ * 			 and each of its vertices in turn is placed in a cell of its own before refining again.  This gives a search
+ * 			 tree whose leaves are discrete partitions, that is, labellings.
+ * 		<li> invariant pruning - each refinement records a trace of the splits it made.  The canonical leaf is the one with
+ * 			 the greatest sequence of traces, then the greatest adjacency matrix, so a node whose traces are already smaller
+ * 			 than those of the best leaf found so far is not searched.
+ * 		<li> automorphism pruning - two leaves with the same matrix give an automorphism.  At a node, a target cell vertex is
+ * 			 skipped when a known automorphism that fixes the node's individualised vertices maps it to a vertex already
+ * 			 searched, since its subtree is an image of that vertex's subtree.
+ * </ul>
+ * Strongly regular graphs are the hard case for refinement: the partition into a vertex, its neighbours and its
+ * non-neighbours is already equitable, so the tree only shrinks through the traces and automorphisms.
+ * <p>
+ * A labeller keeps scratch arrays between calls and is not thread safe; use one per thread.  Run as a program, it
+ * benchmarks certificates on the Shrikhande graph and the 4x4 rook's graph, the two (16, 6, 2, 2) graphs, or with a
+ * directory argument groups the graph files below it into isomorphism classes:
+ * <pre>
+ *     CanonicalLabeller [directory]
+ * </pre>
+ *
+ * @author Tyler Wilcock
+ */
+
+public class CanonicalLabeller
+{
+	private static final int MAXIMUM_AUTOMORPHISMS = 64;
+
+	private int numOfVertices;
+	private int words;
+	private long[][] adjacency;
+
+	//Per search tree level: the ordered partition as a labelling and the end of the cell starting at each position.
+	private int[][] labels;
+	private int[][] cellEnds;
+	private long[] traces;
+	private int[] individualised;
+
+	private long[] bestTraces;
+	private int bestLength;
+	private int[] bestLabels;
+	private int[] bestIndividualised;
+	private int jumpLevel;
+	private long[] bestCertificate;
+	private long[] leafCertificate;
+	private boolean haveBest;
+
+	private List<int[]> automorphisms = new ArrayList<int[]>();
+
+	private int[] splitStack;
+	private boolean[] queued;
+	private long[] splitterMask;
+	private int[] counts;
+	private int[] sortBuffer;
+	private int[] countBuckets;
+	private int[] orbitParents;
+
+	private long nodes, leaves;
+
+	/**
+	 * Returns the certificate of the passed in graph: its adjacency matrix under the canonical labelling, row after row,
+	 * each row (BitRow.wordsFor(n)) words.  Isomorphic graphs, and only they, have equal certificates.
+	 *
+	 * @param rows Rows of the adjacency matrix of a graph
+	 * @return long[] certificate
+	 */
+	public long[] certificate(List<BitRow> rows)
+	{
+		label(rows);
+		return bestCertificate.clone();
+	}
+
+	/**
+	 * Returns the canonical labelling of the passed in graph: vertex labelling[i] of the graph is vertex (i) of the
+	 * canonical form.
+	 *
+	 * @param rows Rows of the adjacency matrix of a graph
+	 * @return int[] canonical labelling
+	 */
+	public int[] canonicalLabelling(List<BitRow> rows)
+	{
+		label(rows);
+		return bestLabels.clone();
+	}
+
+	/**
+	 * Returns the graph relabelled into its canonical form.
+	 *
+	 * @param rows Rows of the adjacency matrix of a graph
+	 * @return List of BitRows of the canonical form
+	 */
+	public List<BitRow> canonicalForm(List<BitRow> rows)
+	{
+		label(rows);
+		List<BitRow> canonicalRows = new ArrayList<BitRow>(numOfVertices);
+		for(int i = 0; i < numOfVertices; i++)
+		{
+			BitRow row = new BitRow(numOfVertices);
+			System.arraycopy(bestCertificate, i * words, row.words(), 0, words);
+			canonicalRows.add(row);
+		}
+		return canonicalRows;
+	}
+
+	/**
+	 * Returns the number of search tree nodes visited by the last call.
+	 *
+	 * @return Long number of nodes
+	 */
+	public long getNodes()
+	{
+		return nodes;
+	}
+
+	/**
+	 * Returns the number of automorphisms found by the last call, which are kept for pruning.
+	 *
+	 * @return Integer number of automorphisms
+	 */
+	public int getAutomorphismCount()
+	{
+		return automorphisms.size();
+	}
+
+	/**
+	 * Runs the search for the canonical labelling of the passed in graph.
+	 */
+	private void label(List<BitRow> rows)
+	{
+		prepare(rows);
+
+		int[] rootLabels = labels[0];
+		for(int i = 0; i < numOfVertices; i++)
+		{
+			rootLabels[i] = i;
+		}
+		if(numOfVertices > 0)
+		{
+			cellEnds[0][0] = numOfVertices;
+		}
+		traces[0] = refine(0, 0);
+		search(0);
+	}
+
+	/**
+	 * Sets up the scratch arrays for a graph of the passed in rows' size.
+	 */
+	private void prepare(List<BitRow> rows)
+	{
+		int size = rows.size();
+		if(size != numOfVertices || labels == null)
+		{
+			numOfVertices = size;
+			words = BitRow.wordsFor(size);
+			labels = new int[size + 1][size];
+			cellEnds = new int[size + 1][size];
+			traces = new long[size + 1];
+			individualised = new int[size + 1];
+			bestTraces = new long[size + 1];
+			bestLabels = new int[size];
+			bestIndividualised = new int[size + 1];
+			bestCertificate = new long[size * words];
+			leafCertificate = new long[size * words];
+			splitStack = new int[size];
+			queued = new boolean[size];
+			splitterMask = new long[words];
+			counts = new int[size];
+			sortBuffer = new int[size];
+			countBuckets = new int[size + 2];
+			orbitParents = new int[size];
+		}
+		adjacency = new long[size][];
+		for(int i = 0; i < size; i++)
+		{
+			adjacency[i] = rows.get(i).words();
+		}
+		automorphisms.clear();
+		haveBest = false;
+		bestLength = 0;
+		jumpLevel = Integer.MAX_VALUE;
+		nodes = 0;
+		leaves = 0;
+	}
+
+	/**
+	 * Searches the subtree below the partition at the passed in level, which has been refined and whose trace is
+	 * traces[level].
+	 */
+	private void search(int level)
+	{
+		nodes++;
+		int comparison = compareToBest(level + 1);
+		if(comparison < 0)
+		{
+			return;
+		}
+
+		int[] levelLabels = labels[level];
+		int[] levelCellEnds = cellEnds[level];
+
+		int target = -1;
+		for(int p = 0; p < numOfVertices; p = levelCellEnds[p])
+		{
+			if(levelCellEnds[p] - p > 1)
+			{
+				target = p;
+				break;
+			}
+		}
+
+		if(target == -1)
+		{
+			visitLeaf(level, comparison);
+			return;
+		}
+
+		int targetEnd = levelCellEnds[target];
+		int[] explored = new int[targetEnd - target];
+		int exploredCount = 0;
+		for(int q = target; q < targetEnd; q++)
+		{
+			int vertex = levelLabels[q];
+			if(exploredCount > 0 && equivalentToExplored(level, vertex, explored, exploredCount))
+			{
+				continue;
+			}
+
+			//Individualise the vertex: copy the partition, move the vertex to the front of the target cell and split it off.
+			int[] childLabels = labels[level + 1];
+			int[] childCellEnds = cellEnds[level + 1];
+			System.arraycopy(levelLabels, 0, childLabels, 0, numOfVertices);
+			System.arraycopy(levelCellEnds, 0, childCellEnds, 0, numOfVertices);
+			childLabels[q] = childLabels[target];
+			childLabels[target] = vertex;
+			childCellEnds[target] = target + 1;
+			childCellEnds[target + 1] = targetEnd;
+			individualised[level] = vertex;
+
+			traces[level + 1] = refine(level + 1, target) * 31 + target;
+			search(level + 1);
+			explored[exploredCount++] = vertex;
+			if(jumpLevel < level)
+			{
+				return;
+			}
+			jumpLevel = Integer.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * Compares the traces of the current path, traces[0] to traces[length - 1], with those of the best leaf.  A path that
+	 * matches the whole of a shorter best path counts as greater.
+	 *
+	 * @return Negative, zero or positive as the path is smaller than, level with or greater than the best leaf's
+	 */
+	private int compareToBest(int length)
+	{
+		if(!haveBest)
+		{
+			return 1;
+		}
+		int common = Math.min(length, bestLength);
+		for(int i = 0; i < common; i++)
+		{
+			if(traces[i] != bestTraces[i])
+			{
+				return (traces[i] < bestTraces[i]) ? -1 : 1;
+			}
+		}
+		return (length > bestLength) ? 1 : 0;
+	}
+
+	/**
+	 * Compares a leaf with the best leaf, keeping the greater, and records an automorphism when they have equal matrices.
+	 */
+	private void visitLeaf(int level, int comparison)
+	{
+		leaves++;
+		int[] leafLabels = labels[level];
+		for(int i = 0; i < numOfVertices; i++)
+		{
+			long[] row = adjacency[leafLabels[i]];
+			int offset = i * words;
+			for(int w = 0; w < words; w++)
+			{
+				leafCertificate[offset + w] = 0;
+			}
+			for(int j = 0; j < numOfVertices; j++)
+			{
+				int vertex = leafLabels[j];
+				if(((row[vertex >>> 6] >>> vertex) & 1L) != 0)
+				{
+					leafCertificate[offset + (j >>> 6)] |= 1L << j;
+				}
+			}
+		}
+
+		if(comparison == 0 && level + 1 == bestLength)
+		{
+			comparison = compareCertificates(leafCertificate, bestCertificate);
+			if(comparison == 0)
+			{
+				if(automorphisms.size() < MAXIMUM_AUTOMORPHISMS)
+				{
+					int[] automorphism = new int[numOfVertices];
+					for(int i = 0; i < numOfVertices; i++)
+					{
+						automorphism[bestLabels[i]] = leafLabels[i];
+					}
+					automorphisms.add(automorphism);
+				}
+
+				//The automorphism maps the best leaf's path onto this one, so the subtree below the level where the paths part
+				//is an image of the best leaf's subtree, which has been searched.
+				int divergence = 0;
+				while(individualised[divergence] == bestIndividualised[divergence])
+				{
+					divergence++;
+				}
+				jumpLevel = divergence;
+				return;
+			}
+		}
+		else if(comparison == 0)
+		{
+			//The leaf's traces are a proper prefix of the best leaf's.
+			comparison = -1;
+		}
+
+		if(comparison > 0)
+		{
+			haveBest = true;
+			bestLength = level + 1;
+			System.arraycopy(traces, 0, bestTraces, 0, bestLength);
+			System.arraycopy(individualised, 0, bestIndividualised, 0, level);
+			System.arraycopy(leafLabels, 0, bestLabels, 0, numOfVertices);
+			System.arraycopy(leafCertificate, 0, bestCertificate, 0, leafCertificate.length);
+		}
+	}
+
+	private static int compareCertificates(long[] first, long[] second)
+	{
+		for(int i = 0; i < first.length; i++)
+		{
+			if(first[i] != second[i])
+			{
+				return (first[i] < second[i]) ? -1 : 1;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Returns true if an automorphism fixing the individualised vertices of the level maps the vertex into the orbit of an
+	 * explored vertex.
+	 */
+	private boolean equivalentToExplored(int level, int vertex, int[] explored, int exploredCount)
+	{
+		boolean anyAutomorphism = false;
+		for(int i = 0; i < numOfVertices; i++)
+		{
+			orbitParents[i] = i;
+		}
+		for(int a = 0; a < automorphisms.size(); a++)
+		{
+			int[] automorphism = automorphisms.get(a);
+			boolean fixesPath = true;
+			for(int x = 0; x < level && fixesPath; x++)
+			{
+				fixesPath = automorphism[individualised[x]] == individualised[x];
+			}
+			if(!fixesPath)
+			{
+				continue;
+			}
+			anyAutomorphism = true;
+			for(int i = 0; i < numOfVertices; i++)
+			{
+				int firstRoot = findOrbit(i), secondRoot = findOrbit(automorphism[i]);
+				if(firstRoot != secondRoot)
+				{
+					orbitParents[firstRoot] = secondRoot;
+				}
+			}
+		}
+		if(!anyAutomorphism)
+		{
+			return false;
+		}
+
+		int orbit = findOrbit(vertex);
+		for(int e = 0; e < exploredCount; e++)
+		{
+			if(findOrbit(explored[e]) == orbit)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int findOrbit(int vertex)
+	{
+		while(orbitParents[vertex] != vertex)
+		{
+			orbitParents[vertex] = orbitParents[orbitParents[vertex]];
+			vertex = orbitParents[vertex];
+		}
+		return vertex;
+	}
+
+	/**
+	 * Refines the partition at the passed in level until it is equitable, starting with the cell at position
+	 * firstSplitter as the only splitter.
+	 *
+	 * @return Trace of the splits made
+	 */
+	private long refine(int level, int firstSplitter)
+	{
+		int[] levelLabels = labels[level];
+		int[] levelCellEnds = cellEnds[level];
+		long trace = 17;
+
+		int stackSize = 0;
+		if(numOfVertices == 0)
+		{
+			return trace;
+		}
+		Arrays.fill(queued, false);
+		splitStack[stackSize++] = firstSplitter;
+		queued[firstSplitter] = true;
+
+		while(stackSize > 0)
+		{
+			int splitter = splitStack[--stackSize];
+			queued[splitter] = false;
+
+			Arrays.fill(splitterMask, 0);
+			for(int q = splitter; q < levelCellEnds[splitter]; q++)
+			{
+				int vertex = levelLabels[q];
+				splitterMask[vertex >>> 6] |= 1L << vertex;
+			}
+
+			for(int p = 0; p < numOfVertices; )
+			{
+				int end = levelCellEnds[p];
+				if(end - p == 1)
+				{
+					p = end;
+					continue;
+				}
+
+				int minimum = Integer.MAX_VALUE, maximum = -1;
+				for(int q = p; q < end; q++)
+				{
+					int count = BitRow.dotProduct(adjacency[levelLabels[q]], splitterMask);
+					counts[q] = count;
+					minimum = Math.min(minimum, count);
+					maximum = Math.max(maximum, count);
+				}
+				if(minimum == maximum)
+				{
+					p = end;
+					continue;
+				}
+
+				//Counting sort of the cell by count, then one new cell per count.
+				Arrays.fill(countBuckets, 0, maximum - minimum + 2, 0);
+				for(int q = p; q < end; q++)
+				{
+					countBuckets[counts[q] - minimum + 1]++;
+				}
+				for(int c = 1; c <= maximum - minimum + 1; c++)
+				{
+					countBuckets[c] += countBuckets[c - 1];
+				}
+				for(int q = p; q < end; q++)
+				{
+					sortBuffer[p + countBuckets[counts[q] - minimum]++] = levelLabels[q];
+				}
+				boolean splitterWasQueued = queued[p];
+				int cellStart = p;
+				for(int q = p; q < end; q++)
+				{
+					levelLabels[q] = sortBuffer[q];
+				}
+				for(int c = 0; c <= maximum - minimum; c++)
+				{
+					int cellEnd = p + countBuckets[c];
+					if(cellEnd == cellStart)
+					{
+						continue;
+					}
+					levelCellEnds[cellStart] = cellEnd;
+					trace = trace * 0x9E3779B97F4A7C15L + ((long) cellStart << 40) + ((long) (c + minimum) << 20) + (cellEnd - cellStart);
+					if(!queued[cellStart] && !(cellStart == p && splitterWasQueued))
+					{
+						queued[cellStart] = true;
+						splitStack[stackSize++] = cellStart;
+					}
+					cellStart = cellEnd;
+				}
+				p = end;
+			}
+		}
+		return trace;
+	}
+
+	/**
+	 * Returns the rows of the 4x4 rook's graph: the cells of a 4x4 board, adjacent when they share a row or column.
+	 *
+	 * @return List of BitRows
+	 */
+	public static List<BitRow> rookGraph()
+	{
+		List<BitRow> rows = new ArrayList<BitRow>();
+		for(int u = 0; u < 16; u++)
+		{
+			BitRow row = new BitRow(16);
+			for(int v = 0; v < 16; v++)
+			{
+				if(u != v && (u / 4 == v / 4 || u % 4 == v % 4))
+				{
+					row.set(v);
+				}
+			}
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	/**
+	 * Returns the rows of the Shrikhande graph: Z4 x Z4, with (a, b) adjacent to (c, d) when the difference is one of
+	 * +/-(0, 1), +/-(1, 0) or +/-(1, 1).
+	 *
+	 * @return List of BitRows
+	 */
+	public static List<BitRow> shrikhandeGraph()
+	{
+		List<BitRow> rows = new ArrayList<BitRow>();
+		for(int u = 0; u < 16; u++)
+		{
+			BitRow row = new BitRow(16);
+			for(int v = 0; v < 16; v++)
+			{
+				int rowDifference = ((v / 4 - u / 4) + 4) % 4, columnDifference = ((v % 4 - u % 4) + 4) % 4;
+				boolean adjacent = (rowDifference == 0 && (columnDifference == 1 || columnDifference == 3))
+						|| (columnDifference == 0 && (rowDifference == 1 || rowDifference == 3))
+						|| (rowDifference == columnDifference && (rowDifference == 1 || rowDifference == 3));
+				if(adjacent)
+				{
+					row.set(v);
+				}
+			}
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	/**
+	 * Returns the passed in graph with its vertices relabelled at random.
+	 *
+	 * @param rows Rows of the adjacency matrix
+	 * @param rand Random number generator
+	 * @return List of BitRows of the relabelled graph
+	 */
+	public static List<BitRow> permute(List<BitRow> rows, FastRandom rand)
+	{
+		int size = rows.size();
+		int[] permutation = new int[size];
+		for(int i = 0; i < size; i++)
+		{
+			permutation[i] = i;
+		}
+		for(int i = size - 1; i > 0; i--)
+		{
+			int j = rand.nextInt(i + 1);
+			int swap = permutation[i];
+			permutation[i] = permutation[j];
+			permutation[j] = swap;
+		}
+
+		List<BitRow> permutedRows = new ArrayList<BitRow>(size);
+		for(int i = 0; i < size; i++)
+		{
+			permutedRows.add(new BitRow(size));
+		}
+		for(int u = 0; u < size; u++)
+		{
+			for(int v = 0; v < size; v++)
+			{
+				if(rows.get(u).get(v) == 1)
+				{
+					permutedRows.get(permutation[u]).set(permutation[v]);
+				}
+			}
+		}
+		return permutedRows;
+	}
+
+	/**
+	 * With no arguments, checks that relabelled copies of the Shrikhande and 4x4 rook's graphs get their graph's certificate
+	 * and that the two certificates differ, then times certificates of relabelled copies.  With a directory argument, loads
+	 * every graph file below it and prints the isomorphism classes.
+	 *
+	 * @param args Optional directory of graph files
+	 */
+	public static void main(String args[])
+	{
+		CanonicalLabeller labeller = new CanonicalLabeller();
+		if(args.length > 0)
+		{
+			groupFiles(labeller, new File(args[0]));
+			return;
+		}
+
+		List<BitRow> shrikhande = shrikhandeGraph(), rook = rookGraph();
+		long[] shrikhandeCertificate = labeller.certificate(shrikhande);
+		long shrikhandeNodes = labeller.getNodes();
+		long[] rookCertificate = labeller.certificate(rook);
+		long rookNodes = labeller.getNodes();
+		System.out.println("Shrikhande and rook's graph certificates differ: " + !Arrays.equals(shrikhandeCertificate, rookCertificate));
+		System.out.println("Search tree nodes: Shrikhande " + shrikhandeNodes + ", rook's graph " + rookNodes);
+
+		FastRandom rand = new FastRandom(1);
+		int copies = 2000;
+		List< List<BitRow> > relabelled = new ArrayList< List<BitRow> >();
+		for(int c = 0; c < copies; c++)
+		{
+			relabelled.add(permute((c % 2 == 0) ? shrikhande : rook, rand));
+		}
+
+		boolean allMatch = true;
+		for(int round = 0; round < 5; round++)
+		{
+			long startTime = System.nanoTime();
+			for(int c = 0; c < copies; c++)
+			{
+				long[] certificate = labeller.certificate(relabelled.get(c));
+				allMatch &= Arrays.equals(certificate, (c % 2 == 0) ? shrikhandeCertificate : rookCertificate);
+			}
+			double seconds = (System.nanoTime() - startTime) / 1e9;
+			System.out.println("Round " + (round + 1) + ": " + SRGsolver.round(copies / seconds, 0) + " certificates per second");
+		}
+		System.out.println("Every relabelled copy got its graph's certificate: " + allMatch);
+	}
+
+	/**
+	 * Loads every graph file below the directory and prints the files in each isomorphism class, largest classes first.
+	 */
+	private static void groupFiles(CanonicalLabeller labeller, File directory)
+	{
+		Map<String, List<String> > classes = new LinkedHashMap<String, List<String> >();
+		for(File file : MatrixLoader.findGraphFiles(directory))
+		{
+			List<BitRow> rows;
+			try
+			{
+				rows = MatrixLoader.load(file);
+			}
+			catch(IOException exception)
+			{
+				System.out.println("Skipping " + file + ": " + exception.getMessage());
+				continue;
+			}
+			String key = rows.size() + ":" + Arrays.toString(labeller.certificate(rows));
+			List<String> files = classes.get(key);
+			if(files == null)
+			{
+				files = new ArrayList<String>();
+				classes.put(key, files);
+			}
+			files.add(file.getPath());
+		}
+
+		int classNumber = 0;
+		for(List<String> files : classes.values())
+		{
+			classNumber++;
+			System.out.println("Class " + classNumber + " (" + files.size() + " file(s)):");
+			for(int f = 0; f < files.size(); f++)
+			{
+				System.out.println("    " + files.get(f));
+			}
+		}
+		System.out.println(classes.size() + " isomorphism class(es).");
+	}
+
+}//end CanonicalLabeller class
@@ -0,0 +1,229 @@
+package stronglyRegularGraphs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Checkpoint class is a snapshot of the random search in SRGsolver.buildBitRowListWhileLoop: the accepted rows, the state
+ * of the random number generator, the number of candidates that failed in a row, the number of candidates generated and the
+ * time the search has run.  It is taken at the top of the loop, so a search resumed from it makes exactly the decisions the
+ * original search would have made next, as long as the backtrack policy keeps no state of its own: the Luby schedule's
+ * position in LubyRestartPolicy and the charges in BackjumpingPolicy are not saved and start afresh on resume.
+ * <p>
+ * The file format is a header of big-endian ints and longs followed by the rows' words, (numOfVertices / 64) rounded up
+ * longs per row.  write goes to a temporary file that is then renamed over the old checkpoint, so a crash during a write
+ * leaves the previous checkpoint intact.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class Checkpoint
+{
+	private static final int MAGIC = 0x53524743; //"SRGC"
+	private static final int VERSION = 1;
+
+	private final int numOfVertices, degree, lambdaValue, muValue;
+	private final long seed;
+	private final int walkerIndex;
+	private final long[] randomState;
+	private final long candidatesGenerated;
+	private final int runCounterWithoutRow;
+	private final long elapsedNanos;
+	private final long[][] rowWords;
+
+	/**
+	 * Creates a checkpoint.  The arrays are kept, not copied, so the caller must pass copies it will not change.
+	 *
+	 * @param numOfVertices Number of vertices in the SRG
+	 * @param degree Degree of the SRG
+	 * @param lambdaValue Lambda value of the SRG
+	 * @param muValue Mu value of the SRG
+	 * @param seed Seed the solver was created with
+	 * @param walkerIndex Walker index of the solver, or -1
+	 * @param randomState State of the solver's FastRandom
+	 * @param candidatesGenerated Candidates generated so far
+	 * @param runCounterWithoutRow Candidates that have failed since the last accepted row
+	 * @param elapsedNanos Nanoseconds the search has run
+	 * @param rowWords Words of each accepted row
+	 */
+	public Checkpoint(int numOfVertices, int degree, int lambdaValue, int muValue, long seed, int walkerIndex, long[] randomState,
+			long candidatesGenerated, int runCounterWithoutRow, long elapsedNanos, long[][] rowWords)
+	{
+		this.numOfVertices = numOfVertices;
+		this.degree = degree;
+		this.lambdaValue = lambdaValue;
+		this.muValue = muValue;
+		this.seed = seed;
+		this.walkerIndex = walkerIndex;
+		this.randomState = randomState;
+		this.candidatesGenerated = candidatesGenerated;
+		this.runCounterWithoutRow = runCounterWithoutRow;
+		this.elapsedNanos = elapsedNanos;
+		this.rowWords = rowWords;
+	}//end Checkpoint constructor
+
+	/**
+	 * Writes the checkpoint to a temporary file next to the passed in file, forces it to disk, and renames it over the
+	 * passed in file.
+	 *
+	 * @param file Checkpoint file
+	 * @throws IOException If the file cannot be written
+	 */
+	public void write(File file) throws IOException
+	{
+		File temporaryFile = new File(file.getPath() + ".tmp");
+		FileOutputStream fileStream = new FileOutputStream(temporaryFile);
+		try
+		{
+			DataOutputStream output = new DataOutputStream(new BufferedOutputStream(fileStream));
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeInt(numOfVertices);
+			output.writeInt(degree);
+			output.writeInt(lambdaValue);
+			output.writeInt(muValue);
+			output.writeLong(seed);
+			output.writeInt(walkerIndex);
+			for(int i = 0; i < randomState.length; i++)
+			{
+				output.writeLong(randomState[i]);
+			}
+			output.writeLong(candidatesGenerated);
+			output.writeInt(runCounterWithoutRow);
+			output.writeLong(elapsedNanos);
+			output.writeInt(rowWords.length);
+			for(int r = 0; r < rowWords.length; r++)
+			{
+				for(int w = 0; w < rowWords[r].length; w++)
+				{
+					output.writeLong(rowWords[r][w]);
+				}
+			}
+			output.flush();
+			fileStream.getFD().sync();
+		}
+		finally
+		{
+			fileStream.close();
+		}
+
+		Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Reads a checkpoint written by write.
+	 *
+	 * @param file Checkpoint file
+	 * @return Checkpoint read from the file
+	 * @throws IOException If the file cannot be read or is not a checkpoint
+	 */
+	public static Checkpoint read(File file) throws IOException
+	{
+		DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try
+		{
+			if(input.readInt() != MAGIC || input.readInt() != VERSION)
+			{
+				throw new IOException(file + " is not a version " + VERSION + " checkpoint file");
+			}
+			int numOfVertices = input.readInt();
+			int degree = input.readInt();
+			int lambdaValue = input.readInt();
+			int muValue = input.readInt();
+			long seed = input.readLong();
+			int walkerIndex = input.readInt();
+			long[] randomState = new long[4];
+			for(int i = 0; i < randomState.length; i++)
+			{
+				randomState[i] = input.readLong();
+			}
+			long candidatesGenerated = input.readLong();
+			int runCounterWithoutRow = input.readInt();
+			long elapsedNanos = input.readLong();
+			long[][] rowWords = new long[input.readInt()][BitRow.wordsFor(numOfVertices)];
+			for(int r = 0; r < rowWords.length; r++)
+			{
+				for(int w = 0; w < rowWords[r].length; w++)
+				{
+					rowWords[r][w] = input.readLong();
+				}
+			}
+			return new Checkpoint(numOfVertices, degree, lambdaValue, muValue, seed, walkerIndex, randomState, candidatesGenerated,
+					runCounterWithoutRow, elapsedNanos, rowWords);
+		}
+		finally
+		{
+			input.close();
+		}
+	}
+
+	/**
+	 * Returns true if the checkpoint was taken from a solver for the passed in graph parameters.
+	 *
+	 * @param srgSolver Solver to compare against
+	 * @return true if the parameters match
+	 */
+	public boolean matches(SRGsolver srgSolver)
+	{
+		return numOfVertices == srgSolver.getNumOfVertices() && degree == srgSolver.getDegree()
+				&& lambdaValue == srgSolver.getLambdaValue() && muValue == srgSolver.getMuValue();
+	}
+
+	/**
+	 * Returns the accepted rows as a new List of BitRows.
+	 *
+	 * @return List of BitRows
+	 */
+	public List<BitRow> getRows()
+	{
+		List<BitRow> rows = new ArrayList<BitRow>(numOfVertices);
+		for(int r = 0; r < rowWords.length; r++)
+		{
+			BitRow row = new BitRow(numOfVertices);
+			System.arraycopy(rowWords[r], 0, row.words(), 0, rowWords[r].length);
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	public long getSeed()
+	{
+		return seed;
+	}
+
+	public int getWalkerIndex()
+	{
+		return walkerIndex;
+	}
+
+	public long[] getRandomState()
+	{
+		return randomState.clone();
+	}
+
+	public long getCandidatesGenerated()
+	{
+		return candidatesGenerated;
+	}
+
+	public int getRunCounterWithoutRow()
+	{
+		return runCounterWithoutRow;
+	}
+
+	public long getElapsedNanos()
+	{
+		return elapsedNanos;
+	}
+
+}//end Checkpoint class
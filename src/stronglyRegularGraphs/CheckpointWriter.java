@@ -0,0 +1,109 @@
+package stronglyRegularGraphs;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * The CheckpointWriter class writes checkpoints on its own thread, so the search loop only pays for copying its rows into a
+ * Checkpoint and never waits on the disk.  It holds at most one pending checkpoint; if the search submits a new one before
+ * the last one was written, the older one is dropped, since only the newest matters.
+ * <p>
+ * A checkpoint that fails to write is reported and skipped; the search keeps going and the next checkpoint tries again.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class CheckpointWriter implements Runnable
+{
+	private final File file;
+	private final Thread writerThread;
+	private Checkpoint pendingCheckpoint = null;
+	private boolean closed = false;
+
+	/**
+	 * Creates a writer for the passed in file and starts its thread.
+	 *
+	 * @param file Checkpoint file
+	 */
+	public CheckpointWriter(File file)
+	{
+		this.file = file;
+		this.writerThread = new Thread(this, "SRG checkpoint writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}//end CheckpointWriter constructor
+
+	/**
+	 * Hands a checkpoint to the writer thread and returns straight away.
+	 *
+	 * @param checkpoint Checkpoint to write
+	 */
+	public synchronized void submit(Checkpoint checkpoint)
+	{
+		pendingCheckpoint = checkpoint;
+		notifyAll();
+	}
+
+	/**
+	 * Writes the pending checkpoint, if there is one, and stops the writer thread.
+	 */
+	public void close()
+	{
+		synchronized(this)
+		{
+			closed = true;
+			notifyAll();
+		}
+		try
+		{
+			writerThread.join();
+		}
+		catch(InterruptedException exception)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public File getFile()
+	{
+		return file;
+	}
+
+	public void run()
+	{
+		while(true)
+		{
+			Checkpoint checkpoint;
+			synchronized(this)
+			{
+				while(pendingCheckpoint == null && !closed)
+				{
+					try
+					{
+						wait();
+					}
+					catch(InterruptedException exception)
+					{
+						return;
+					}
+				}
+				if(pendingCheckpoint == null)
+				{
+					return;
+				}
+				checkpoint = pendingCheckpoint;
+				pendingCheckpoint = null;
+			}
+
+			try
+			{
+				checkpoint.write(file);
+			}
+			catch(IOException exception)
+			{
+				System.err.println("IOException encountered writing checkpoint " + file + ": " + exception.getMessage());
+			}
+		}
+	}
+
+}//end CheckpointWriter class
@@ -0,0 +1,70 @@
+package stronglyRegularGraphs;
+
+/**
+ * The DepthProportionalPolicy class gives every depth its own failure budget, proportional to the number of rows accepted,
+ * and restarts from row 0 when it runs out.  A short row set is cheap to rebuild, so it gets few retries and a dead end near
+ * the start is left quickly; a long one took many candidates to reach, so it gets correspondingly more before it is given
+ * up.  Dropping only the last row instead was tried and does worse: the search keeps rebuilding on a prefix that has no
+ * completion.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class DepthProportionalPolicy implements BacktrackPolicy
+{
+	public static final int DEFAULT_FAILURES_PER_ROW = 10000;
+
+	private final int failuresPerRow;
+
+	/**
+	 * Creates a policy that allows DEFAULT_FAILURES_PER_ROW failed candidates per accepted row.
+	 */
+	public DepthProportionalPolicy()
+	{
+		this(DEFAULT_FAILURES_PER_ROW);
+	}//end DepthProportionalPolicy constructor
+
+	/**
+	 * Creates a policy that allows the passed in number of failed candidates per accepted row.
+	 *
+	 * @param failuresPerRow Failed candidates allowed for each accepted row
+	 */
+	public DepthProportionalPolicy(int failuresPerRow)
+	{
+		if(failuresPerRow < 1)
+		{
+			throw new IllegalArgumentException("The failure budget must be positive: " + failuresPerRow);
+		}
+		this.failuresPerRow = failuresPerRow;
+	}//end DepthProportionalPolicy constructor
+
+	public int failureBudget(int depth)
+	{
+		//Capped so deep row sets of large graphs cannot overflow the budget.
+		return (int) Math.min(Integer.MAX_VALUE, (long) failuresPerRow * Math.max(1, depth));
+	}
+
+	public int rowsToKeep(int depth)
+	{
+		return 0;
+	}
+
+	public void rejected(int depth, int rejectingRow)
+	{
+	}
+
+	public void truncated(int depth)
+	{
+	}
+
+	public BacktrackPolicy copy()
+	{
+		return this;
+	}
+
+	public String toString()
+	{
+		return "depth(" + failuresPerRow + ")";
+	}
+
+}//end DepthProportionalPolicy class
@@ -0,0 +1,150 @@
+package stronglyRegularGraphs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times the popcount dot product kernel in SRGsolver.bitDotProduct against the original element by element triple loop over
+ * List rows.  Each size is run on a full (n) by (n) row set of random rows of the given degree, and each kernel is warmed up
+ * before it is timed so the JIT has compiled it.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class DotProductBenchmark
+{
+	private static final int[][] PARAMETERS = { {29, 14, 6, 7}, {50, 7, 0, 1}, {162, 21, 0, 3} };
+	private static final int WARMUP_ROUNDS = 200;
+	private static final long MINIMUM_RUN_NANOS = 1000000000L;
+
+	//Written to after every timed run so the JIT cannot discard the work being timed.
+	private static long sink;
+
+	public static void main(String args[])
+	{
+		for(int p = 0; p < PARAMETERS.length; p++)
+		{
+			int numOfVertices = PARAMETERS[p][0];
+			SRGsolver srgSolver = new SRGsolver("DotProductBenchmark.txt", numOfVertices, PARAMETERS[p][1], PARAMETERS[p][2], PARAMETERS[p][3]);
+
+			List<BitRow> bitRowSet = new ArrayList<BitRow>();
+			for(int i = 0; i < numOfVertices; i++)
+			{
+				bitRowSet.add(srgSolver.generateRandomBitRow(false));
+			}
+			List< List<Integer> > listRowSet = BitRow.toList2D(bitRowSet);
+
+			if(!sameMatrix(listDotProduct(listRowSet), srgSolver.bitDotProduct(bitRowSet)))
+			{
+				System.err.println("Kernels disagree for n = " + numOfVertices);
+				System.exit(1);
+			}
+
+			double listNanos = timeListKernel(listRowSet);
+			double bitNanos = timeBitKernel(srgSolver, bitRowSet);
+
+			System.out.println("n = " + numOfVertices + " (" + numOfVertices + " by " + numOfVertices + " matrix)");
+			System.out.println("           List triple loop:  " + SRGsolver.round(listNanos / 1000.0, 2) + " microseconds");
+			System.out.println("           Popcount kernel:   " + SRGsolver.round(bitNanos / 1000.0, 2) + " microseconds");
+			System.out.println("           Speedup:           " + SRGsolver.round(listNanos / bitNanos, 1) + "x");
+		}
+
+		if(sink == 42)
+		{
+			System.out.println();
+		}
+	}
+
+	/**
+	 * Returns the average number of nanoseconds the List triple loop takes for one full matrix.
+	 */
+	private static double timeListKernel(List< List<Integer> > listRowSet)
+	{
+		for(int i = 0; i < WARMUP_ROUNDS; i++)
+		{
+			sink += listDotProduct(listRowSet).size();
+		}
+
+		long runs = 0;
+		long startTime = System.nanoTime();
+		long elapsed;
+		do
+		{
+			sink += listDotProduct(listRowSet).get(0).get(0);
+			runs++;
+			elapsed = System.nanoTime() - startTime;
+		} while(elapsed < MINIMUM_RUN_NANOS);
+
+		return (double) elapsed / runs;
+	}
+
+	/**
+	 * Returns the average number of nanoseconds the popcount kernel takes for one full matrix.
+	 */
+	private static double timeBitKernel(SRGsolver srgSolver, List<BitRow> bitRowSet)
+	{
+		for(int i = 0; i < WARMUP_ROUNDS; i++)
+		{
+			sink += srgSolver.bitDotProduct(bitRowSet).length;
+		}
+
+		long runs = 0;
+		long startTime = System.nanoTime();
+		long elapsed;
+		do
+		{
+			sink += srgSolver.bitDotProduct(bitRowSet)[0][0];
+			runs++;
+			elapsed = System.nanoTime() - startTime;
+		} while(elapsed < MINIMUM_RUN_NANOS);
+
+		return (double) elapsed / runs;
+	}
+
+	/**
+	 * The dot product as SRGsolver computed it before rows were bit-packed: every entry multiplies boxed integers element
+	 * by element over all columns.
+	 */
+	private static List< List<Integer> > listDotProduct(List< List<Integer> > passedInRows)
+	{
+		List< List<Integer> > returnedMatrix = new ArrayList< List<Integer> >();
+
+		for(int i = 0; i < passedInRows.size(); i++)
+		{
+			List<Integer> outerCurrentRow = passedInRows.get(i);
+			List<Integer> resultRow = new ArrayList<Integer>();
+
+			for(int j = 0; j < passedInRows.size(); j++)
+			{
+				List<Integer> innerCurrentRow = passedInRows.get(j);
+
+				int matrixResult = 0;
+				for(int g = 0; g < innerCurrentRow.size(); g++)
+				{
+					matrixResult += outerCurrentRow.get(g) * innerCurrentRow.get(g);
+				}
+
+				resultRow.add(matrixResult);
+			}
+			returnedMatrix.add(resultRow);
+		}
+
+		return returnedMatrix;
+	}
+
+	private static boolean sameMatrix(List< List<Integer> > listMatrix, int[][] bitMatrix)
+	{
+		for(int i = 0; i < bitMatrix.length; i++)
+		{
+			for(int j = 0; j < bitMatrix.length; j++)
+			{
+				if(listMatrix.get(i).get(j) != bitMatrix[i][j])
+				{
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,422 @@
+package stronglyRegularGraphs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ExhaustiveSearch class is a deterministic depth-first search for maximal row sets.  Unlike the random search in
+ * SRGsolver, it visits every possible row exactly once, so when it runs out of rows it has proven that the starting row set
+ * cannot be completed.
+ * <p>
+ * For row (c), the values before the diagonal are known from the columns of the accepted rows and the diagonal is 0, so the
+ * only choice left is which of the remaining columns hold the rest of the (degree) one's.  These choices are enumerated as
+ * combinations in lexicographic order.  While a combination is being built, the number of common one's with every accepted
+ * row is tracked, and a branch is dropped as soon as one of them goes over lambda or mu, or can no longer reach it with the
+ * columns that are left.  Each row found this way is added and the search goes one row deeper; when a row has no
+ * completions left, the search backtracks one row.
+ * <p>
+ * The search can stop after the first maximal row set (the default), after (N) of them, or only once the whole space has
+ * been searched; see setMaxSolutions.
+ * <p>
+ * When the solver has symmetry breaking on and the search starts from its canonical rows, rows that are not in canonical
+ * form are skipped, so only one labelling of each partial graph is searched.  When the solver has an isomorph cache,
+ * a maximal row set isomorphic to one already in the cache is dropped, so the solutions (and the count towards
+ * setMaxSolutions) hold one graph per isomorphism class, and every one of them is written to the graph6 file.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class ExhaustiveSearch implements SearchEngine
+{
+	/**
+	 * Receives the valid rows found by forEachValidRow.
+	 */
+	public interface RowVisitor
+	{
+		/**
+		 * Called once for every valid next row.  The row object is reused between calls, so it must be copied if it is kept.
+		 *
+		 * @param candidateRow Valid next row
+		 * @return true to keep enumerating, false to stop
+		 */
+		boolean visit(BitRow candidateRow);
+	}
+
+	private final SRGsolver srgSolver;
+	private final int numOfVertices, degree, lambdaValue, muValue;
+	private long maxSolutions = 1;
+	private List< List<BitRow> > solutions = new ArrayList< List<BitRow> >();
+	private boolean spaceExhausted = false;
+	private long rowsVisited = 0;
+	private long isomorphsRejected = 0;
+
+	/**
+	 * Creates an exhaustive search for the graph parameters of the passed in solver.  The solver is also used to write the
+	 * first maximal row set to its file.
+	 *
+	 * @param srgSolver Solver holding the graph parameters and file name
+	 */
+	public ExhaustiveSearch(SRGsolver srgSolver)
+	{
+		this.srgSolver = srgSolver;
+		this.numOfVertices = srgSolver.getNumOfVertices();
+		this.degree = srgSolver.getDegree();
+		this.lambdaValue = srgSolver.getLambdaValue();
+		this.muValue = srgSolver.getMuValue();
+	}//end ExhaustiveSearch constructor
+
+	/**
+	 * Sets how many maximal row sets the search looks for before it stops.  1 (the default) stops at the first one, and 0
+	 * searches the whole space.
+	 *
+	 * @param maxSolutions Number of maximal row sets to find, or 0 for all of them
+	 */
+	public void setMaxSolutions(long maxSolutions)
+	{
+		this.maxSolutions = maxSolutions;
+	}
+
+	/**
+	 * Returns every maximal row set found by the last search.
+	 *
+	 * @return List of maximal row sets
+	 */
+	public List< List<BitRow> > getSolutions()
+	{
+		return solutions;
+	}
+
+	/**
+	 * Returns the number of maximal row sets the last search dropped as isomorphic to one already in the solver's isomorph
+	 * cache.
+	 *
+	 * @return Long number of maximal row sets
+	 */
+	public long getIsomorphsRejected()
+	{
+		return isomorphsRejected;
+	}
+
+	/**
+	 * Returns true if the last search visited the whole space, which means getSolutions holds every maximal row set that
+	 * extends the starting rows.
+	 *
+	 * @return true if the space was exhausted
+	 */
+	public boolean isSpaceExhausted()
+	{
+		return spaceExhausted;
+	}
+
+	/**
+	 * Returns the number of valid rows the last search added to the row set.
+	 *
+	 * @return Long number of rows
+	 */
+	public long getRowsVisited()
+	{
+		return rowsVisited;
+	}
+
+	/**
+	 * Searches for maximal row sets that extend the passed in rows.  The passed in rows are never removed, and are left as
+	 * they were when the search returns.  The first maximal row set found is written to file.
+	 *
+	 * @param currentRowSet The List of BitRows that are currently known to be correct.
+	 * @return List of BitRows; first maximal set of rows found, or null if there is none
+	 */
+	public List<BitRow> search(List<BitRow> currentRowSet)
+	{
+		long startTime = System.nanoTime();
+		solutions = new ArrayList< List<BitRow> >();
+		rowsVisited = 0;
+		isomorphsRejected = 0;
+
+		List<BitRow> workingRowSet = new ArrayList<BitRow>(currentRowSet);
+		spaceExhausted = searchFrom(workingRowSet);
+
+		System.out.println("Exhaustive search found " + solutions.size() + " maximal row set(s) after " + rowsVisited + " rows.");
+		if(srgSolver.getIsomorphCache() != null)
+		{
+			System.out.println(isomorphsRejected + " maximal row set(s) isomorphic to one already found were dropped.");
+		}
+		if(spaceExhausted)
+		{
+			System.out.println("The search space was exhausted.");
+		}
+		if(solutions.isEmpty())
+		{
+			return null;
+		}
+
+		List<BitRow> firstSolution = solutions.get(0);
+		srgSolver.reportMaximalRowSet(firstSolution, srgSolver.bitDotProduct(firstSolution), System.nanoTime() - startTime);
+		if(srgSolver.getIsomorphCache() != null)
+		{
+			for(int s = 1; s < solutions.size(); s++)
+			{
+				srgSolver.appendMaximalRowSet(solutions.get(s));
+			}
+		}
+		return firstSolution;
+	}
+
+	/**
+	 * Depth-first search from the passed in rows.
+	 *
+	 * @param currentRowSet Accepted rows; rows are added and removed while searching but it is unchanged on return
+	 * @return true if every branch was searched, false if the search stopped early
+	 */
+	private boolean searchFrom(final List<BitRow> currentRowSet)
+	{
+		if(currentRowSet.size() == numOfVertices)
+		{
+			List<BitRow> solution = new ArrayList<BitRow>(numOfVertices);
+			for(int i = 0; i < numOfVertices; i++)
+			{
+				solution.add(new BitRow(currentRowSet.get(i)));
+			}
+			IsomorphCache isomorphCache = srgSolver.getIsomorphCache();
+			if(isomorphCache != null && !isomorphCache.add(solution))
+			{
+				isomorphsRejected++;
+				return true;
+			}
+			solutions.add(solution);
+			return maxSolutions == 0 || solutions.size() < maxSolutions;
+		}
+
+		return forEachValidRow(currentRowSet, new RowVisitor()
+		{
+			public boolean visit(BitRow candidateRow)
+			{
+				rowsVisited++;
+				currentRowSet.add(new BitRow(candidateRow));
+				boolean keepGoing = searchFrom(currentRowSet);
+				currentRowSet.remove(currentRowSet.size() - 1);
+				return keepGoing;
+			}
+		});
+	}
+
+	/**
+	 * Enumerates, in lexicographic order of the positions of their one's, every row that can be added to the passed in row
+	 * set without breaking lambda, mu or degree, and passes each one to the visitor.  With symmetry breaking on, rows that
+	 * are not in canonical form are left out.
+	 *
+	 * @param currentRowSet Accepted rows
+	 * @param visitor Receives each valid row
+	 * @return true if every valid row was visited, false if the visitor stopped the enumeration
+	 */
+	public boolean forEachValidRow(List<BitRow> currentRowSet, final RowVisitor visitor)
+	{
+		final SymmetryBreaking symmetryBreaking = srgSolver.getSymmetryBreaking();
+		if(symmetryBreaking != null && symmetryBreaking.appliesTo(currentRowSet))
+		{
+			final long[] classStarts = symmetryBreaking.classStarts(currentRowSet);
+			return forEachValidRowUnfiltered(currentRowSet, new RowVisitor()
+			{
+				public boolean visit(BitRow candidateRow)
+				{
+					return !symmetryBreaking.isCanonical(candidateRow, classStarts) || visitor.visit(candidateRow);
+				}
+			});
+		}
+		return forEachValidRowUnfiltered(currentRowSet, visitor);
+	}
+
+	/**
+	 * Enumerates the valid rows like forEachValidRow, without the symmetry breaking filter.
+	 */
+	private boolean forEachValidRowUnfiltered(List<BitRow> currentRowSet, RowVisitor visitor)
+	{
+		int rowIndex = currentRowSet.size();
+		BitRow candidateRow = new BitRow(numOfVertices);
+		int onesLeft = degree;
+
+		//The values before the diagonal are known from the columns of the accepted rows.
+		for(int z = 0; z < rowIndex; z++)
+		{
+			if(currentRowSet.get(z).get(rowIndex) == 1)
+			{
+				candidateRow.set(z);
+				onesLeft--;
+			}
+		}
+		if(onesLeft < 0)
+		{
+			return true;
+		}
+
+		int[] budget = new int[rowIndex];
+		for(int r = 0; r < rowIndex; r++)
+		{
+			int expectedValue = (candidateRow.get(r) == 1) ? lambdaValue : muValue;
+			budget[r] = expectedValue - candidateRow.dotProduct(currentRowSet.get(r));
+			if(budget[r] < 0)
+			{
+				return true;
+			}
+		}
+
+		/*
+		 * columnRows[j] lists the accepted rows with a '1' in column (j).  A column that already holds (degree) one's cannot
+		 * take another, since row (j) will later copy that column.
+		 */
+		int[][] columnRows = new int[numOfVertices][];
+		int[] columnOnes = new int[numOfVertices];
+		for(int r = 0; r < rowIndex; r++)
+		{
+			long[] acceptedWords = currentRowSet.get(r).words();
+			for(int w = 0; w < acceptedWords.length; w++)
+			{
+				long word = acceptedWords[w];
+				while(word != 0)
+				{
+					columnOnes[(w << 6) + Long.numberOfTrailingZeros(word)]++;
+					word &= word - 1;
+				}
+			}
+		}
+		int[] freeColumns = new int[numOfVertices];
+		int freeColumnCount = 0;
+		for(int j = rowIndex + 1; j < numOfVertices; j++)
+		{
+			if(columnOnes[j] < degree)
+			{
+				freeColumns[freeColumnCount++] = j;
+				columnRows[j] = new int[columnOnes[j]];
+			}
+			columnOnes[j] = 0;
+		}
+		for(int r = 0; r < rowIndex; r++)
+		{
+			BitRow acceptedRow = currentRowSet.get(r);
+			for(int i = 0; i < freeColumnCount; i++)
+			{
+				int column = freeColumns[i];
+				if(acceptedRow.get(column) == 1)
+				{
+					columnRows[column][columnOnes[column]++] = r;
+				}
+			}
+		}
+
+		/*
+		 * remainingSupport[r] is the number of free columns from the current position on where row (r) has a '1'; a branch is
+		 * dropped once it is smaller than the budget row (r) still has to reach.
+		 */
+		int[] remainingSupport = new int[rowIndex];
+		for(int i = 0; i < freeColumnCount; i++)
+		{
+			int[] rowsInColumn = columnRows[freeColumns[i]];
+			for(int x = 0; x < rowsInColumn.length; x++)
+			{
+				remainingSupport[rowsInColumn[x]]++;
+			}
+		}
+
+		return chooseColumns(candidateRow, 0, onesLeft, freeColumns, freeColumnCount, columnRows, budget, remainingSupport, visitor);
+	}
+
+	/**
+	 * Recursively places the remaining one's of the candidate row at free columns, starting at freeColumns[startIndex].
+	 */
+	private boolean chooseColumns(BitRow candidateRow, int startIndex, int onesLeft, int[] freeColumns, int freeColumnCount,
+			int[][] columnRows, int[] budget, int[] remainingSupport, RowVisitor visitor)
+	{
+		if(onesLeft == 0)
+		{
+			for(int r = 0; r < budget.length; r++)
+			{
+				if(budget[r] != 0)
+				{
+					return true;
+				}
+			}
+			return visitor.visit(candidateRow);
+		}
+
+		boolean keepGoing = true;
+		int lastIndex = freeColumnCount - onesLeft;
+		int index = startIndex;
+
+		for(; index <= lastIndex && keepGoing; index++)
+		{
+			int column = freeColumns[index];
+			int[] rowsInColumn = columnRows[column];
+
+			//Placing a '1' here is allowed only if every accepted row with a '1' in this column still has budget left.
+			boolean allowed = true;
+			for(int x = 0; x < rowsInColumn.length; x++)
+			{
+				if(budget[rowsInColumn[x]] == 0)
+				{
+					allowed = false;
+					break;
+				}
+			}
+
+			//Either way this column is no longer available to the columns after it.
+			for(int x = 0; x < rowsInColumn.length; x++)
+			{
+				remainingSupport[rowsInColumn[x]]--;
+			}
+
+			if(allowed)
+			{
+				for(int x = 0; x < rowsInColumn.length; x++)
+				{
+					budget[rowsInColumn[x]]--;
+				}
+				candidateRow.set(column);
+
+				if(budgetsReachable(budget, remainingSupport, onesLeft - 1))
+				{
+					keepGoing = chooseColumns(candidateRow, index + 1, onesLeft - 1, freeColumns, freeColumnCount, columnRows,
+							budget, remainingSupport, visitor);
+				}
+
+				candidateRow.clear(column);
+				for(int x = 0; x < rowsInColumn.length; x++)
+				{
+					budget[rowsInColumn[x]]++;
+				}
+			}
+
+			//Leaving this column as '0' only works if every budget can still be reached without it.
+			if(keepGoing && !budgetsReachable(budget, remainingSupport, onesLeft))
+			{
+				index++;
+				break;
+			}
+		}
+
+		//Give the columns that were passed over back to the caller's view of remainingSupport.
+		for(int i = startIndex; i < index; i++)
+		{
+			int[] rowsInColumn = columnRows[freeColumns[i]];
+			for(int x = 0; x < rowsInColumn.length; x++)
+			{
+				remainingSupport[rowsInColumn[x]]++;
+			}
+		}
+		return keepGoing;
+	}
+
+	/**
+	 * Returns true if every budget can still be reached with the columns that are left and the one's that are left.
+	 */
+	private static boolean budgetsReachable(int[] budget, int[] remainingSupport, int onesLeft)
+	{
+		for(int r = 0; r < budget.length; r++)
+		{
+			if(budget[r] > remainingSupport[r] || budget[r] > onesLeft)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+}//end ExhaustiveSearch class
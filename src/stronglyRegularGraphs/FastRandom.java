@@ -0,0 +1,163 @@
+package stronglyRegularGraphs;
+
+/**
+ * The FastRandom class is a small, fast random number generator (xoshiro256**, by Blackman and Vigna) meant to be owned by
+ * a single solver.  Unlike java.util.Random it does no synchronization, allocates nothing per call, and its whole state is
+ * four longs that can be read and restored, which is what lets a run be replayed or resumed exactly.
+ * <p>
+ * jump advances the generator by 2^128 calls, so generators made by repeatedly copying and jumping one seeded generator
+ * give independent streams for parallel walkers.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class FastRandom
+{
+	private static final long[] JUMP = { 0x180ec6d33cfd0abaL, 0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL, 0x39abdc4529b1661cL };
+
+	private long s0, s1, s2, s3;
+
+	/**
+	 * Creates a generator whose state is expanded from the passed in seed.  The same seed always gives the same sequence.
+	 *
+	 * @param seed Seed value
+	 */
+	public FastRandom(long seed)
+	{
+		setSeed(seed);
+	}//end FastRandom constructor
+
+	/**
+	 * Creates a generator with the same state as the passed in generator.
+	 *
+	 * @param otherRandom Generator to copy
+	 */
+	public FastRandom(FastRandom otherRandom)
+	{
+		this.s0 = otherRandom.s0;
+		this.s1 = otherRandom.s1;
+		this.s2 = otherRandom.s2;
+		this.s3 = otherRandom.s3;
+	}
+
+	/**
+	 * Resets the generator to the state expanded from the passed in seed, using splitmix64 as recommended by the authors.
+	 *
+	 * @param seed Seed value
+	 */
+	public void setSeed(long seed)
+	{
+		long x = seed;
+		x += 0x9e3779b97f4a7c15L;
+		s0 = mix(x);
+		x += 0x9e3779b97f4a7c15L;
+		s1 = mix(x);
+		x += 0x9e3779b97f4a7c15L;
+		s2 = mix(x);
+		x += 0x9e3779b97f4a7c15L;
+		s3 = mix(x);
+	}
+
+	private static long mix(long z)
+	{
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Returns the next random long.
+	 *
+	 * @return Random long
+	 */
+	public long nextLong()
+	{
+		long result = Long.rotateLeft(s1 * 5, 7) * 9;
+		long t = s1 << 17;
+
+		s2 ^= s0;
+		s3 ^= s1;
+		s1 ^= s2;
+		s0 ^= s3;
+		s2 ^= t;
+		s3 = Long.rotateLeft(s3, 45);
+
+		return result;
+	}
+
+	/**
+	 * Returns a random integer from 0 (inclusive) up to bound (exclusive), with no bias.
+	 *
+	 * @param bound Upper bound; must be positive
+	 * @return Random integer in [0, bound)
+	 */
+	public int nextInt(int bound)
+	{
+		if(bound <= 0)
+		{
+			throw new IllegalArgumentException("bound must be positive");
+		}
+
+		//Lemire's multiply-shift method; the loop only repeats for the few values that would bias the result.
+		long product = (nextLong() >>> 32) * bound;
+		if((product & 0xffffffffL) < bound)
+		{
+			long threshold = (0x100000000L - bound) % bound;
+			while((product & 0xffffffffL) < threshold)
+			{
+				product = (nextLong() >>> 32) * bound;
+			}
+		}
+		return (int) (product >>> 32);
+	}
+
+	/**
+	 * Advances the generator by 2^128 calls to nextLong.
+	 */
+	public void jump()
+	{
+		long t0 = 0, t1 = 0, t2 = 0, t3 = 0;
+		for(int i = 0; i < JUMP.length; i++)
+		{
+			for(int b = 0; b < 64; b++)
+			{
+				if((JUMP[i] & (1L << b)) != 0)
+				{
+					t0 ^= s0;
+					t1 ^= s1;
+					t2 ^= s2;
+					t3 ^= s3;
+				}
+				nextLong();
+			}
+		}
+		s0 = t0;
+		s1 = t1;
+		s2 = t2;
+		s3 = t3;
+	}
+
+	/**
+	 * Returns a copy of the generator's state.
+	 *
+	 * @return long[4] state
+	 */
+	public long[] getState()
+	{
+		return new long[] { s0, s1, s2, s3 };
+	}
+
+	/**
+	 * Restores a state returned by getState.
+	 *
+	 * @param state long[4] state
+	 */
+	public void setState(long[] state)
+	{
+		s0 = state[0];
+		s1 = state[1];
+		s2 = state[2];
+		s3 = state[3];
+	}
+
+}//end FastRandom class
@@ -18,11 +18,18 @@ import java.io.UnsupportedEncodingException;
 *	 I/O errors.  Please note that I did not personally write the openFileForRead, 
 *	 closeFileForRead, or the readLine methods (I got them from example code written by a professor), 
 *    so I don't take credit for those.
+*
+*	 By default every write method opens the file in append mode, writes, and closes it again.  Between
+*	 openFileForWrite and closeFileFromWrite the write methods instead go through one buffered writer that
+*	 stays open, which is much faster when a file is written one token at a time.
 */
 
 public class FileHandler
 {
+	private static final int WRITE_BUFFER_SIZE = 1 << 16;
+	
 	BufferedReader fileInput;
+	private PrintWriter fileOutput = null;
 	private String fileName;
 	boolean moreData;
 
@@ -115,6 +122,73 @@ public class FileHandler
 		return false;
 	}	
 
+	/**
+	 * This method opens the file given by parameter fileName for writing, in append mode, and keeps it open until
+	 * closeFileFromWrite is called.  Until then, every write method writes through a single buffered writer.
+	 * 
+	 * @param fileName Name of file
+	 */
+	public void openFileForWrite(String fileName)
+	{
+		this.fileName = fileName;
+		try
+		{
+			fileOutput = new PrintWriter(new BufferedWriter(new FileWriter(fileName, true), WRITE_BUFFER_SIZE));
+		}
+		catch (IOException exception)
+		{
+			System.err.println("An error occurred opening file " + fileName + " for writing!\n");
+			exception.printStackTrace();
+			System.exit(1);
+		}
+	}//end openFileForWrite
+	
+	/**
+	 * This method flushes and closes the file opened by openFileForWrite.
+	 * 
+	 * @return true(success) or false(failure)
+	 */
+	public boolean closeFileFromWrite()
+	{
+		if(fileOutput == null)
+		{
+			return false;
+		}
+		
+		fileOutput.close();
+		boolean writeFailed = fileOutput.checkError();
+		fileOutput = null;
+		if(writeFailed)
+		{
+			System.err.println("An error occurred writing to file " + fileName + "!\n");
+			System.exit(1);
+		}
+		return true;
+	}
+	
+	/**
+	 * Returns the writer opened by openFileForWrite, or a new append-mode writer if no file is open for writing.
+	 */
+	private PrintWriter openWriter() throws IOException
+	{
+		if(fileOutput != null)
+		{
+			return fileOutput;
+		}
+		return new PrintWriter(new FileWriter(fileName, true));
+	}
+	
+	/**
+	 * Closes a writer returned by openWriter, unless it is the one opened by openFileForWrite.
+	 */
+	private void closeWriter(PrintWriter writer)
+	{
+		if(writer != fileOutput)
+		{
+			writer.close();
+		}
+	}
+	
 	/**
 	 * This method reads and returns one line of the text file.  If the file is empty, an empty string is returned.
 	 * 
@@ -159,12 +233,12 @@ public class FileHandler
 
 		try 
 		{
-			PrintWriter writer = new PrintWriter(new FileWriter(fileName, true));
+			PrintWriter writer = openWriter();
 			for(int i = 0; i < inputList.size(); i++)
 			{
 				writer.print(inputList.get(i) + " ");
 			}
-			writer.close();
+			closeWriter(writer);
 			return true;
 		} 
 		catch (IOException exception) 
@@ -188,7 +262,7 @@ public class FileHandler
 
 		try 
 		{
-			PrintWriter writer = new PrintWriter(new FileWriter(fileName, true));
+			PrintWriter writer = openWriter();
 			for(int i = 0; i < inputList.size(); i++)
 			{
 				for(int j = 0; j < inputList.get(i).size(); j++)
@@ -197,7 +271,7 @@ public class FileHandler
 				}
 				writer.println();
 			}
-			writer.close();
+			closeWriter(writer);
 			return true;
 		} 
 		catch (IOException exception) 
@@ -221,9 +295,9 @@ public class FileHandler
 
 		try 
 		{
-			PrintWriter writer = new PrintWriter(new FileWriter(fileName, true));
+			PrintWriter writer = openWriter();
 			writer.print(input);
-			writer.close();
+			closeWriter(writer);
 			return true;
 		} 
 		catch (IOException exception) 
@@ -244,9 +318,9 @@ public class FileHandler
 	{
 		try 
 		{
-			PrintWriter writer = new PrintWriter(new FileWriter(fileName, true));
+			PrintWriter writer = openWriter();
 			writer.print(" ");
-			writer.close();
+			closeWriter(writer);
 			return true;
 		} 
 		catch (IOException exception) 
@@ -268,12 +342,12 @@ public class FileHandler
 	{
 		try 
 		{
-			PrintWriter writer = new PrintWriter(new FileWriter(fileName, true));
+			PrintWriter writer = openWriter();
 			for(int i = 0; i < numOfSpaces; i++)
 			{
 				writer.print(" ");
 			}
-			writer.close();
+			closeWriter(writer);
 			return true;
 		} 
 		catch (IOException exception) 
@@ -295,9 +369,9 @@ public class FileHandler
 
 		try 
 		{
-			PrintWriter writer = new PrintWriter(new FileWriter(fileName, true));
+			PrintWriter writer = openWriter();
 			writer.println();
-			writer.close();
+			closeWriter(writer);
 			return true;
 		} 
 		catch (IOException exception) 
@@ -320,12 +394,12 @@ public class FileHandler
 
 		try 
 		{
-			PrintWriter writer = new PrintWriter(new FileWriter(fileName, true));
+			PrintWriter writer = openWriter();
 			for(int i = 0; i < numOfBlankLines; i++)
 			{
 				writer.println();
 			}
-			writer.close();
+			closeWriter(writer);
 			return true;
 		} 
 		catch (IOException exception) 
@@ -0,0 +1,66 @@
+package stronglyRegularGraphs;
+
+/**
+ * The FullRestartPolicy class is the random search's original backtracking: after a fixed number of failed candidates in a
+ * row, at any depth, the whole row set is dropped and the search starts again from row 0.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class FullRestartPolicy implements BacktrackPolicy
+{
+	public static final int RESTART_FAILURES = 1000000;
+
+	private final int failures;
+
+	/**
+	 * Creates a policy that restarts after RESTART_FAILURES failed candidates.
+	 */
+	public FullRestartPolicy()
+	{
+		this(RESTART_FAILURES);
+	}//end FullRestartPolicy constructor
+
+	/**
+	 * Creates a policy that restarts after the passed in number of failed candidates.
+	 *
+	 * @param failures Failed candidates in a row before a restart
+	 */
+	public FullRestartPolicy(int failures)
+	{
+		if(failures < 1)
+		{
+			throw new IllegalArgumentException("The failure budget must be positive: " + failures);
+		}
+		this.failures = failures;
+	}//end FullRestartPolicy constructor
+
+	public int failureBudget(int depth)
+	{
+		return failures;
+	}
+
+	public int rowsToKeep(int depth)
+	{
+		return 0;
+	}
+
+	public void rejected(int depth, int rejectingRow)
+	{
+	}
+
+	public void truncated(int depth)
+	{
+	}
+
+	public BacktrackPolicy copy()
+	{
+		return this;
+	}
+
+	public String toString()
+	{
+		return "full(" + failures + ")";
+	}
+
+}//end FullRestartPolicy class
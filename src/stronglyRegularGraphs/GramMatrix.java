@@ -0,0 +1,160 @@
+package stronglyRegularGraphs;
+
+import java.util.List;
+
+/**
+ * The GramMatrix class keeps the dot product matrix of the accepted row set up to date as rows are added and removed, so the
+ * solver does not have to recompute the whole (c) by (c) matrix for every candidate row.
+ * <p>
+ * A candidate row is tested by calling extend, which only computes the (c) new dot products between the candidate and the
+ * accepted rows and stores them in row and column (c) of the matrix.  If the candidate is accepted, commit makes that row
+ * part of the matrix; if it is rejected the next call to extend simply overwrites it.  Backtracking calls truncate, which
+ * rolls the matrix back to the number of rows that were kept.
+ * <p>
+ * A caller that has already computed the candidate's products, as SRGsolver.validateCandidate does, can write them into
+ * pendingRow as it goes and call extendPending instead of extend.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class GramMatrix
+{
+	private final int[][] entries;
+	private int size;
+
+	/**
+	 * Creates an empty matrix with room for (numOfVertices) rows.
+	 *
+	 * @param numOfVertices Maximum number of rows in the row set
+	 */
+	public GramMatrix(int numOfVertices)
+	{
+		this.entries = new int[numOfVertices][numOfVertices];
+		this.size = 0;
+	}//end GramMatrix constructor
+
+	/**
+	 * Recomputes the matrix from scratch for the passed in row set.  This is only needed when the row set was changed
+	 * without going through extend, commit and truncate.
+	 *
+	 * @param currentRowSet Accepted rows
+	 */
+	public void rebuild(List<BitRow> currentRowSet)
+	{
+		size = 0;
+		for(int i = 0; i < currentRowSet.size(); i++)
+		{
+			extend(currentRowSet, currentRowSet.get(i));
+			commit();
+		}
+	}
+
+	/**
+	 * Computes the dot products of the candidate row with the first (size) accepted rows and with itself, and stores them
+	 * in row and column (size) of the matrix.  The accepted part of the matrix is not changed.
+	 *
+	 * @param currentRowSet Accepted rows; only the first (size) rows are read
+	 * @param candidateRow Row being tested
+	 */
+	public void extend(List<BitRow> currentRowSet, BitRow candidateRow)
+	{
+		long[] candidateWords = candidateRow.words();
+		int[] candidateEntries = entries[size];
+
+		for(int r = 0; r < size; r++)
+		{
+			int matrixResult = BitRow.dotProduct(candidateWords, currentRowSet.get(r).words());
+			candidateEntries[r] = matrixResult;
+			entries[r][size] = matrixResult;
+		}
+		candidateEntries[size] = BitRow.dotProduct(candidateWords, candidateWords);
+	}
+
+	/**
+	 * Returns row (size) of the matrix, where the products of a candidate with the accepted rows go, or null if the matrix is
+	 * full.  Entries written to it only become part of the matrix through extendPending and commit.
+	 *
+	 * @return int[] pending row, written in place
+	 */
+	public int[] pendingRow()
+	{
+		return (size < entries.length) ? entries[size] : null;
+	}
+
+	/**
+	 * Does what extend does for a candidate whose products with the first (size) accepted rows are already in pendingRow:
+	 * copies them into column (size) and computes only the candidate's product with itself.
+	 *
+	 * @param candidateRow Row being tested
+	 */
+	public void extendPending(BitRow candidateRow)
+	{
+		long[] candidateWords = candidateRow.words();
+		int[] candidateEntries = entries[size];
+
+		for(int r = 0; r < size; r++)
+		{
+			entries[r][size] = candidateEntries[r];
+		}
+		candidateEntries[size] = BitRow.dotProduct(candidateWords, candidateWords);
+	}
+
+	/**
+	 * Accepts the row last passed to extend or extendPending as part of the matrix.
+	 */
+	public void commit()
+	{
+		size++;
+	}
+
+	/**
+	 * Rolls the matrix back so that only the first (numRowsToKeep) rows remain.
+	 *
+	 * @param numRowsToKeep Number of rows to keep
+	 */
+	public void truncate(int numRowsToKeep)
+	{
+		if(numRowsToKeep < size)
+		{
+			size = numRowsToKeep;
+		}
+	}
+
+	/**
+	 * Returns the dot product of accepted (or candidate) rows i and j.
+	 *
+	 * @param i Row index
+	 * @param j Column index
+	 * @return Integer dot product
+	 */
+	public int get(int i, int j)
+	{
+		return entries[i][j];
+	}
+
+	/**
+	 * Returns the number of accepted rows in the matrix.
+	 *
+	 * @return Integer number of rows
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Returns a copy of the accepted part of the matrix as a (size) by (size) array.
+	 *
+	 * @return int[][] copy of the matrix
+	 */
+	public int[][] toMatrix()
+	{
+		int[][] returnedMatrix = new int[size][size];
+		for(int i = 0; i < size; i++)
+		{
+			System.arraycopy(entries[i], 0, returnedMatrix[i], 0, size);
+		}
+		return returnedMatrix;
+	}
+
+}//end GramMatrix class
@@ -0,0 +1,288 @@
+package stronglyRegularGraphs;
+
+import java.util.List;
+
+/**
+ * The InterlacingPruner class is an optional pruning stage for the random search.  The adjacency matrix of a
+ * (v, k, lambda, mu) graph has eigenvalues k, r (f times) and s (g times), fixed by the parameters.  By Cauchy interlacing,
+ * the eigenvalues mu_1 &gt;= ... &gt;= mu_m of any m x m principal submatrix satisfy
+ * <pre>
+ *     theta_(i + v - m) &lt;= mu_i &lt;= theta_i
+ * </pre>
+ * where theta_1 &gt;= ... &gt;= theta_v are the graph's eigenvalues.  The first m accepted rows fix the submatrix induced on
+ * vertices 0 to m - 1, so once it fails to interlace, no completion of those rows is a strongly regular graph, even if
+ * every pairwise lambda/mu count still passes.  Every extension of a failing row set fails too, so the search can drop
+ * back to the last row count that was checked and passed.
+ * <p>
+ * A check costs one O(m^3) eigenvalue computation (see SymmetricEigenSolver), so it is only run every (interval) accepted
+ * rows.  In adaptive mode the pruner weighs what its checks cost against what its prunes save, and sets the interval from
+ * that: a doomed row set is otherwise only abandoned once the search's backtrack policy gives up on it, so each prune is
+ * credited with the time of the policy's failure budget at that depth.  Every ADAPT_WINDOW checks, the interval is halved if
+ * the prunes saved more than the checks cost, and doubled (up to MAXIMUM_INTERVAL) if not.  Adaptation depends on timings,
+ * so a seeded run is only repeatable with a fixed interval.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class InterlacingPruner
+{
+	public static final int DEFAULT_INTERVAL = 4;
+	public static final int MAXIMUM_INTERVAL = 64;
+	private static final int ADAPT_WINDOW = 32;
+
+	private final int numOfVertices, degree, lambdaValue, muValue;
+	private final double r, s;
+	private final int f;
+	private final double tolerance;
+	private final boolean adaptive;
+	private final SymmetricEigenSolver eigenSolver;
+	private final double[] eigenvalues;
+
+	private int interval;
+	private int safeDepth = 0;
+	private long checks = 0, prunes = 0, prunedRows = 0, checkNanos = 0;
+	private int windowChecks = 0, windowPrunes = 0;
+	private long windowNanos = 0;
+
+	/**
+	 * Creates an adaptive pruner for the passed in parameters, starting at DEFAULT_INTERVAL.
+	 *
+	 * @param numOfVertices Number of vertices
+	 * @param degree Degree
+	 * @param lambdaValue Lambda value
+	 * @param muValue Mu value
+	 */
+	public InterlacingPruner(int numOfVertices, int degree, int lambdaValue, int muValue)
+	{
+		this(numOfVertices, degree, lambdaValue, muValue, 0);
+	}//end InterlacingPruner constructor
+
+	/**
+	 * Creates a pruner for the passed in parameters that checks every (fixedInterval) accepted rows, or adapts its interval
+	 * when fixedInterval is 0.
+	 *
+	 * @param numOfVertices Number of vertices
+	 * @param degree Degree
+	 * @param lambdaValue Lambda value
+	 * @param muValue Mu value
+	 * @param fixedInterval Rows between checks, or 0 to adapt
+	 */
+	public InterlacingPruner(int numOfVertices, int degree, int lambdaValue, int muValue, int fixedInterval)
+	{
+		ParameterFeasibility feasibility = new ParameterFeasibility(numOfVertices, degree, lambdaValue, muValue);
+		if(!feasibility.isFeasible())
+		{
+			throw new IllegalArgumentException("Interlacing needs feasible parameters: " + feasibility);
+		}
+		if(fixedInterval < 0)
+		{
+			throw new IllegalArgumentException("Interval must be 0 (adaptive) or positive");
+		}
+
+		this.numOfVertices = numOfVertices;
+		this.degree = degree;
+		this.lambdaValue = lambdaValue;
+		this.muValue = muValue;
+		double[] spectrum = feasibility.getSpectrum();
+		this.r = spectrum[0];
+		this.s = spectrum[1];
+		this.f = (int) spectrum[2];
+		this.tolerance = 1e-6 * Math.max(1, degree);
+		this.adaptive = fixedInterval == 0;
+		this.interval = adaptive ? DEFAULT_INTERVAL : fixedInterval;
+		this.eigenSolver = new SymmetricEigenSolver(numOfVertices);
+		this.eigenvalues = new double[numOfVertices];
+	}//end InterlacingPruner constructor
+
+	/**
+	 * Creates a pruner for the passed in solver's parameters.
+	 *
+	 * @param srgSolver Solver holding the graph parameters
+	 * @param fixedInterval Rows between checks, or 0 to adapt
+	 * @return New InterlacingPruner
+	 */
+	public static InterlacingPruner of(SRGsolver srgSolver, int fixedInterval)
+	{
+		return new InterlacingPruner(srgSolver.getNumOfVertices(), srgSolver.getDegree(), srgSolver.getLambdaValue(),
+				srgSolver.getMuValue(), fixedInterval);
+	}
+
+	/**
+	 * Creates a new pruner with the same parameters and interval setting, and no statistics, for another solver.
+	 *
+	 * @return New InterlacingPruner
+	 */
+	public InterlacingPruner copy()
+	{
+		return new InterlacingPruner(numOfVertices, degree, lambdaValue, muValue, adaptive ? 0 : interval);
+	}
+
+	/**
+	 * Returns theta_j, the j'th largest eigenvalue of the graph, 1 &lt;= j &lt;= v.
+	 */
+	private double theta(int j)
+	{
+		if(j == 1)
+		{
+			return degree;
+		}
+		return (j <= f + 1) ? r : s;
+	}
+
+	/**
+	 * Returns true if a row set of (depth) rows is due to be checked.
+	 *
+	 * @param depth Number of accepted rows
+	 * @return true if check should be called
+	 */
+	public boolean isDue(int depth)
+	{
+		return depth - safeDepth >= interval;
+	}
+
+	/**
+	 * Checks whether the submatrix induced by the accepted rows interlaces the graph's eigenvalues.
+	 *
+	 * @param currentRowSet Accepted rows
+	 * @param nanosSavedPerPrune Estimate of the search time a prune saves, for adaptation
+	 * @return -1 if the rows pass, otherwise the number of rows to backtrack to
+	 */
+	public int check(List<BitRow> currentRowSet, double nanosSavedPerPrune)
+	{
+		long startTime = System.nanoTime();
+		int order = currentRowSet.size();
+		boolean passed = interlaces(currentRowSet, order);
+		long elapsedNanos = System.nanoTime() - startTime;
+
+		checks++;
+		checkNanos += elapsedNanos;
+		windowChecks++;
+		windowNanos += elapsedNanos;
+
+		int backtrackDepth = -1;
+		if(passed)
+		{
+			safeDepth = order;
+		}
+		else
+		{
+			prunes++;
+			windowPrunes++;
+			prunedRows += order - safeDepth;
+			backtrackDepth = safeDepth;
+		}
+
+		if(adaptive && windowChecks == ADAPT_WINDOW)
+		{
+			if(windowPrunes * nanosSavedPerPrune > windowNanos)
+			{
+				interval = Math.max(1, interval / 2);
+			}
+			else
+			{
+				interval = Math.min(MAXIMUM_INTERVAL, interval * 2);
+			}
+			windowChecks = 0;
+			windowPrunes = 0;
+			windowNanos = 0;
+		}
+		return backtrackDepth;
+	}
+
+	/**
+	 * Returns true if the submatrix induced on vertices 0 to (order - 1) by the passed in rows interlaces the graph's
+	 * eigenvalues.  Rows beyond (order) are ignored.
+	 *
+	 * @param currentRowSet Rows of the adjacency matrix, at least (order) of them
+	 * @param order Size of the submatrix
+	 * @return true if every interlacing inequality holds, or if the eigenvalues could not be computed
+	 */
+	public boolean interlaces(List<BitRow> currentRowSet, int order)
+	{
+		double[] matrix = eigenSolver.matrix();
+		for(int i = 0; i < order; i++)
+		{
+			BitRow row = currentRowSet.get(i);
+			for(int j = 0; j <= i; j++)
+			{
+				matrix[i * order + j] = row.get(j);
+			}
+		}
+		if(!eigenSolver.eigenvalues(order, eigenvalues))
+		{
+			return true;
+		}
+
+		//eigenvalues is ascending, so mu_i is eigenvalues[order - i].
+		for(int i = 1; i <= order; i++)
+		{
+			double eigenvalue = eigenvalues[order - i];
+			if(eigenvalue > theta(i) + tolerance || eigenvalue < theta(i + numOfVertices - order) - tolerance)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Tells the pruner the search has dropped back to (depth) rows, so rows beyond it are no longer known to pass.
+	 *
+	 * @param depth Number of rows kept
+	 */
+	public void truncated(int depth)
+	{
+		if(depth < safeDepth)
+		{
+			safeDepth = depth;
+		}
+	}
+
+	/**
+	 * Returns the number of checks run.
+	 *
+	 * @return Long number of checks
+	 */
+	public long getChecks()
+	{
+		return checks;
+	}
+
+	/**
+	 * Returns the number of checks that failed and pruned the row set.
+	 *
+	 * @return Long number of prunes
+	 */
+	public long getPrunes()
+	{
+		return prunes;
+	}
+
+	/**
+	 * Returns the total time spent in checks.
+	 *
+	 * @return Long nanoseconds
+	 */
+	public long getCheckNanos()
+	{
+		return checkNanos;
+	}
+
+	/**
+	 * Returns the current number of accepted rows between checks.
+	 *
+	 * @return Integer interval
+	 */
+	public int getInterval()
+	{
+		return interval;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "Interlacing: " + checks + " checks, " + prunes + " prunes (" + prunedRows + " rows), "
+				+ SRGsolver.round(checkNanos / 1000000.0, 2) + " ms, interval " + interval + (adaptive ? " (adaptive)" : "");
+	}
+
+}//end InterlacingPruner class
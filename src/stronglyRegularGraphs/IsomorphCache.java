@@ -0,0 +1,118 @@
+package stronglyRegularGraphs;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The IsomorphCache class remembers the isomorphism classes of the graphs it has seen, so a search can tell whether a
+ * maximal row set is new or only a relabelling of one already found.  Each graph is stored as its canonical certificate
+ * (see CanonicalLabeller) in a concurrent hash set, so the tasks of a parallel search and the walkers of a multi-walker
+ * search can share one cache.  Each thread computes certificates with its own labeller.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class IsomorphCache
+{
+	private final Set<Certificate> certificates = Collections.newSetFromMap(new ConcurrentHashMap<Certificate, Boolean>());
+	private final ThreadLocal<CanonicalLabeller> labellers = new ThreadLocal<CanonicalLabeller>()
+	{
+		@Override
+		protected CanonicalLabeller initialValue()
+		{
+			return new CanonicalLabeller();
+		}
+	};
+
+	/**
+	 * Adds the passed in graph's isomorphism class to the cache.
+	 *
+	 * @param rows Rows of the adjacency matrix of a graph
+	 * @return true if no isomorphic graph was in the cache
+	 */
+	public boolean add(List<BitRow> rows)
+	{
+		return certificates.add(new Certificate(rows.size(), labellers.get().certificate(rows)));
+	}
+
+	/**
+	 * Returns true if a graph isomorphic to the passed in graph is in the cache.
+	 *
+	 * @param rows Rows of the adjacency matrix of a graph
+	 * @return true if the graph's isomorphism class has been seen
+	 */
+	public boolean contains(List<BitRow> rows)
+	{
+		return certificates.contains(new Certificate(rows.size(), labellers.get().certificate(rows)));
+	}
+
+	/**
+	 * Adds every graph of a graph6 file to the cache, so a run does not write graphs already in its output file again.
+	 *
+	 * @param file graph6 file, one graph per line
+	 * @return Number of graphs in the file that were new to the cache
+	 * @throws IOException If the file cannot be read or a line is not valid graph6
+	 */
+	public int addGraph6File(File file) throws IOException
+	{
+		int added = 0;
+		for(List<BitRow> rows : MatrixLoader.loadGraph6(file))
+		{
+			if(add(rows))
+			{
+				added++;
+			}
+		}
+		return added;
+	}
+
+	/**
+	 * Returns the number of isomorphism classes in the cache.
+	 *
+	 * @return Integer number of classes
+	 */
+	public int size()
+	{
+		return certificates.size();
+	}
+
+	/**
+	 * Canonical adjacency matrix of a graph with value equality.
+	 */
+	private static final class Certificate
+	{
+		private final int numOfVertices;
+		private final long[] words;
+		private final int hash;
+
+		private Certificate(int numOfVertices, long[] words)
+		{
+			this.numOfVertices = numOfVertices;
+			this.words = words;
+			this.hash = 31 * numOfVertices + Arrays.hashCode(words);
+		}
+
+		@Override
+		public boolean equals(Object other)
+		{
+			if(!(other instanceof Certificate))
+			{
+				return false;
+			}
+			Certificate otherCertificate = (Certificate) other;
+			return numOfVertices == otherCertificate.numOfVertices && Arrays.equals(words, otherCertificate.words);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+	}
+
+}//end IsomorphCache class
@@ -0,0 +1,92 @@
+package stronglyRegularGraphs;
+
+/**
+ * The LubyRestartPolicy class restarts the search from row 0 on the Luby schedule: the i'th restart comes after
+ * (unit * t_i) failed candidates in a row, where t = 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, ...  Luby, Sinclair and
+ * Zuckerman showed that this schedule is within a logarithmic factor of the best fixed restart interval for any run time
+ * distribution, without knowing the distribution, so it needs no tuning of the budget to the graph.
+ * <p>
+ * The position in the schedule is not saved in checkpoints; a resumed search starts the schedule again.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class LubyRestartPolicy implements BacktrackPolicy
+{
+	public static final int DEFAULT_UNIT = 10000;
+
+	private final int unit;
+	private int restarts = 0;
+
+	/**
+	 * Creates a policy with a unit of DEFAULT_UNIT failed candidates.
+	 */
+	public LubyRestartPolicy()
+	{
+		this(DEFAULT_UNIT);
+	}//end LubyRestartPolicy constructor
+
+	/**
+	 * Creates a policy with the passed in unit.
+	 *
+	 * @param unit Failed candidates the schedule's values are multiplied by
+	 */
+	public LubyRestartPolicy(int unit)
+	{
+		if(unit < 1)
+		{
+			throw new IllegalArgumentException("The Luby unit must be positive: " + unit);
+		}
+		this.unit = unit;
+	}//end LubyRestartPolicy constructor
+
+	public int failureBudget(int depth)
+	{
+		return (int) Math.min(Integer.MAX_VALUE, unit * luby(restarts + 1));
+	}
+
+	public int rowsToKeep(int depth)
+	{
+		restarts++;
+		return 0;
+	}
+
+	public void rejected(int depth, int rejectingRow)
+	{
+	}
+
+	public void truncated(int depth)
+	{
+	}
+
+	public BacktrackPolicy copy()
+	{
+		return new LubyRestartPolicy(unit);
+	}
+
+	/**
+	 * Returns the i'th term of the Luby sequence, counting from 1.  If i = 2^k - 1 the term is 2^(k - 1); otherwise it is the
+	 * term at i - 2^(k - 1) + 1, where 2^(k - 1) &lt;= i &lt; 2^k - 1.  TriangleFreeInitializer uses it for its node limits.
+	 *
+	 * @param i Position in the sequence, at least 1
+	 * @return Long term of the sequence
+	 */
+	static long luby(long i)
+	{
+		while(true)
+		{
+			int k = 64 - Long.numberOfLeadingZeros(i);
+			if(i == (1L << k) - 1)
+			{
+				return 1L << (k - 1);
+			}
+			i -= (1L << (k - 1)) - 1;
+		}
+	}
+
+	public String toString()
+	{
+		return "luby(" + unit + ")";
+	}
+
+}//end LubyRestartPolicy class
@@ -1,7 +1,8 @@
 package stronglyRegularGraphs;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -15,6 +16,7 @@ public class Main
 
 	public static void main(String[] args) 
 	{
+		RunConfiguration configuration = RunConfiguration.fromArgs(args);
 		List< List<Integer> > currentRowSet = new ArrayList< List<Integer> >();
 /*
  *  
@@ -22,24 +24,24 @@ public class Main
  * 		
  */
 //		CYCLE GRAPH	- 5 vertices	
-//		SRGsolver cycleGraph = new SRGsolver("(5)CycleGraph.txt", 5, 2, 0, 1);
+//		SRGsolver cycleGraph = new SRGsolver("(5)CycleGraph.txt", 5, 2, 0, 1, configuration.getSeed());
 //		currentRowSet.add(cycleGraph.generateRandomRow(true));
-//		cycleGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(cycleGraph, currentRowSet, configuration);
 		
 //		PETERSON GRAPH - 10 vertices
-//		SRGsolver petersonGraph = new SRGsolver("(10)PetersonGraph.txt", 10, 3, 0, 1);
+//		SRGsolver petersonGraph = new SRGsolver("(10)PetersonGraph.txt", 10, 3, 0, 1, configuration.getSeed());
 //		currentRowSet.add(petersonGraph.generateRandomRow(true));
-//		petersonGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(petersonGraph, currentRowSet, configuration);
 
 //		CLEBSCH GRAPH - 16 vertices
-//		SRGsolver clebschGraph = new SRGsolver("(16)ClebschGraph", 16, 5, 0, 2);
+//		SRGsolver clebschGraph = new SRGsolver("(16)ClebschGraph", 16, 5, 0, 2, configuration.getSeed());
 //		currentRowSet.add(clebschGraph.generateRandomRow(true));
-//		clebschGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(clebschGraph, currentRowSet, configuration);
 		
 //		HUFFMAN-SINGLETON GRAPH	- 50 vertices	
-//		SRGsolver huffmanSingletonGraph = new SRGsolver("(50)HuffmanSingletonGraph.txt", 50, 7, 0, 1);
+//		SRGsolver huffmanSingletonGraph = new SRGsolver("(50)HuffmanSingletonGraph.txt", 50, 7, 0, 1, configuration.getSeed());
 //		currentRowSet.add(huffmanSingletonGraph.generateRandomRow(true));
-//		huffmanSingletonGraph.buildRowListWhileLoop(currentRowSet);	
+//		runSearch(huffmanSingletonGraph, currentRowSet, configuration);	
 		
 //-------------------------------------------------------------------------------------------------------------
 		
@@ -49,219 +51,489 @@ public class Main
  * 
  */		
 //		SQUARE GRAPH - 4 vertices
-//		SRGsolver squareGraph = new SRGsolver("(4)SquareGraph.txt", 4, 2, 0, 2);
+//		SRGsolver squareGraph = new SRGsolver("(4)SquareGraph.txt", 4, 2, 0, 2, configuration.getSeed());
 //		currentRowSet.add(squareGraph.generateRandomRow(true));
-//		squareGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(squareGraph, currentRowSet, configuration);
 
 //		UTILITY GRAPH - 6 vertices
-//		SRGsolver utilityGraph = new SRGsolver("(6)UtilityGraph.txt", 6, 3, 0, 3);
+//		SRGsolver utilityGraph = new SRGsolver("(6)UtilityGraph.txt", 6, 3, 0, 3, configuration.getSeed());
 //		currentRowSet.add(utilityGraph.generateRandomRow(true));
-//		utilityGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(utilityGraph, currentRowSet, configuration);
 		
 //		OCTAHEDRAL GRAPH - 6 vertices
-//		SRGsolver octahedralGraph = new SRGsolver("(6)OctahedralGraph.txt", 6, 4, 2, 4);
+//		SRGsolver octahedralGraph = new SRGsolver("(6)OctahedralGraph.txt", 6, 4, 2, 4, configuration.getSeed());
 //		currentRowSet.add(octahedralGraph.generateRandomRow(true));
-//		octahedralGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(octahedralGraph, currentRowSet, configuration);
 
 //		8-COMPLETE BIPARTITE GRAPH - 8 vertices
-//		SRGsolver eightBipartiteGraph = new SRGsolver("(8)BipartiteGraph.txt", 8, 4, 0, 4);
+//		SRGsolver eightBipartiteGraph = new SRGsolver("(8)BipartiteGraph.txt", 8, 4, 0, 4, configuration.getSeed());
 //		currentRowSet.add(eightBipartiteGraph.generateRandomRow(true));
-//		eightBipartiteGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(eightBipartiteGraph, currentRowSet, configuration);
 		
 //		16-CELL GRAPH - 8 vertices
-//		SRGsolver sixteenCellGraph = new SRGsolver("(8)SixteenCellGraph.txt", 8, 6, 4, 6);
+//		SRGsolver sixteenCellGraph = new SRGsolver("(8)SixteenCellGraph.txt", 8, 6, 4, 6, configuration.getSeed());
 //		currentRowSet.add(sixteenCellGraph.generateRandomRow(true));
-//		sixteenCellGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(sixteenCellGraph, currentRowSet, configuration);
 		
 //		9-GENERALIZED QUADRANGLE GRAPH - 9 vertices
-//		SRGsolver nineGeneralizedQuadrangleGraph = new SRGsolver("(9)GeneralizedQuadrangleGraph.txt", 9, 4, 1, 2);
+//		SRGsolver nineGeneralizedQuadrangleGraph = new SRGsolver("(9)GeneralizedQuadrangleGraph.txt", 9, 4, 1, 2, configuration.getSeed());
 //		currentRowSet.add(nineGeneralizedQuadrangle.generateRandomRow(true));
-//		nineGeneralizedQuadrangleGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(nineGeneralizedQuadrangleGraph, currentRowSet, configuration);
 		
 //		9-COMPLETE TRIPARTITE GRAPH - 9 vertices
-//		SRGsolver nineTripartiteGraph = new SRGsolver("(9)CompleteTripartiteGraph.txt", 9, 6, 3, 6);
+//		SRGsolver nineTripartiteGraph = new SRGsolver("(9)CompleteTripartiteGraph.txt", 9, 6, 3, 6, configuration.getSeed());
 //		currentRowSet.add(nineTripartiteGraph.generateRandomRow(true));
-//		nineTripartiteGraph.buildRowListWhileLoop(currentRowSet);		
+//		runSearch(nineTripartiteGraph, currentRowSet, configuration);		
 		
 //		10-COMPLETE BIPARTITE GRAPH - 10 vertices
-//		SRGsolver tenCompleteBipartiteGraph = new SRGsolver("(10)BipartiteGraph.txt", 10, 5, 0, 5);
+//		SRGsolver tenCompleteBipartiteGraph = new SRGsolver("(10)BipartiteGraph.txt", 10, 5, 0, 5, configuration.getSeed());
 //		currentRowSet.add(tenCompleteBipartiteGraph.generateRandomRow(true));
-//		tenCompleteBipartiteGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(tenCompleteBipartiteGraph, currentRowSet, configuration);
 		
 //		5-TRIANGULAR GRAPH - 10 vertices
-//		SRGsolver fiveTriangularGraph = new SRGsolver("(10)FiveTriangularGraph.txt", 10, 6, 3, 4);
+//		SRGsolver fiveTriangularGraph = new SRGsolver("(10)FiveTriangularGraph.txt", 10, 6, 3, 4, configuration.getSeed());
 //		currentRowSet.add(fiveTriangularGraph.generateRandomRow(true));
-//		fiveTriangularGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(fiveTriangularGraph, currentRowSet, configuration);
 		
 //		5-COCKTAIL PARTY GRAPH - 10 vertices
-//		SRGsolver fiveCocktailPartyGraph = new SRGsolver("(10)FiveCocktailPartyGraph.txt", 10, 8, 6, 8);
+//		SRGsolver fiveCocktailPartyGraph = new SRGsolver("(10)FiveCocktailPartyGraph.txt", 10, 8, 6, 8, configuration.getSeed());
 //		currentRowSet.add(fiveCocktailPartyGraph.generateRandomRow(true));
-//		fiveCocktailPartyGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(fiveCocktailPartyGraph, currentRowSet, configuration);
 		
 //		12-COMPLETE BIPARTITE GRAPH - 12 vertices
-//		SRGsolver twelveBipartiteGraph = new SRGsolver("(12)BipartiteGraph.txt", 12, 6, 0, 6);
+//		SRGsolver twelveBipartiteGraph = new SRGsolver("(12)BipartiteGraph.txt", 12, 6, 0, 6, configuration.getSeed());
 //		currentRowSet.add(twelveBipartiteGraph.generateRandomRow(true));
-//		twelveBipartiteGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(twelveBipartiteGraph, currentRowSet, configuration);
 
 //		12-COMPLETE TRIPARTITE GRAPH - 12 vertices
-//		SRGsolver twelveTripartiteGraph = new SRGsolver("(12)TripartiteGraph.txt", 12, 8, 4, 8);
+//		SRGsolver twelveTripartiteGraph = new SRGsolver("(12)TripartiteGraph.txt", 12, 8, 4, 8, configuration.getSeed());
 //		currentRowSet.add(twelveTripartiteGraph.generateRandomRow(true));
-//		twelveTripartiteGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(twelveTripartiteGraph, currentRowSet, configuration);
 		
 //		6-COCKTAIL PARTY GRAPH - 12 vertices	
-//		SRGsolver sixCocktailPartyGraph = new SRGsolver("(12)6-CocktailPartyGraph.txt", 12, 10, 8, 10);
+//		SRGsolver sixCocktailPartyGraph = new SRGsolver("(12)6-CocktailPartyGraph.txt", 12, 10, 8, 10, configuration.getSeed());
 //		currentRowSet.add(sixCocktailPartyGraph.generateRandomRow(true));
-//		sixCocktailPartyGraph.buildRowListWhileLoop(currentRowSet);	
+//		runSearch(sixCocktailPartyGraph, currentRowSet, configuration);	
 		
 //		13-PALEY GRAPH - 13 vertices
-//		SRGsolver thirteenPaleyGraph = new SRGsolver("(13)13-PaleyGraph.txt", 13, 6, 2, 3);
+//		SRGsolver thirteenPaleyGraph = new SRGsolver("(13)13-PaleyGraph.txt", 13, 6, 2, 3, configuration.getSeed());
 //		currentRowSet.add(thirteenPaleyGraph.generateRandomRow(true));
-//		thirteenPaleyGraph.buildRowListWhileLoop(currentRowSet);	
+//		runSearch(thirteenPaleyGraph, currentRowSet, configuration);	
 		
 //		14-COMPLETE BIPARTITE GRAPH - 14 vertices
-//		SRGsolver fourteenBipartiteGraph = new SRGsolver("(14)BipartiteGraph.txt", 14, 7, 0, 7);
+//		SRGsolver fourteenBipartiteGraph = new SRGsolver("(14)BipartiteGraph.txt", 14, 7, 0, 7, configuration.getSeed());
 //		currentRowSet.add(fourteenBipartiteGraph.generateRandomRow(true));
-//		fourteenBipartiteGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(fourteenBipartiteGraph, currentRowSet, configuration);
 		
 //		7-COCKTAIL PARTY GRAPH - 14 vertices	
-//		SRGsolver sevenCocktailPartyGraph = new SRGsolver("(14)7-CocktailPartyGraph.txt", 14, 12, 10, 12);
+//		SRGsolver sevenCocktailPartyGraph = new SRGsolver("(14)7-CocktailPartyGraph.txt", 14, 12, 10, 12, configuration.getSeed());
 //		currentRowSet.add(sevenCocktailPartyGraph.generateRandomRow(true));
-//		sevenCocktailPartyGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(sevenCocktailPartyGraph, currentRowSet, configuration);
 		
 //		(2,2)-GENERALIZED QUADRANGLE GRAPH - 15 vertices	
-//		SRGsolver secondGeneralizedQuadrangleGraph = new SRGsolver("(15)2,2-GeneralizedQuadrangleGraph.txt", 15, 6, 1, 3);
+//		SRGsolver secondGeneralizedQuadrangleGraph = new SRGsolver("(15)2,2-GeneralizedQuadrangleGraph.txt", 15, 6, 1, 3, configuration.getSeed());
 //		currentRowSet.add(secondGeneralizedQuadrangleGraph.generateRandomRow(true));
-//		secondGeneralizedQuadrangleGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(secondGeneralizedQuadrangleGraph, currentRowSet, configuration);
 		
 //		6-TRIANGULAR GRAPH - 15 vertices	
-//		SRGsolver sixTriangularGraph = new SRGsolver("(15)6-TriangularGraph.txt", 15, 8, 4, 4);
+//		SRGsolver sixTriangularGraph = new SRGsolver("(15)6-TriangularGraph.txt", 15, 8, 4, 4, configuration.getSeed());
 //		currentRowSet.add(sixTriangularGraph.generateRandomRow(true));
-//		sixTriangularGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(sixTriangularGraph, currentRowSet, configuration);
 		
 //		15-COMPLETE TRIPARTITE GRAPH - 15 vertices
-//		SRGsolver fifteenTripartiteGraph = new SRGsolver("(15)TripartiteGraph.txt", 15, 10, 5, 10);
+//		SRGsolver fifteenTripartiteGraph = new SRGsolver("(15)TripartiteGraph.txt", 15, 10, 5, 10, configuration.getSeed());
 //		currentRowSet.add(fifteenTripartiteGraph.generateRandomRow(true));
-//		fifteenTripartiteGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(fifteenTripartiteGraph, currentRowSet, configuration);
 		
 //		15-COMPLETE 5-PARTITE GRAPH - 15 vertices
-//		SRGsolver fivePartiteGraph = new SRGsolver("(15)Five-PartiteGraph.txt", 15, 12, 9, 12);
+//		SRGsolver fivePartiteGraph = new SRGsolver("(15)Five-PartiteGraph.txt", 15, 12, 9, 12, configuration.getSeed());
 //		currentRowSet.add(fivePartiteGraph.generateRandomRow(true));
-//		fivePartiteGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(fivePartiteGraph, currentRowSet, configuration);
 		
 //		SHRIKHANDE GRAPH - 16 vertices	
-//		SRGsolver shrikhandeGraph = new SRGsolver("(16)ShrikhandeGraph.txt", 16, 6, 2, 2);
+//		SRGsolver shrikhandeGraph = new SRGsolver("(16)ShrikhandeGraph.txt", 16, 6, 2, 2, configuration.getSeed());
 //		currentRowSet.add(shrikhandeGraph.generateRandomRow(true));
-//		shrikhandeGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(shrikhandeGraph, currentRowSet, configuration);
 		
 //		16-COMPLETE BIPARTITE GRAPH - 16 vertices
-//		SRGsolver sixteenBipartiteGraph = new SRGsolver("(16)BipartiteGraph.txt", 16, 8, 0, 8);
+//		SRGsolver sixteenBipartiteGraph = new SRGsolver("(16)BipartiteGraph.txt", 16, 8, 0, 8, configuration.getSeed());
 //		currentRowSet.add(sixteenBipartiteGraph.generateRandomRow(true));
-//		sixteenBipartiteGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(sixteenBipartiteGraph, currentRowSet, configuration);
 		
 //		COMPLEMENT OF (4,4) LATTICE GRAPH - 16 vertices	
-//		SRGsolver fourFourLatticeComplementGraph = new SRGsolver("(16)4,4-LatticeComplementGraph.txt", 16, 9, 4, 6);
+//		SRGsolver fourFourLatticeComplementGraph = new SRGsolver("(16)4,4-LatticeComplementGraph.txt", 16, 9, 4, 6, configuration.getSeed());
 //		currentRowSet.add(fourFourLatticeComplementGraph.generateRandomRow(true));
-//		fourFourLatticeComplementGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(fourFourLatticeComplementGraph, currentRowSet, configuration);
 		
 //		5-HALVED CUBE GRAPH - 16 vertices	
-//		SRGsolver fiveHalvedCubeGraph = new SRGsolver("(16)fiveHalvedCubeGraph.txt", 16, 10, 6, 6);
+//		SRGsolver fiveHalvedCubeGraph = new SRGsolver("(16)fiveHalvedCubeGraph.txt", 16, 10, 6, 6, configuration.getSeed());
 //		currentRowSet.add(fiveHalvedCubeGraph.generateRandomRow(true));
-//		fiveHalvedCubeGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(fiveHalvedCubeGraph, currentRowSet, configuration);
 		
 //		16-COMPLETE 4-PARTITE GRAPH - 16 vertices
-//		SRGsolver sixteenFourPartiteGraph = new SRGsolver("(16)4-PartiteGraph.txt", 16, 12, 8, 12);
+//		SRGsolver sixteenFourPartiteGraph = new SRGsolver("(16)4-PartiteGraph.txt", 16, 12, 8, 12, configuration.getSeed());
 //		currentRowSet.add(sixteenFourPartiteGraph.generateRandomRow(true));
-//		sixteenFourPartiteGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(sixteenFourPartiteGraph, currentRowSet, configuration);
 		
 //		8-COCKTAIL PARTY GRAPH - 16 vertices
-//		SRGsolver eightCocktailPartyGraph = new SRGsolver("(16)8-CocktailPartyGraph.txt", 16, 14, 12, 14);
+//		SRGsolver eightCocktailPartyGraph = new SRGsolver("(16)8-CocktailPartyGraph.txt", 16, 14, 12, 14, configuration.getSeed());
 //		currentRowSet.add(eightCocktailPartyGraph.generateRandomRow(true));
-//		eightCocktailPartyGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(eightCocktailPartyGraph, currentRowSet, configuration);
 		
 //		17-PALEY GRAPH - 17 vertices	
-//		SRGsolver seventeenPaleyGraph = new SRGsolver("(17)PaleyGraph.txt", 17, 8, 3, 4);
+//		SRGsolver seventeenPaleyGraph = new SRGsolver("(17)PaleyGraph.txt", 17, 8, 3, 4, configuration.getSeed());
 //		currentRowSet.add(seventeenPaleyGraph.generateRandomRow(true));
-//		seventeenPaleyGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(seventeenPaleyGraph, currentRowSet, configuration);
 		
 //		9-COCKTAIL PARTY GRAPH - 18 vertices	
-//		SRGsolver nineCocktailPartyGraph = new SRGsolver("(18)9-CocktailPartyGraph.txt", 18, 16, 14, 16);
+//		SRGsolver nineCocktailPartyGraph = new SRGsolver("(18)9-CocktailPartyGraph.txt", 18, 16, 14, 16, configuration.getSeed());
 //		currentRowSet.add(nineCocktailPartyGraph.generateRandomRow(true));
-//		nineCocktailPartyGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(nineCocktailPartyGraph, currentRowSet, configuration);
 		
 //		18-COMPLETE BIPARTITE GRAPH - 18 vertices
-//		SRGsolver eighteenBipartiteGraph = new SRGsolver("(18)BipartiteGraph.txt", 18, 9, 0, 9);
+//		SRGsolver eighteenBipartiteGraph = new SRGsolver("(18)BipartiteGraph.txt", 18, 9, 0, 9, configuration.getSeed());
 //		currentRowSet.add(eighteenBipartiteGraph.generateRandomRow(true));
-//		eighteenBipartiteGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(eighteenBipartiteGraph, currentRowSet, configuration);
 		
 //		18-COMPLETE TRIPARTITE GRAPH - 18 vertices
-//		SRGsolver eighteenTripartiteGraph = new SRGsolver("(18)TripartiteGraph.txt", 18, 12, 6, 12);
+//		SRGsolver eighteenTripartiteGraph = new SRGsolver("(18)TripartiteGraph.txt", 18, 12, 6, 12, configuration.getSeed());
 //		currentRowSet.add(eighteenTripartiteGraph.generateRandomRow(true));
-//		eighteenTripartiteGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(eighteenTripartiteGraph, currentRowSet, configuration);
 		
 //		20-COMPLETE BIPARTITE GRAPH - 20 vertices
-//		SRGsolver twentyBipartiteGraph = new SRGsolver("(20)BipartiteGraph.txt", 20, 10, 0, 10);
+//		SRGsolver twentyBipartiteGraph = new SRGsolver("(20)BipartiteGraph.txt", 20, 10, 0, 10, configuration.getSeed());
 //		currentRowSet.add(twentyBipartiteGraph.generateRandomRow(true));
-//		twentyBipartiteGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(twentyBipartiteGraph, currentRowSet, configuration);
 		
 //		10-COCKTAIL PARTY GRAPH - 20 vertices	
-//		SRGsolver tenCocktailPartyGraph = new SRGsolver("(20)10-CocktailPartyGraph.txt", 20, 18, 16, 18);
+//		SRGsolver tenCocktailPartyGraph = new SRGsolver("(20)10-CocktailPartyGraph.txt", 20, 18, 16, 18, configuration.getSeed());
 //		currentRowSet.add(tenCocktailPartyGraph.generateRandomRow(true));
-//		tenCocktailPartyGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(tenCocktailPartyGraph, currentRowSet, configuration);
 		
 //		(7, 2) KNESER GRAPH - 21 vertices	
-//		SRGsolver sevenTwoKneserGraph = new SRGsolver("(21) (7,2)-KneserGraph.txt", 21, 10, 3, 6);
+//		SRGsolver sevenTwoKneserGraph = new SRGsolver("(21) (7,2)-KneserGraph.txt", 21, 10, 3, 6, configuration.getSeed());
 //		currentRowSet.add(sevenTwoKneserGraph.generateRandomRow(true));
-//		sevenTwoKneserGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(sevenTwoKneserGraph, currentRowSet, configuration);
 		
 //		7-TRIANGULAR GRAPH - 21 vertices	
-//		SRGsolver sevenTriangularGraph = new SRGsolver("(21)7-TriangularGraph.txt", 21, 10, 5, 4);
+//		SRGsolver sevenTriangularGraph = new SRGsolver("(21)7-TriangularGraph.txt", 21, 10, 5, 4, configuration.getSeed());
 //		currentRowSet.add(sevenTriangularGraph.generateRandomRow(true));
-//		sevenTriangularGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(sevenTriangularGraph, currentRowSet, configuration);
 		
 //		22-COMPLETE BIPARTITE GRAPH - 22 vertices
-//		SRGsolver twentyTwoBipartiteGraph = new SRGsolver("(22)BipartiteGraph.txt", 22, 11, 0, 11);
+//		SRGsolver twentyTwoBipartiteGraph = new SRGsolver("(22)BipartiteGraph.txt", 22, 11, 0, 11, configuration.getSeed());
 //		currentRowSet.add(twentyTwoBipartiteGraph.generateRandomRow(true));
-//		twentyTwoBipartiteGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(twentyTwoBipartiteGraph, currentRowSet, configuration);
 		
 //		11-COCKTAIL PARTY GRAPH - 22 vertices	
-//		SRGsolver elevenCocktailPartyGraph = new SRGsolver("(22)11-CocktailPartyGraph.txt", 22, 20, 18, 20);
+//		SRGsolver elevenCocktailPartyGraph = new SRGsolver("(22)11-CocktailPartyGraph.txt", 22, 20, 18, 20, configuration.getSeed());
 //		currentRowSet.add(elevenCocktailPartyGraph.generateRandomRow(true));
-//		elevenCocktailPartyGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(elevenCocktailPartyGraph, currentRowSet, configuration);
 		
 //		24-COMPLETE BIPARTITE GRAPH - 24 vertices
-//		SRGsolver twentyFourBipartiteGraph = new SRGsolver("(24)BipartiteGraph.txt", 24, 12, 0, 12);
+//		SRGsolver twentyFourBipartiteGraph = new SRGsolver("(24)BipartiteGraph.txt", 24, 12, 0, 12, configuration.getSeed());
 //		currentRowSet.add(twentyFourBipartiteGraph.generateRandomRow(true));
-//		twentyFourBipartiteGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(twentyFourBipartiteGraph, currentRowSet, configuration);
 		
 //		12-COCKTAIL PARTY GRAPH - 24 vertices	
-//		SRGsolver twelveCocktailPartyGraph = new SRGsolver("(24)12-CocktailPartyGraph.txt", 24, 22, 20, 22);
+//		SRGsolver twelveCocktailPartyGraph = new SRGsolver("(24)12-CocktailPartyGraph.txt", 24, 22, 20, 22, configuration.getSeed());
 //		currentRowSet.add(twelveCocktailPartyGraph.generateRandomRow(true));
-//		twelveCocktailPartyGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(twelveCocktailPartyGraph, currentRowSet, configuration);
 		
 //		(5,5) LATTICE GRAPH - 25 vertices
-//		SRGsolver fiveFiveLatticeGraph = new SRGsolver("(25)5,5-LatticeGraph.txt", 25, 8, 3, 2);
+//		SRGsolver fiveFiveLatticeGraph = new SRGsolver("(25)5,5-LatticeGraph.txt", 25, 8, 3, 2, configuration.getSeed());
 //		currentRowSet.add(fiveFiveLatticeGraph.generateRandomRow(true));
-//		fiveFiveLatticeGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(fiveFiveLatticeGraph, currentRowSet, configuration);
 		
 //		25-PALEY GRAPH - 25 vertices	
-//		SRGsolver twentyFivePaleyGraph = new SRGsolver("(25)PaleyGraph.txt", 25, 12, 5, 6);
+//		SRGsolver twentyFivePaleyGraph = new SRGsolver("(25)PaleyGraph.txt", 25, 12, 5, 6, configuration.getSeed());
 //		currentRowSet.add(twentyFivePaleyGraph.generateRandomRow(true));
-//		twentyFivePaleyGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(twentyFivePaleyGraph, currentRowSet, configuration);
 		
 //		26-PAULUS GRAPH - 25 vertices	
-//		SRGsolver twentySixPaulusGraph = new SRGsolver("(26)PaulusGraph.txt", 26, 10, 3, 4);
+//		SRGsolver twentySixPaulusGraph = new SRGsolver("(26)PaulusGraph.txt", 26, 10, 3, 4, configuration.getSeed());
 //		currentRowSet.add(twentySixPaulusGraph.generateRandomRow(true));
-//		twentySixPaulusGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(twentySixPaulusGraph, currentRowSet, configuration);
 		
 //		(2,4)-GENERALIZED QUADRANGLE GRAPH - 27 vertices	
-//		SRGsolver twoFourGeneralizedQuadrangleGraph = new SRGsolver("(27)(2,4)-GeneralizedQuadrangleGraph.txt", 27, 10, 1, 5);
+//		SRGsolver twoFourGeneralizedQuadrangleGraph = new SRGsolver("(27)(2,4)-GeneralizedQuadrangleGraph.txt", 27, 10, 1, 5, configuration.getSeed());
 //		currentRowSet.add(twoFourGeneralizedQuadrangleGraph.generateRandomRow(true));
-//		twoFourGeneralizedQuadrangleGraph.buildRowListWhileLoop(currentRowSet);
+//		runSearch(twoFourGeneralizedQuadrangleGraph, currentRowSet, configuration);
 		
 //		29-PALEY GRAPH - 29 vertices	
-		SRGsolver twentyNinePaleyGraph = new SRGsolver("(29)PaleyGraph.txt", 29, 14, 6, 7);
+		SRGsolver twentyNinePaleyGraph = new SRGsolver("(29)PaleyGraph.txt", 29, 14, 6, 7, configuration.getSeed());
 		currentRowSet.add(twentyNinePaleyGraph.generateRandomRow(true));
-		twentyNinePaleyGraph.buildRowListWhileLoop(currentRowSet);
+		runSearch(twentyNinePaleyGraph, currentRowSet, configuration);
 	}//end main
+	
+	/**
+	 * Runs the search engine selected by the run configuration on the passed in solver, starting from currentRowSet.  When a
+	 * maximal row set is found, currentRowSet is replaced by it.  Parameters that fail a ParameterFeasibility check are not
+	 * searched.
+	 * 
+	 * @param srgSolver Solver holding the graph parameters
+	 * @param currentRowSet The 2D List of rows that are currently known to be correct.
+	 * @param configuration Options Main was started with
+	 */
+	private static void runSearch(final SRGsolver srgSolver, List< List<Integer> > currentRowSet, final RunConfiguration configuration)
+	{
+		ParameterFeasibility feasibility = ParameterFeasibility.of(srgSolver);
+		if(!feasibility.isFeasible())
+		{
+			System.out.println("Not searching " + srgSolver.getFileName() + ": " + feasibility);
+			return;
+		}
+		
+		srgSolver.setOutputFormats(configuration.getOutputFormats());
+		if(configuration.getInterlacingInterval() >= 0)
+		{
+			srgSolver.setInterlacingPruner(InterlacingPruner.of(srgSolver, configuration.getInterlacingInterval()));
+		}
+		if(configuration.isSymmetryBreaking())
+		{
+			SymmetryBreaking symmetryBreaking = SymmetryBreaking.of(srgSolver);
+			srgSolver.setSymmetryBreaking(symmetryBreaking);
+			currentRowSet.clear();
+			currentRowSet.addAll(BitRow.toList2D(symmetryBreaking.canonicalRows()));
+		}
+		if(configuration.isTriangleFree())
+		{
+			if(srgSolver.getLambdaValue() != 0)
+			{
+				System.out.println("Not using the triangle-free initializer for " + srgSolver.getFileName() + ": lambda is not 0.");
+			}
+			else
+			{
+				TriangleFreeInitializer triangleFreeInitializer = TriangleFreeInitializer.of(srgSolver);
+				List<BitRow> initialRows = triangleFreeInitializer.buildRows(new FastRandom(srgSolver.getSeed()));
+				if(initialRows == null)
+				{
+					System.out.println("Not searching " + srgSolver.getFileName() + ": vertex 0's neighbourhood has no 2-design.");
+					return;
+				}
+				srgSolver.setTriangleFreeInitializer(triangleFreeInitializer);
+				currentRowSet.clear();
+				currentRowSet.addAll(BitRow.toList2D(initialRows));
+			}
+		}
+		srgSolver.setBacktrackPolicy(configuration.createBacktrackPolicy(srgSolver));
+		if(configuration.isIsomorphRejection())
+		{
+			srgSolver.setIsomorphCache(loadIsomorphCache(srgSolver));
+		}
+		if(configuration.getStartFromFile() != null)
+		{
+			startFromKnownRows(srgSolver, currentRowSet, configuration);
+		}
+		
+		if(configuration.getReplayIterations() > 0)
+		{
+			replay(srgSolver, currentRowSet, configuration);
+			return;
+		}
+		
+		CheckpointWriter checkpointWriter = null;
+		if(configuration.getCheckpointFile() != null)
+		{
+			checkpointWriter = new CheckpointWriter(new File(configuration.getCheckpointFile()));
+			srgSolver.setCheckpointWriter(checkpointWriter, configuration.getCheckpointIntervalSeconds() * 1000L);
+		}
+		MetricsReporter metricsReporter = null;
+		if(configuration.getMetricsLogFile() != null)
+		{
+			metricsReporter = new MetricsReporter(new File(configuration.getMetricsLogFile()), 
+					configuration.getMetricsIntervalSeconds() * 1000L);
+			srgSolver.setMetricsReporter(metricsReporter);
+		}
+		Thread rejectionProfileWriter = null;
+		if(configuration.getRejectionProfileFile() != null)
+		{
+			//The profile is also written if the run is stopped, since the runs worth profiling are the ones that never finish.
+			srgSolver.setRejectionProfiler(RejectionProfiler.of(srgSolver));
+			rejectionProfileWriter = new Thread("SRG rejection profile writer")
+			{
+				public void run()
+				{
+					writeRejectionProfile(srgSolver, configuration);
+				}
+			};
+			Runtime.getRuntime().addShutdownHook(rejectionProfileWriter);
+		}
+		
+		List<BitRow> maximalRowSet;
+		try
+		{
+			if(configuration.getResumeFile() != null)
+			{
+				maximalRowSet = srgSolver.resume(readCheckpoint(srgSolver, configuration.getResumeFile()));
+			}
+			else
+			{
+				SearchEngine searchEngine = configuration.createSearchEngine(srgSolver);
+				maximalRowSet = searchEngine.search(BitRow.fromList2D(currentRowSet));
+			}
+		}
+		finally
+		{
+			if(checkpointWriter != null)
+			{
+				checkpointWriter.close();
+			}
+			if(metricsReporter != null)
+			{
+				metricsReporter.close();
+			}
+			if(rejectionProfileWriter != null)
+			{
+				Runtime.getRuntime().removeShutdownHook(rejectionProfileWriter);
+				writeRejectionProfile(srgSolver, configuration);
+			}
+		}
+		
+		if(maximalRowSet == null)
+		{
+			System.out.println("No maximal row set extends the starting rows.");
+			return;
+		}
+		currentRowSet.clear();
+		currentRowSet.addAll(BitRow.toList2D(maximalRowSet));
+	}
+	
+	/**
+	 * Writes the solver's rejection profile, including its walkers', to the --rejection-profile file.
+	 */
+	private static void writeRejectionProfile(SRGsolver srgSolver, RunConfiguration configuration)
+	{
+		File file = new File(configuration.getRejectionProfileFile());
+		try
+		{
+			srgSolver.getRejectionProfiler().writeCsv(file);
+			System.out.println("Rejection profile written to " + file);
+		}
+		catch(IOException exception)
+		{
+			System.err.println("An error occurred writing the rejection profile to " + file + ": " + exception.getMessage());
+		}
+	}
+	
+	/**
+	 * Creates the isomorph cache for a run, holding every graph already in the solver's graph6 output file, so a run only
+	 * adds graphs to that file that are new up to isomorphism.  The program exits if the file exists but cannot be read.
+	 * 
+	 * @param srgSolver Solver holding the graph parameters and file name
+	 * @return IsomorphCache for the run
+	 */
+	private static IsomorphCache loadIsomorphCache(SRGsolver srgSolver)
+	{
+		IsomorphCache isomorphCache = new IsomorphCache();
+		File graph6File = new File(MatrixWriter.fileNameFor(srgSolver.getFileName(), MatrixWriter.OutputFormat.GRAPH6));
+		if(graph6File.exists())
+		{
+			try
+			{
+				isomorphCache.addGraph6File(graph6File);
+			}
+			catch(IOException exception)
+			{
+				System.err.println("An error occurred loading " + graph6File + ": " + exception.getMessage());
+				System.exit(1);
+			}
+			System.out.println(graph6File + " already holds " + isomorphCache.size() + " isomorphism class(es).");
+		}
+		return isomorphCache;
+	}
+	
+	/**
+	 * Replaces currentRowSet by the first rows of the matrix in the --start-from file.  The program exits if the file cannot
+	 * be loaded or its matrix has a different number of vertices.
+	 * 
+	 * @param srgSolver Solver holding the graph parameters
+	 * @param currentRowSet The 2D List of rows the search will start from
+	 * @param configuration Options Main was started with
+	 */
+	private static void startFromKnownRows(SRGsolver srgSolver, List< List<Integer> > currentRowSet, RunConfiguration configuration)
+	{
+		List<BitRow> knownRows = null;
+		try
+		{
+			knownRows = MatrixLoader.load(new File(configuration.getStartFromFile()));
+		}
+		catch(IOException exception)
+		{
+			System.err.println("An error occurred loading " + configuration.getStartFromFile() + ": " + exception.getMessage());
+			System.exit(1);
+		}
+		if(knownRows.size() != srgSolver.getNumOfVertices())
+		{
+			System.err.println(configuration.getStartFromFile() + " has " + knownRows.size() + " vertices, not "
+					+ srgSolver.getNumOfVertices());
+			System.exit(1);
+		}
+		
+		int startRows = Math.min(configuration.getStartRows(), knownRows.size());
+		currentRowSet.clear();
+		currentRowSet.addAll(BitRow.toList2D(knownRows.subList(0, startRows)));
+		System.out.println("Starting from the first " + startRows + " rows of " + configuration.getStartFromFile() + ".");
+	}
+	
+	/**
+	 * Reads the checkpoint to resume from.  The program exits if it cannot be read or was taken for other graph parameters.
+	 * 
+	 * @param srgSolver Solver that will resume the search
+	 * @param fileName Checkpoint file
+	 * @return Checkpoint read from the file
+	 */
+	private static Checkpoint readCheckpoint(SRGsolver srgSolver, String fileName)
+	{
+		Checkpoint checkpoint = null;
+		try
+		{
+			checkpoint = Checkpoint.read(new File(fileName));
+		}
+		catch(IOException exception)
+		{
+			System.err.println("An error occurred reading checkpoint " + fileName + ": " + exception.getMessage());
+			System.exit(1);
+		}
+		if(!checkpoint.matches(srgSolver))
+		{
+			System.err.println("Checkpoint " + fileName + " was taken for different graph parameters than " + srgSolver.getFileName());
+			System.exit(1);
+		}
+		
+		System.out.println("Resuming from " + fileName + " at " + checkpoint.getCandidatesGenerated() + " candidates.");
+		return checkpoint;
+	}
+	
+	/**
+	 * Replays the seeded random search (or one walker of it) for the number of candidates given by --replay, and prints the
+	 * row set reached.  currentRowSet is replaced by that row set.
+	 * 
+	 * @param srgSolver Solver created with the run's seed
+	 * @param currentRowSet The 2D List of rows the run started from
+	 * @param configuration Options Main was started with
+	 */
+	private static void replay(SRGsolver srgSolver, List< List<Integer> > currentRowSet, RunConfiguration configuration)
+	{
+		if(configuration.getReplayWalker() >= 0)
+		{
+			srgSolver.setRandom(MultiWalkerSearch.walkerRandom(srgSolver.getSeed(), configuration.getReplayWalker()));
+			srgSolver.setWalkerIndex(configuration.getReplayWalker());
+		}
+		
+		long startTime = System.nanoTime();
+		List<BitRow> reachedRowSet = srgSolver.replay(BitRow.fromList2D(currentRowSet), configuration.getReplayIterations());
+		
+		System.out.println("Replayed " + srgSolver.getCandidatesGenerated() + " candidates from seed " + srgSolver.getSeed() + " in "
+				+ SRGsolver.round((System.nanoTime() - startTime) / 1000000000.0, 2) + " seconds.");
+		System.out.println("Rows reached: " + reachedRowSet.size() + ", deepest row set: " + srgSolver.getMaxDepthReached());
+		for(int i = 0; i < reachedRowSet.size(); i++)
+		{
+			System.out.println(reachedRowSet.get(i));
+		}
+		
+		currentRowSet.clear();
+		currentRowSet.addAll(BitRow.toList2D(reachedRowSet));
+	}
 
 }
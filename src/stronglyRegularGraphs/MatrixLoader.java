@@ -0,0 +1,414 @@
+package stronglyRegularGraphs;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The MatrixLoader class reads adjacency matrices back into BitRows from every format this project writes:
+ * <ul>
+ * 		<li> text - the report written by SRGsolver.printMaximalRowsToFile, as in CompletedGraphs.  Only the "ADJACENCY MATRIX
+ * 			 WITHOUT FORMATTING" section is read, one line at a time, so the rest of the report is skipped without being parsed.
+ * 		<li> graph6 - one graph per line, as written by MatrixWriter.writeGraph6.
+ * 		<li> binary - as written by MatrixWriter.writeBinary; the file is memory-mapped and the row words copied out of it.
+ * </ul>
+ * Problems with a file are reported with an IOException naming the file (and line, for text), rather than by exiting, so a
+ * batch of files can be loaded and the bad ones skipped.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class MatrixLoader
+{
+	private static final String MATRIX_SECTION = "ADJACENCY MATRIX WITHOUT FORMATTING";
+
+	private MatrixLoader()
+	{
+	}
+
+	/**
+	 * Loads the matrix in the passed in file, choosing the format from the extension: .g6 is graph6 (the first graph in the
+	 * file), .bin is binary, and anything else, including no extension, is a text report.
+	 *
+	 * @param file File to load
+	 * @return List of BitRows of the adjacency matrix
+	 * @throws IOException If the file cannot be read or does not hold a matrix
+	 */
+	public static List<BitRow> load(File file) throws IOException
+	{
+		String name = file.getName();
+		if(name.endsWith(".g6"))
+		{
+			List< List<BitRow> > graphs = loadGraph6(file);
+			if(graphs.isEmpty())
+			{
+				throw new IOException(file + " holds no graph6 graphs");
+			}
+			return graphs.get(0);
+		}
+		if(name.endsWith(".bin"))
+		{
+			return loadBinary(file);
+		}
+		return loadText(file);
+	}
+
+	/**
+	 * Loads the adjacency matrix from a text report written by printMaximalRowsToFile.
+	 *
+	 * @param file Text report
+	 * @return List of BitRows of the adjacency matrix
+	 * @throws IOException If the file cannot be read or has no well-formed square matrix section
+	 */
+	public static List<BitRow> loadText(File file) throws IOException
+	{
+		BufferedReader reader = new BufferedReader(new FileReader(file));
+		try
+		{
+			String line;
+			int lineNumber = 0;
+			while((line = reader.readLine()) != null)
+			{
+				lineNumber++;
+				if(line.trim().equals(MATRIX_SECTION))
+				{
+					break;
+				}
+			}
+			if(line == null)
+			{
+				throw new IOException(file + " has no " + MATRIX_SECTION + " section");
+			}
+
+			List<BitRow> rows = new ArrayList<BitRow>();
+			int[] columns = new int[16];
+			int numOfVertices = -1;
+			while((line = reader.readLine()) != null)
+			{
+				lineNumber++;
+				String trimmedLine = line.trim();
+				if(trimmedLine.isEmpty() || trimmedLine.startsWith("-"))
+				{
+					//Blank and dashed lines come before the rows; a blank line after them ends the section.
+					if(!rows.isEmpty() && trimmedLine.isEmpty())
+					{
+						break;
+					}
+					continue;
+				}
+
+				//Parse the 0's and 1's straight from the characters, recording the columns of the 1's.
+				int columnCount = 0, oneCount = 0;
+				for(int c = 0; c < trimmedLine.length(); c++)
+				{
+					char character = trimmedLine.charAt(c);
+					if(character == ' ')
+					{
+						continue;
+					}
+					if(character != '0' && character != '1')
+					{
+						throw new IOException(file + ", line " + lineNumber + ": unexpected '" + character + "' in matrix");
+					}
+					if(character == '1')
+					{
+						if(oneCount == columns.length)
+						{
+							columns = Arrays.copyOf(columns, columns.length * 2);
+						}
+						columns[oneCount++] = columnCount;
+					}
+					columnCount++;
+				}
+
+				if(numOfVertices == -1)
+				{
+					numOfVertices = columnCount;
+				}
+				else if(columnCount != numOfVertices)
+				{
+					throw new IOException(file + ", line " + lineNumber + ": row has " + columnCount + " entries, expected "
+							+ numOfVertices);
+				}
+
+				BitRow row = new BitRow(numOfVertices);
+				for(int i = 0; i < oneCount; i++)
+				{
+					row.set(columns[i]);
+				}
+				rows.add(row);
+			}
+
+			if(rows.size() != numOfVertices)
+			{
+				throw new IOException(file + ": matrix has " + rows.size() + " rows of " + numOfVertices + " entries");
+			}
+			return rows;
+		}
+		finally
+		{
+			reader.close();
+		}
+	}
+
+	/**
+	 * Loads every graph in a graph6 file, one per non-blank line.
+	 *
+	 * @param file graph6 file
+	 * @return List of graphs, each a List of BitRows
+	 * @throws IOException If the file cannot be read or a line is not valid graph6
+	 */
+	public static List< List<BitRow> > loadGraph6(File file) throws IOException
+	{
+		List< List<BitRow> > graphs = new ArrayList< List<BitRow> >();
+		BufferedReader reader = new BufferedReader(new FileReader(file));
+		try
+		{
+			String line;
+			int lineNumber = 0;
+			while((line = reader.readLine()) != null)
+			{
+				lineNumber++;
+				String trimmedLine = line.trim();
+				if(trimmedLine.isEmpty())
+				{
+					continue;
+				}
+				try
+				{
+					graphs.add(fromGraph6(trimmedLine));
+				}
+				catch(IllegalArgumentException exception)
+				{
+					throw new IOException(file + ", line " + lineNumber + ": " + exception.getMessage());
+				}
+			}
+		}
+		finally
+		{
+			reader.close();
+		}
+		return graphs;
+	}
+
+	/**
+	 * Decodes one graph6 string, the reverse of MatrixWriter.toGraph6.  The optional ">>graph6<<" header is accepted.
+	 *
+	 * @param graph6 graph6 encoding of a graph
+	 * @return List of BitRows of the adjacency matrix
+	 */
+	public static List<BitRow> fromGraph6(String graph6)
+	{
+		int position = graph6.startsWith(">>graph6<<") ? 10 : 0;
+		int numOfVertices;
+
+		if(position >= graph6.length())
+		{
+			throw new IllegalArgumentException("empty graph6 string");
+		}
+		if(graph6.charAt(position) == 126)
+		{
+			if(position + 1 < graph6.length() && graph6.charAt(position + 1) == 126)
+			{
+				throw new IllegalArgumentException("graphs with 258048 or more vertices are not supported");
+			}
+			if(position + 4 > graph6.length())
+			{
+				throw new IllegalArgumentException("truncated graph6 size");
+			}
+			numOfVertices = (graph6Value(graph6, position + 1) << 12) | (graph6Value(graph6, position + 2) << 6)
+					| graph6Value(graph6, position + 3);
+			position += 4;
+		}
+		else
+		{
+			numOfVertices = graph6Value(graph6, position);
+			position++;
+		}
+
+		long bitsNeeded = (long) numOfVertices * (numOfVertices - 1) / 2;
+		if(graph6.length() - position != (bitsNeeded + 5) / 6)
+		{
+			throw new IllegalArgumentException("graph6 string has the wrong length for " + numOfVertices + " vertices");
+		}
+
+		List<BitRow> rows = new ArrayList<BitRow>(numOfVertices);
+		for(int i = 0; i < numOfVertices; i++)
+		{
+			rows.add(new BitRow(numOfVertices));
+		}
+
+		int bits = 0, bitsLeft = 0;
+		for(int j = 1; j < numOfVertices; j++)
+		{
+			for(int i = 0; i < j; i++)
+			{
+				if(bitsLeft == 0)
+				{
+					bits = graph6Value(graph6, position++);
+					bitsLeft = 6;
+				}
+				bitsLeft--;
+				if(((bits >> bitsLeft) & 1) == 1)
+				{
+					rows.get(i).set(j);
+					rows.get(j).set(i);
+				}
+			}
+		}
+		return rows;
+	}
+
+	private static int graph6Value(String graph6, int position)
+	{
+		int value = graph6.charAt(position) - 63;
+		if(value < 0 || value > 63)
+		{
+			throw new IllegalArgumentException("invalid graph6 character '" + graph6.charAt(position) + "'");
+		}
+		return value;
+	}
+
+	/**
+	 * Loads a matrix written by MatrixWriter.writeBinary.  The file is memory-mapped, and each row's words are copied
+	 * straight out of the mapping.  A row with a bit set past the last column makes the file corrupt.
+	 *
+	 * @param file Binary matrix file
+	 * @return List of BitRows of the adjacency matrix
+	 * @throws IOException If the file cannot be read or is not a binary matrix file
+	 */
+	public static List<BitRow> loadBinary(File file) throws IOException
+	{
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+		try
+		{
+			FileChannel channel = randomAccessFile.getChannel();
+			if(channel.size() < MatrixWriter.BINARY_HEADER_BYTES)
+			{
+				throw new IOException(file + " is too short to be a binary matrix file");
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			buffer.order(ByteOrder.BIG_ENDIAN);
+
+			if(buffer.getInt(0) != MatrixWriter.BINARY_MAGIC || buffer.getInt(4) != MatrixWriter.BINARY_VERSION)
+			{
+				throw new IOException(file + " is not a version " + MatrixWriter.BINARY_VERSION + " binary matrix file");
+			}
+			int numOfVertices = buffer.getInt(8);
+			int wordsPerRow = buffer.getInt(12);
+			if(numOfVertices < 0 || wordsPerRow != BitRow.wordsFor(numOfVertices)
+					|| channel.size() != MatrixWriter.BINARY_HEADER_BYTES + 8L * numOfVertices * wordsPerRow)
+			{
+				throw new IOException(file + " has a corrupt header or the wrong length");
+			}
+
+			buffer.position(MatrixWriter.BINARY_HEADER_BYTES);
+			LongBuffer words = buffer.slice().order(ByteOrder.BIG_ENDIAN).asLongBuffer();
+			//Bits at or past column numOfVertices in a row's last word must be clear.
+			long columnMask = (numOfVertices % 64 == 0) ? -1L : (1L << (numOfVertices % 64)) - 1;
+			List<BitRow> rows = new ArrayList<BitRow>(numOfVertices);
+			for(int r = 0; r < numOfVertices; r++)
+			{
+				BitRow row = new BitRow(numOfVertices);
+				words.get(row.words(), 0, wordsPerRow);
+				if((row.words()[wordsPerRow - 1] & ~columnMask) != 0)
+				{
+					throw new IOException(file + " has bits set past column " + (numOfVertices - 1) + " in row " + r);
+				}
+				rows.add(row);
+			}
+			return rows;
+		}
+		finally
+		{
+			randomAccessFile.close();
+		}
+	}
+
+	/**
+	 * Reads the SRG parameters stored in a binary matrix file's header.
+	 *
+	 * @param file Binary matrix file
+	 * @return int[] of {numOfVertices, degree, lambdaValue, muValue}
+	 * @throws IOException If the file cannot be read or is not a binary matrix file
+	 */
+	public static int[] loadBinaryParameters(File file) throws IOException
+	{
+		byte[] header = new byte[MatrixWriter.BINARY_HEADER_BYTES];
+		FileInputStream input = new FileInputStream(file);
+		try
+		{
+			int read = 0;
+			while(read < header.length)
+			{
+				int count = input.read(header, read, header.length - read);
+				if(count < 0)
+				{
+					throw new IOException(file + " is too short to be a binary matrix file");
+				}
+				read += count;
+			}
+		}
+		finally
+		{
+			input.close();
+		}
+
+		ByteBuffer buffer = ByteBuffer.wrap(header);
+		if(buffer.getInt(0) != MatrixWriter.BINARY_MAGIC)
+		{
+			throw new IOException(file + " is not a binary matrix file");
+		}
+		return new int[] { buffer.getInt(8), buffer.getInt(16), buffer.getInt(20), buffer.getInt(24) };
+	}
+
+	/**
+	 * Returns every regular file below the passed in directory, in sorted path order, skipping hidden files.
+	 *
+	 * @param directory Directory to search, such as CompletedGraphs
+	 * @return List of files
+	 */
+	public static List<File> findGraphFiles(File directory)
+	{
+		List<File> files = new ArrayList<File>();
+		addGraphFiles(directory, files);
+		return files;
+	}
+
+	private static void addGraphFiles(File directory, List<File> files)
+	{
+		File[] children = directory.listFiles();
+		if(children == null)
+		{
+			return;
+		}
+		Arrays.sort(children);
+		for(int i = 0; i < children.length; i++)
+		{
+			if(children[i].getName().startsWith("."))
+			{
+				continue;
+			}
+			if(children[i].isDirectory())
+			{
+				addGraphFiles(children[i], files);
+			}
+			else
+			{
+				files.add(children[i]);
+			}
+		}
+	}
+
+}//end MatrixLoader class
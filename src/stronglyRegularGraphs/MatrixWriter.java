@@ -0,0 +1,176 @@
+package stronglyRegularGraphs;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * The MatrixWriter class writes a maximal row set in the compact formats that sit alongside the text report written by
+ * SRGsolver.printMaximalRowsToFile.
+ * <ul>
+ * 		<li> graph6 - the standard format of nauty and most other graph tools.  One line per graph; files are appended to, so
+ * 			 several graphs found for the same parameters end up in one file.
+ * 		<li> binary - a 32 byte header followed by the rows' words, which can be memory-mapped straight back into rows.  The
+ * 			 header is, as big-endian ints: magic "SRGB", version, number of vertices, words per row, degree, lambda, mu and
+ * 			 a reserved 0; then (number of vertices) rows of (words per row) big-endian longs, bit (j) of a row being column
+ * 			 (j).  The file is overwritten.
+ * </ul>
+ *
+ * @author Tyler Wilcock
+ */
+
+public class MatrixWriter
+{
+	/**
+	 * The formats a maximal row set can be written in.
+	 */
+	public enum OutputFormat
+	{
+		TEXT, GRAPH6, BINARY
+	}
+
+	public static final int BINARY_MAGIC = 0x53524742; //"SRGB"
+	public static final int BINARY_VERSION = 1;
+	public static final int BINARY_HEADER_BYTES = 32;
+
+	private MatrixWriter()
+	{
+	}
+
+	/**
+	 * Returns the name of the file a format is written to for the passed in text report file name: the name itself for
+	 * TEXT, and the name with its extension replaced by .g6 or .bin for the other formats.
+	 *
+	 * @param fileName Name of the text report file
+	 * @param outputFormat Format
+	 * @return String file name
+	 */
+	public static String fileNameFor(String fileName, OutputFormat outputFormat)
+	{
+		if(outputFormat == OutputFormat.TEXT)
+		{
+			return fileName;
+		}
+
+		int extensionStart = fileName.lastIndexOf('.');
+		String baseName = (extensionStart > 0) ? fileName.substring(0, extensionStart) : fileName;
+		return baseName + ((outputFormat == OutputFormat.GRAPH6) ? ".g6" : ".bin");
+	}
+
+	/**
+	 * Encodes an adjacency matrix in graph6.  The upper triangle is read column by column, (0,1), (0,2), (1,2), (0,3) and so
+	 * on, packed six bits to a character.
+	 *
+	 * @param rows Rows of the adjacency matrix
+	 * @return String graph6 encoding, without a trailing newline
+	 */
+	public static String toGraph6(List<BitRow> rows)
+	{
+		int numOfVertices = rows.size();
+		StringBuilder graph6 = new StringBuilder();
+
+		if(numOfVertices < 63)
+		{
+			graph6.append((char) (numOfVertices + 63));
+		}
+		else if(numOfVertices < 258048)
+		{
+			graph6.append((char) 126);
+			graph6.append((char) (((numOfVertices >> 12) & 63) + 63));
+			graph6.append((char) (((numOfVertices >> 6) & 63) + 63));
+			graph6.append((char) ((numOfVertices & 63) + 63));
+		}
+		else
+		{
+			throw new IllegalArgumentException("graph6 is only written for fewer than 258048 vertices");
+		}
+
+		int bits = 0, bitCount = 0;
+		for(int j = 1; j < numOfVertices; j++)
+		{
+			for(int i = 0; i < j; i++)
+			{
+				bits = (bits << 1) | rows.get(i).get(j);
+				if(++bitCount == 6)
+				{
+					graph6.append((char) (bits + 63));
+					bits = 0;
+					bitCount = 0;
+				}
+			}
+		}
+		if(bitCount > 0)
+		{
+			graph6.append((char) ((bits << (6 - bitCount)) + 63));
+		}
+
+		return graph6.toString();
+	}
+
+	/**
+	 * Appends the graph6 line for the passed in rows to a file.
+	 *
+	 * @param rows Rows of the adjacency matrix
+	 * @param fileName File to append to
+	 * @throws IOException If the file cannot be written
+	 */
+	public static void writeGraph6(List<BitRow> rows, String fileName) throws IOException
+	{
+		Writer writer = new FileWriter(fileName, true);
+		try
+		{
+			writer.write(toGraph6(rows));
+			writer.write('\n');
+		}
+		finally
+		{
+			writer.close();
+		}
+	}
+
+	/**
+	 * Writes the passed in rows in the binary format, replacing the file.
+	 *
+	 * @param rows Rows of the adjacency matrix
+	 * @param degree Degree of the SRG
+	 * @param lambdaValue Lambda value of the SRG
+	 * @param muValue Mu value of the SRG
+	 * @param fileName File to write
+	 * @throws IOException If the file cannot be written
+	 */
+	public static void writeBinary(List<BitRow> rows, int degree, int lambdaValue, int muValue, String fileName) throws IOException
+	{
+		int numOfVertices = rows.size();
+		int wordsPerRow = BitRow.wordsFor(numOfVertices);
+
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName)));
+		try
+		{
+			output.writeInt(BINARY_MAGIC);
+			output.writeInt(BINARY_VERSION);
+			output.writeInt(numOfVertices);
+			output.writeInt(wordsPerRow);
+			output.writeInt(degree);
+			output.writeInt(lambdaValue);
+			output.writeInt(muValue);
+			output.writeInt(0);
+			for(int r = 0; r < numOfVertices; r++)
+			{
+				long[] words = rows.get(r).words();
+				for(int w = 0; w < wordsPerRow; w++)
+				{
+					output.writeLong(words[w]);
+				}
+			}
+		}
+		finally
+		{
+			output.close();
+		}
+	}
+
+}//end MatrixWriter class
@@ -0,0 +1,227 @@
+package stronglyRegularGraphs;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The MetricsReporter class writes the progress of running random searches to a log file on its own thread, so the search
+ * loops only update their SearchMetrics and never format or print anything.  Every interval it appends a report with the
+ * candidate, rejection and row rates since the last report, the backtracks, the deepest row set, the share of time in each
+ * phase, and a histogram of rejected and accepted candidates by row.  Solvers added with register are summed, so a
+ * multi-walker search reports as one; SRGsolver.copy registers a walker with its original's reporter.
+ * <p>
+ * A report that fails to write is reported once on the console and the reporter keeps trying at the next interval.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class MetricsReporter implements Runnable
+{
+	private final File file;
+	private final long intervalMillis;
+	private final Thread reporterThread;
+	private final List<SRGsolver> solvers = new CopyOnWriteArrayList<SRGsolver>();
+	private final SimpleDateFormat timeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+	private boolean closed = false;
+	private boolean writeFailed = false;
+
+	private long startTime;
+	private long lastReportTime, lastCandidates, lastRejections, lastRows;
+
+	/**
+	 * Creates a reporter that appends to the passed in file every (intervalMillis) milliseconds, and starts its thread.
+	 *
+	 * @param file Log file
+	 * @param intervalMillis Milliseconds between reports
+	 */
+	public MetricsReporter(File file, long intervalMillis)
+	{
+		this.file = file;
+		this.intervalMillis = intervalMillis;
+		this.startTime = System.nanoTime();
+		this.lastReportTime = startTime;
+		this.reporterThread = new Thread(this, "SRG metrics reporter");
+		this.reporterThread.setDaemon(true);
+		this.reporterThread.start();
+	}//end MetricsReporter constructor
+
+	/**
+	 * Adds a solver whose metrics are included in the reports.
+	 *
+	 * @param srgSolver Solver to report on
+	 */
+	public void register(SRGsolver srgSolver)
+	{
+		solvers.add(srgSolver);
+	}
+
+	/**
+	 * Writes a final report and stops the reporter thread.
+	 */
+	public void close()
+	{
+		synchronized(this)
+		{
+			closed = true;
+			notifyAll();
+		}
+		try
+		{
+			reporterThread.join();
+		}
+		catch(InterruptedException exception)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public File getFile()
+	{
+		return file;
+	}
+
+	public void run()
+	{
+		boolean finalReport = false;
+		while(!finalReport)
+		{
+			synchronized(this)
+			{
+				long waitUntil = System.currentTimeMillis() + intervalMillis;
+				while(!closed && System.currentTimeMillis() < waitUntil)
+				{
+					try
+					{
+						wait(Math.max(1, waitUntil - System.currentTimeMillis()));
+					}
+					catch(InterruptedException exception)
+					{
+						return;
+					}
+				}
+				finalReport = closed;
+			}
+			writeReport(finalReport);
+		}
+	}
+
+	/**
+	 * Appends one report to the log file.
+	 */
+	private void writeReport(boolean finalReport)
+	{
+		if(solvers.isEmpty())
+		{
+			return;
+		}
+
+		long now = System.nanoTime();
+		int maximumDepth = solvers.get(0).getMetrics().getMaximumDepth();
+		long[] rejections = new long[maximumDepth + 1];
+		long[] accepts = new long[maximumDepth + 1];
+		long[] phaseNanos = new long[SearchMetrics.Phase.values().length];
+		long candidates = 0, rows = 0, backtracks = 0, rowsBacktracked = 0;
+		int deepest = 0, activeSolvers = 0;
+		for(SRGsolver srgSolver : solvers)
+		{
+			SearchMetrics metrics = srgSolver.getMetrics();
+			if(srgSolver.getCandidatesGenerated() > 0)
+			{
+				activeSolvers++;
+			}
+			candidates += srgSolver.getCandidatesGenerated();
+			rows += srgSolver.getRowsAccepted();
+			deepest = Math.max(deepest, srgSolver.getMaxDepthReached());
+			backtracks += metrics.getBacktracks();
+			rowsBacktracked += metrics.getRowsBacktracked();
+			for(int d = 0; d <= maximumDepth; d++)
+			{
+				rejections[d] += metrics.getRejections(d);
+				accepts[d] += metrics.getAccepts(d);
+			}
+			for(SearchMetrics.Phase phase : SearchMetrics.Phase.values())
+			{
+				phaseNanos[phase.ordinal()] += metrics.getPhaseNanos(phase);
+			}
+		}
+		long totalRejections = 0;
+		for(int d = 0; d <= maximumDepth; d++)
+		{
+			totalRejections += rejections[d];
+		}
+
+		double seconds = Math.max(1e-9, (now - lastReportTime) / 1000000000.0);
+		StringBuilder report = new StringBuilder();
+		report.append(timeFormat.format(new Date())).append(finalReport ? " final" : "")
+				.append(" | elapsed ").append(SRGsolver.round((now - startTime) / 1000000000.0, 1)).append(" s")
+				.append(" | solvers ").append(activeSolvers)
+				.append(" | candidates ").append(candidates).append(" (").append(Math.round((candidates - lastCandidates) / seconds)).append("/s)")
+				.append(" | rejections ").append(totalRejections).append(" (").append(Math.round((totalRejections - lastRejections) / seconds)).append("/s)")
+				.append(" | rows ").append(rows).append(" (").append(Math.round((rows - lastRows) / seconds)).append("/s)")
+				.append(" | backtracks ").append(backtracks).append(" (").append(rowsBacktracked).append(" rows)")
+				.append(" | deepest ").append(deepest)
+				.append('\n');
+
+		long totalPhaseNanos = 0;
+		for(int p = 0; p < phaseNanos.length; p++)
+		{
+			totalPhaseNanos += phaseNanos[p];
+		}
+		report.append("    phases:");
+		for(SearchMetrics.Phase phase : SearchMetrics.Phase.values())
+		{
+			double share = (totalPhaseNanos == 0) ? 0 : 100.0 * phaseNanos[phase.ordinal()] / totalPhaseNanos;
+			report.append(' ').append(phase.name().toLowerCase()).append(' ').append(SRGsolver.round(share, 1)).append('%');
+		}
+		report.append('\n');
+
+		//Candidates for row (r) are rejected with (r) rows accepted, and accepting one makes the row set (r + 1) rows long.
+		report.append("    row: rejected/accepted candidates:");
+		for(int r = 0; r < maximumDepth; r++)
+		{
+			if(rejections[r] != 0 || accepts[r + 1] != 0)
+			{
+				report.append(' ').append(r).append(':').append(rejections[r]).append('/').append(accepts[r + 1]);
+			}
+		}
+		report.append('\n');
+
+		lastReportTime = now;
+		lastCandidates = candidates;
+		lastRejections = totalRejections;
+		lastRows = rows;
+
+		PrintWriter writer = null;
+		try
+		{
+			writer = new PrintWriter(new FileWriter(file, true));
+			writer.print(report);
+			if(writer.checkError())
+			{
+				throw new IOException("write failed");
+			}
+		}
+		catch(IOException exception)
+		{
+			if(!writeFailed)
+			{
+				System.err.println("An error occurred writing metrics to " + file + ": " + exception.getMessage());
+				writeFailed = true;
+			}
+		}
+		finally
+		{
+			if(writer != null)
+			{
+				writer.close();
+			}
+		}
+	}
+
+}//end MetricsReporter class
@@ -0,0 +1,179 @@
+package stronglyRegularGraphs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The MultiWalkerSearch class runs (K) copies of SRGsolver's random search at once, each on its own thread.  Independent
+ * restarts of the random search never need anything from each other, so the walkers share nothing: every walker has its own
+ * SRGsolver, its own copy of the starting rows, and its own FastRandom stream, jumped 2^128 steps away from the previous
+ * walker's so no two walkers ever draw the same numbers.  By default the streams are derived from the solver's seed, so
+ * walker (i)'s run can be replayed on its own with walkerRandom.
+ * <p>
+ * All walkers share a single stop flag.  The first walker to find a maximal row set sets it and writes its row set to file,
+ * and the others return as soon as they next check the flag.  While the walkers run, the calling thread prints the best
+ * depth reached and the combined candidate and row rates every few seconds.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class MultiWalkerSearch implements SearchEngine
+{
+	private final SRGsolver srgSolver;
+	private int numOfWalkers = Runtime.getRuntime().availableProcessors();
+	private long reportIntervalMillis = 10000;
+	private FastRandom seedRandom;
+
+	/**
+	 * Creates a multi-walker search.  Every walker is a copy of the passed in solver, with the same parameters and settings.
+	 *
+	 * @param srgSolver Solver the walkers are copied from
+	 */
+	public MultiWalkerSearch(SRGsolver srgSolver)
+	{
+		this.srgSolver = srgSolver;
+		this.seedRandom = new FastRandom(srgSolver.getSeed());
+	}//end MultiWalkerSearch constructor
+	
+	/**
+	 * Returns the random number generator walker (walkerIndex) uses when the walkers' streams are derived from the passed in
+	 * seed, which is the default.
+	 *
+	 * @param seed Seed of the solver the walkers were copied from
+	 * @param walkerIndex Index of the walker
+	 * @return FastRandom in the state the walker starts from
+	 */
+	public static FastRandom walkerRandom(long seed, int walkerIndex)
+	{
+		FastRandom walkerRandom = new FastRandom(seed);
+		for(int i = 0; i < walkerIndex; i++)
+		{
+			walkerRandom.jump();
+		}
+		return walkerRandom;
+	}
+
+	/**
+	 * Sets the number of walkers, each of which runs on its own thread.  The default is the number of available processors.
+	 *
+	 * @param numOfWalkers Number of walkers
+	 */
+	public void setNumOfWalkers(int numOfWalkers)
+	{
+		this.numOfWalkers = numOfWalkers;
+	}
+
+	/**
+	 * Sets how often progress is printed while the walkers run.  The default is every 10 seconds.
+	 *
+	 * @param reportIntervalMillis Milliseconds between progress reports
+	 */
+	public void setReportIntervalMillis(long reportIntervalMillis)
+	{
+		this.reportIntervalMillis = reportIntervalMillis;
+	}
+
+	/**
+	 * Sets the generator the walkers' streams are derived from.  Walker (i) uses a copy of it jumped (i) times.  The default
+	 * is a generator seeded with the solver's seed.
+	 *
+	 * @param seedRandom Generator to derive walker streams from
+	 */
+	public void setSeedRandom(FastRandom seedRandom)
+	{
+		this.seedRandom = seedRandom;
+	}
+
+	/**
+	 * Starts the walkers on copies of the passed in rows and waits until one of them finds a maximal row set.
+	 *
+	 * @param currentRowSet The List of BitRows that are currently known to be correct.
+	 * @return List of BitRows; Maximal set of rows found by the first walker to finish
+	 */
+	public List<BitRow> search(List<BitRow> currentRowSet)
+	{
+		final AtomicBoolean stopFlag = new AtomicBoolean(false);
+		final AtomicReference< List<BitRow> > maximalRowSet = new AtomicReference< List<BitRow> >();
+		final SRGsolver[] walkers = new SRGsolver[numOfWalkers];
+		Thread[] walkerThreads = new Thread[numOfWalkers];
+
+		FastRandom walkerRandom = new FastRandom(seedRandom);
+		for(int i = 0; i < numOfWalkers; i++)
+		{
+			walkers[i] = srgSolver.copy(new FastRandom(walkerRandom));
+			walkers[i].setStopFlag(stopFlag);
+			walkers[i].setVerbose(false);
+			walkers[i].setWalkerIndex(i);
+			walkerRandom.jump();
+
+			final SRGsolver walker = walkers[i];
+			final List<BitRow> walkerRowSet = new ArrayList<BitRow>(currentRowSet.size());
+			for(int r = 0; r < currentRowSet.size(); r++)
+			{
+				walkerRowSet.add(new BitRow(currentRowSet.get(r)));
+			}
+
+			walkerThreads[i] = new Thread(new Runnable()
+			{
+				public void run()
+				{
+					List<BitRow> walkerResult = walker.buildBitRowListWhileLoop(walkerRowSet);
+					if(walkerResult != null)
+					{
+						maximalRowSet.set(walkerResult);
+					}
+				}
+			}, "SRG walker " + i);
+			walkerThreads[i].setDaemon(true);
+		}
+
+		long startTime = System.nanoTime();
+		for(int i = 0; i < numOfWalkers; i++)
+		{
+			walkerThreads[i].start();
+		}
+
+		long lastCandidates = 0, lastRows = 0;
+		long lastReportTime = startTime;
+		try
+		{
+			for(int i = 0; i < numOfWalkers; i++)
+			{
+				while(walkerThreads[i].isAlive())
+				{
+					walkerThreads[i].join(reportIntervalMillis);
+
+					long now = System.nanoTime();
+					if(now - lastReportTime >= reportIntervalMillis * 1000000L)
+					{
+						long totalCandidates = 0, totalRows = 0;
+						int bestDepth = 0;
+						for(int w = 0; w < numOfWalkers; w++)
+						{
+							totalCandidates += walkers[w].getCandidatesGenerated();
+							totalRows += walkers[w].getRowsAccepted();
+							bestDepth = Math.max(bestDepth, walkers[w].getMaxDepthReached());
+						}
+						double seconds = (now - lastReportTime) / 1000000000.0;
+						System.out.println(numOfWalkers + " walkers - best depth: " + bestDepth
+								+ ", candidates/sec: " + Math.round((totalCandidates - lastCandidates) / seconds)
+								+ ", rows/sec: " + Math.round((totalRows - lastRows) / seconds));
+						lastCandidates = totalCandidates;
+						lastRows = totalRows;
+						lastReportTime = now;
+					}
+				}
+			}
+		}
+		catch(InterruptedException exception)
+		{
+			stopFlag.set(true);
+			Thread.currentThread().interrupt();
+		}
+
+		return maximalRowSet.get();
+	}
+
+}//end MultiWalkerSearch class
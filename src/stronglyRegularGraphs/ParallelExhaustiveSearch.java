@@ -0,0 +1,301 @@
+package stronglyRegularGraphs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The ParallelExhaustiveSearch class runs the depth-first search of ExhaustiveSearch on every core.  The search tree is split
+ * at a configurable depth: every valid choice for the next (splitDepth) rows becomes its own RecursiveTask with its own copy
+ * of the row set, and the ForkJoinPool's work-stealing keeps the cores busy even though subtrees differ wildly in size.
+ * <p>
+ * The tasks share nothing but a stop flag, the queue of solutions and the solver's isomorph cache, if it has one.  Once
+ * the requested number of maximal row sets has been found, the flag is set and every task stops at the next row it visits.
+ * With an isomorph cache, a maximal row set isomorphic to one already found is dropped, as in ExhaustiveSearch.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class ParallelExhaustiveSearch implements SearchEngine
+{
+	private final SRGsolver srgSolver;
+	private final ExhaustiveSearch rowEnumerator;
+	private final int numOfVertices;
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	private int splitDepth = 2;
+	private long maxSolutions = 1;
+
+	private final AtomicBoolean stopFlag = new AtomicBoolean(false);
+	private final AtomicLong solutionCount = new AtomicLong(0);
+	private final AtomicLong rowsVisited = new AtomicLong(0);
+	private final AtomicLong isomorphsRejected = new AtomicLong(0);
+	private final ConcurrentLinkedQueue< List<BitRow> > solutions = new ConcurrentLinkedQueue< List<BitRow> >();
+	private boolean spaceExhausted = false;
+
+	/**
+	 * Creates a parallel exhaustive search for the graph parameters of the passed in solver.
+	 *
+	 * @param srgSolver Solver holding the graph parameters and file name
+	 */
+	public ParallelExhaustiveSearch(SRGsolver srgSolver)
+	{
+		this.srgSolver = srgSolver;
+		this.rowEnumerator = new ExhaustiveSearch(srgSolver);
+		this.numOfVertices = srgSolver.getNumOfVertices();
+	}//end ParallelExhaustiveSearch constructor
+
+	/**
+	 * Sets the number of worker threads.  The default is the number of available processors.
+	 *
+	 * @param parallelism Number of threads
+	 */
+	public void setParallelism(int parallelism)
+	{
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Sets how many rows past the starting rows are expanded before each subtree is searched sequentially.  Deeper splits make
+	 * more, smaller tasks.  The default is 2.
+	 *
+	 * @param splitDepth Number of rows to split on
+	 */
+	public void setSplitDepth(int splitDepth)
+	{
+		this.splitDepth = splitDepth;
+	}
+
+	/**
+	 * Sets how many maximal row sets the search looks for before it stops.  1 (the default) stops at the first one, and 0
+	 * searches the whole space.
+	 *
+	 * @param maxSolutions Number of maximal row sets to find, or 0 for all of them
+	 */
+	public void setMaxSolutions(long maxSolutions)
+	{
+		this.maxSolutions = maxSolutions;
+	}
+
+	/**
+	 * Returns every maximal row set found by the last search.  When the search stopped early, a few more than the requested
+	 * number may have been found by tasks that finished at the same time.
+	 *
+	 * @return List of maximal row sets
+	 */
+	public List< List<BitRow> > getSolutions()
+	{
+		return new ArrayList< List<BitRow> >(solutions);
+	}
+
+	/**
+	 * Returns the number of maximal row sets the last search dropped as isomorphic to one already in the solver's isomorph
+	 * cache.
+	 *
+	 * @return Long number of maximal row sets
+	 */
+	public long getIsomorphsRejected()
+	{
+		return isomorphsRejected.get();
+	}
+
+	/**
+	 * Returns true if the last search visited the whole space.
+	 *
+	 * @return true if the space was exhausted
+	 */
+	public boolean isSpaceExhausted()
+	{
+		return spaceExhausted;
+	}
+
+	/**
+	 * Returns the number of valid rows the last search added to a row set, summed over all tasks.
+	 *
+	 * @return Long number of rows
+	 */
+	public long getRowsVisited()
+	{
+		return rowsVisited.get();
+	}
+
+	/**
+	 * Searches for maximal row sets that extend the passed in rows using all worker threads.  The first maximal row set found
+	 * is written to file.
+	 *
+	 * @param currentRowSet The List of BitRows that are currently known to be correct.
+	 * @return List of BitRows; first maximal set of rows found, or null if there is none
+	 */
+	public List<BitRow> search(List<BitRow> currentRowSet)
+	{
+		long startTime = System.nanoTime();
+		stopFlag.set(false);
+		solutionCount.set(0);
+		rowsVisited.set(0);
+		isomorphsRejected.set(0);
+		solutions.clear();
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try
+		{
+			boolean subtreesFinished = pool.invoke(new SubtreeTask(new ArrayList<BitRow>(currentRowSet), splitDepth));
+			spaceExhausted = subtreesFinished && !stopFlag.get();
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+
+		System.out.println("Parallel exhaustive search found " + solutions.size() + " maximal row set(s) after " + rowsVisited.get()
+				+ " rows on " + parallelism + " threads.");
+		if(srgSolver.getIsomorphCache() != null)
+		{
+			System.out.println(isomorphsRejected.get() + " maximal row set(s) isomorphic to one already found were dropped.");
+		}
+		if(spaceExhausted)
+		{
+			System.out.println("The search space was exhausted.");
+		}
+		if(solutions.isEmpty())
+		{
+			return null;
+		}
+
+		List<BitRow> firstSolution = solutions.peek();
+		srgSolver.reportMaximalRowSet(firstSolution, srgSolver.bitDotProduct(firstSolution), System.nanoTime() - startTime);
+		if(srgSolver.getIsomorphCache() != null)
+		{
+			for(List<BitRow> solution : solutions)
+			{
+				if(solution != firstSolution)
+				{
+					srgSolver.appendMaximalRowSet(solution);
+				}
+			}
+		}
+		return firstSolution;
+	}
+
+	/**
+	 * Records a maximal row set unless it is isomorphic to one already found, and sets the stop flag once enough have been
+	 * found.
+	 *
+	 * @return true if the search should keep going
+	 */
+	private boolean recordSolution(List<BitRow> currentRowSet)
+	{
+		List<BitRow> solution = new ArrayList<BitRow>(numOfVertices);
+		for(int i = 0; i < numOfVertices; i++)
+		{
+			solution.add(new BitRow(currentRowSet.get(i)));
+		}
+		IsomorphCache isomorphCache = srgSolver.getIsomorphCache();
+		if(isomorphCache != null && !isomorphCache.add(solution))
+		{
+			isomorphsRejected.incrementAndGet();
+			return true;
+		}
+		solutions.add(solution);
+
+		if(maxSolutions != 0 && solutionCount.incrementAndGet() >= maxSolutions)
+		{
+			stopFlag.set(true);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Searches the subtree below one row set.  Until (remainingSplits) reaches 0 the task expands one more row and forks a
+	 * task for every valid choice; after that it runs the depth-first search itself.  The result is true if the subtree
+	 * was searched completely.
+	 */
+	private class SubtreeTask extends RecursiveTask<Boolean>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final List<BitRow> taskRowSet;
+		private final int remainingSplits;
+		private long taskRowsVisited = 0;
+
+		SubtreeTask(List<BitRow> taskRowSet, int remainingSplits)
+		{
+			this.taskRowSet = taskRowSet;
+			this.remainingSplits = remainingSplits;
+		}
+
+		@Override
+		protected Boolean compute()
+		{
+			if(stopFlag.get())
+			{
+				return false;
+			}
+			if(taskRowSet.size() == numOfVertices)
+			{
+				return recordSolution(taskRowSet);
+			}
+			if(remainingSplits == 0)
+			{
+				boolean finished = searchFrom(taskRowSet);
+				rowsVisited.addAndGet(taskRowsVisited);
+				return finished;
+			}
+
+			//Expand one row and hand each choice to its own task.
+			final List<SubtreeTask> subtasks = new ArrayList<SubtreeTask>();
+			rowEnumerator.forEachValidRow(taskRowSet, new ExhaustiveSearch.RowVisitor()
+			{
+				public boolean visit(BitRow candidateRow)
+				{
+					List<BitRow> childRowSet = new ArrayList<BitRow>(numOfVertices);
+					childRowSet.addAll(taskRowSet);
+					childRowSet.add(new BitRow(candidateRow));
+					subtasks.add(new SubtreeTask(childRowSet, remainingSplits - 1));
+					return true;
+				}
+			});
+			rowsVisited.addAndGet(subtasks.size());
+
+			invokeAll(subtasks);
+
+			boolean finished = true;
+			for(int i = 0; i < subtasks.size(); i++)
+			{
+				finished &= subtasks.get(i).join();
+			}
+			return finished;
+		}
+
+		/**
+		 * Sequential depth-first search, stopping as soon as the stop flag is set.
+		 */
+		private boolean searchFrom(final List<BitRow> currentRowSet)
+		{
+			if(currentRowSet.size() == numOfVertices)
+			{
+				return recordSolution(currentRowSet);
+			}
+
+			return rowEnumerator.forEachValidRow(currentRowSet, new ExhaustiveSearch.RowVisitor()
+			{
+				public boolean visit(BitRow candidateRow)
+				{
+					if(stopFlag.get())
+					{
+						return false;
+					}
+					taskRowsVisited++;
+					currentRowSet.add(new BitRow(candidateRow));
+					boolean keepGoing = searchFrom(currentRowSet);
+					currentRowSet.remove(currentRowSet.size() - 1);
+					return keepGoing;
+				}
+			});
+		}
+	}
+
+}//end ParallelExhaustiveSearch class
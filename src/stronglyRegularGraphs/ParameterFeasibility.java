@@ -0,0 +1,326 @@
+package stronglyRegularGraphs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ParameterFeasibility class checks the standard necessary conditions for a strongly regular graph with parameters
+ * (v, k, lambda, mu) to exist, so a search is never started on parameters no graph can have:
+ * <ul>
+ * 		<li> range - 0 &lt; k &lt; v - 1, 0 &lt;= lambda &lt; k and 0 &lt;= mu &lt;= k
+ * 		<li> the standard relation k(k - lambda - 1) = (v - k - 1)mu
+ * 		<li> integrality - the eigenvalues r &gt; s other than k have non-negative integer multiplicities
+ * 			 f, g = ((v - 1) -/+ (2k + (v - 1)(lambda - mu)) / (r - s)) / 2; when r - s is irrational the graph must be a
+ * 			 conference graph, with f = g
+ * 		<li> the Krein conditions (r + 1)(k + r + 2rs) &lt;= (k + r)(s + 1)^2 and (s + 1)(k + s + 2rs) &lt;= (k + s)(r + 1)^2
+ * 		<li> the absolute bound v &lt;= f(f + 3) / 2 and v &lt;= g(g + 3) / 2
+ * </ul>
+ * The Krein conditions and the absolute bound only apply to primitive graphs, so they are skipped when mu = 0 (disjoint
+ * cliques) or mu = k (complete multipartite graphs).  Passing every check does not prove a graph exists.
+ * <p>
+ * Run as a program, it sweeps every parameter set with v up to a limit (200 by default) and prints the primitive ones that
+ * pass:
+ * <pre>
+ *     ParameterFeasibility [maximum v]
+ * </pre>
+ *
+ * @author Tyler Wilcock
+ */
+
+public class ParameterFeasibility
+{
+	/*
+	 * Parameter sets with a known verdict, checked before every sweep: {v, k, lambda, mu, 1 if feasible}.  (154,51,8,21) and
+	 * (184,48,2,16) pass everything but the second Krein condition, and (28,9,0,4) also fails the absolute bound.
+	 */
+	private static final int[][] REGRESSION_CASES = {
+		{154, 51, 8, 21, 0},
+		{184, 48, 2, 16, 0},
+		{28, 9, 0, 4, 0},
+		{16, 6, 2, 2, 1},
+		{29, 14, 6, 7, 1},
+		{50, 7, 0, 1, 1},
+		{162, 21, 0, 3, 1},
+	};
+
+	private final int v, k, lambdaValue, muValue;
+	private final List<String> failures = new ArrayList<String>();
+	private boolean primitive;
+	private double r, s, f, g;
+
+	/**
+	 * Checks the passed in parameters.  The results are read back with isFeasible and getFailures.
+	 *
+	 * @param v Number of vertices
+	 * @param k Degree
+	 * @param lambdaValue Lambda value
+	 * @param muValue Mu value
+	 */
+	public ParameterFeasibility(int v, int k, int lambdaValue, int muValue)
+	{
+		this.v = v;
+		this.k = k;
+		this.lambdaValue = lambdaValue;
+		this.muValue = muValue;
+		check();
+	}//end ParameterFeasibility constructor
+
+	/**
+	 * Checks the parameters of the passed in solver.
+	 *
+	 * @param srgSolver Solver holding the graph parameters
+	 * @return ParameterFeasibility holding the results
+	 */
+	public static ParameterFeasibility of(SRGsolver srgSolver)
+	{
+		return new ParameterFeasibility(srgSolver.getNumOfVertices(), srgSolver.getDegree(), srgSolver.getLambdaValue(),
+				srgSolver.getMuValue());
+	}
+
+	private void check()
+	{
+		if(k <= 0 || k >= v - 1 || lambdaValue < 0 || lambdaValue >= k || muValue < 0 || muValue > k)
+		{
+			failures.add("range: need 0 < k < v - 1, 0 <= lambda < k and 0 <= mu <= k");
+			return;
+		}
+
+		long leftSide = (long) k * (k - lambdaValue - 1);
+		long rightSide = (long) (v - k - 1) * muValue;
+		if(leftSide != rightSide)
+		{
+			failures.add("standard relation: k(k - lambda - 1) = " + leftSide + " but (v - k - 1)mu = " + rightSide);
+			return;
+		}
+
+		primitive = muValue != 0 && muValue != k;
+
+		long difference = lambdaValue - muValue;
+		long discriminant = difference * difference + 4L * (k - muValue);
+		long root = integerSquareRoot(discriminant);
+		long numerator = 2L * k + (long) (v - 1) * difference;
+
+		if(root * root == discriminant)
+		{
+			//r - s = root is an integer, so r and s are integers and f, g must be too.
+			long rInteger = (difference + root) / 2;
+			long sInteger = (difference - root) / 2;
+			r = rInteger;
+			s = sInteger;
+			if(numerator % root != 0 || ((v - 1) - numerator / root) % 2 != 0)
+			{
+				failures.add("integrality: multiplicities ((v - 1) -/+ " + numerator + "/" + root + ")/2 are not integers");
+				f = g = Double.NaN;
+				return;
+			}
+			long fInteger = ((v - 1) - numerator / root) / 2;
+			long gInteger = ((v - 1) + numerator / root) / 2;
+			f = fInteger;
+			g = gInteger;
+			if(fInteger < 0 || gInteger < 0)
+			{
+				failures.add("integrality: multiplicities f = " + fInteger + ", g = " + gInteger + " are negative");
+				return;
+			}
+
+			if(primitive)
+			{
+				long kreinFirst = (rInteger + 1) * (k + rInteger + 2 * rInteger * sInteger);
+				long kreinFirstBound = (k + rInteger) * (sInteger + 1) * (sInteger + 1);
+				if(kreinFirst > kreinFirstBound)
+				{
+					failures.add("Krein: (r + 1)(k + r + 2rs) = " + kreinFirst + " > (k + r)(s + 1)^2 = " + kreinFirstBound);
+				}
+				long kreinSecond = (sInteger + 1) * (k + sInteger + 2 * rInteger * sInteger);
+				long kreinSecondBound = (k + sInteger) * (rInteger + 1) * (rInteger + 1);
+				if(kreinSecond > kreinSecondBound)
+				{
+					failures.add("Krein: (s + 1)(k + s + 2rs) = " + kreinSecond + " > (k + s)(r + 1)^2 = " + kreinSecondBound);
+				}
+				if(v > fInteger * (fInteger + 3) / 2)
+				{
+					failures.add("absolute bound: v > f(f + 3)/2 = " + fInteger * (fInteger + 3) / 2);
+				}
+				if(v > gInteger * (gInteger + 3) / 2)
+				{
+					failures.add("absolute bound: v > g(g + 3)/2 = " + gInteger * (gInteger + 3) / 2);
+				}
+			}
+		}
+		else
+		{
+			//Irrational eigenvalues only occur for conference graphs: numerator = 0, so f = g = (v - 1)/2.
+			double rootValue = Math.sqrt(discriminant);
+			r = (difference + rootValue) / 2;
+			s = (difference - rootValue) / 2;
+			if(numerator != 0 || (v - 1) % 2 != 0)
+			{
+				failures.add("integrality: eigenvalues are irrational but the parameters are not those of a conference graph");
+				f = g = Double.NaN;
+				return;
+			}
+			f = g = (v - 1) / 2;
+
+			if(primitive)
+			{
+				double tolerance = 1e-9 * v * v;
+				if((r + 1) * (k + r + 2 * r * s) > (k + r) * (s + 1) * (s + 1) + tolerance
+						|| (s + 1) * (k + s + 2 * r * s) > (k + s) * (r + 1) * (r + 1) + tolerance)
+				{
+					failures.add("Krein: a Krein condition fails");
+				}
+				if(v > f * (f + 3) / 2)
+				{
+					failures.add("absolute bound: v > f(f + 3)/2 = " + f * (f + 3) / 2);
+				}
+			}
+		}
+	}
+
+	private static long integerSquareRoot(long value)
+	{
+		long root = (long) Math.sqrt((double) value);
+		while(root * root > value)
+		{
+			root--;
+		}
+		while((root + 1) * (root + 1) <= value)
+		{
+			root++;
+		}
+		return root;
+	}
+
+	/**
+	 * Returns true if every condition holds.
+	 *
+	 * @return true if the parameters are feasible
+	 */
+	public boolean isFeasible()
+	{
+		return failures.isEmpty();
+	}
+
+	/**
+	 * Returns true if the parameters are those of a primitive graph, 0 &lt; mu &lt; k.  Only meaningful once the range and
+	 * standard relation checks have passed.
+	 *
+	 * @return true if primitive
+	 */
+	public boolean isPrimitive()
+	{
+		return primitive;
+	}
+
+	/**
+	 * Returns a description of every condition that failed.
+	 *
+	 * @return List of failures; empty if the parameters are feasible
+	 */
+	public List<String> getFailures()
+	{
+		return failures;
+	}
+
+	/**
+	 * Returns the eigenvalues and multiplicities as {r, s, f, g}.  They are NaN or 0 when an earlier check failed.
+	 *
+	 * @return double[] of {r, s, f, g}
+	 */
+	public double[] getSpectrum()
+	{
+		return new double[] { r, s, f, g };
+	}
+
+	@Override
+	public String toString()
+	{
+		String parameters = "(" + v + "," + k + "," + lambdaValue + "," + muValue + ")";
+		if(isFeasible())
+		{
+			return parameters + " feasible" + (primitive ? "" : " (imprimitive)") + ": r = " + formatEigenvalue(r) + "^"
+					+ (long) f + ", s = " + formatEigenvalue(s) + "^" + (long) g;
+		}
+		return parameters + " infeasible: " + failures;
+	}
+
+	private static String formatEigenvalue(double eigenvalue)
+	{
+		return (eigenvalue == Math.rint(eigenvalue)) ? Long.toString((long) eigenvalue) : Double.toString(SRGsolver.round(eigenvalue, 4));
+	}
+
+	/**
+	 * Returns true if every parameter set in REGRESSION_CASES gets its known verdict, printing the ones that do not.
+	 *
+	 * @return true if all regression cases pass
+	 */
+	public static boolean checkRegressionCases()
+	{
+		boolean passed = true;
+		for(int c = 0; c < REGRESSION_CASES.length; c++)
+		{
+			int[] regressionCase = REGRESSION_CASES[c];
+			ParameterFeasibility feasibility = new ParameterFeasibility(regressionCase[0], regressionCase[1], regressionCase[2],
+					regressionCase[3]);
+			if(feasibility.isFeasible() != (regressionCase[4] == 1))
+			{
+				System.out.println("Regression case failed, expected " + ((regressionCase[4] == 1) ? "feasible" : "infeasible")
+						+ ": " + feasibility);
+				passed = false;
+			}
+		}
+		return passed;
+	}
+
+	/**
+	 * Checks the regression cases, then sweeps every (v, k, lambda, mu) with v up to the passed in maximum and lambda fixed by
+	 * the standard relation, and prints the primitive parameter sets that pass every check.
+	 *
+	 * @param args Optional maximum v (default 200)
+	 */
+	public static void main(String args[])
+	{
+		if(!checkRegressionCases())
+		{
+			System.exit(1);
+		}
+		int maximumV = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+		long checked = 0, feasible = 0;
+		long startTime = System.nanoTime();
+
+		for(int v = 5; v <= maximumV; v++)
+		{
+			//Only k <= (v - 1)/2 is listed; the complement of a (v, k, lambda, mu) graph covers the rest.
+			for(int k = 1; 2 * k <= v - 1; k++)
+			{
+				for(int muValue = 1; muValue < k; muValue++)
+				{
+					//k(k - lambda - 1) = (v - k - 1)mu fixes lambda.
+					long product = (long) (v - k - 1) * muValue;
+					if(product % k != 0)
+					{
+						continue;
+					}
+					long lambdaValue = k - 1 - product / k;
+					if(lambdaValue < 0)
+					{
+						continue;
+					}
+
+					checked++;
+					ParameterFeasibility feasibility = new ParameterFeasibility(v, k, (int) lambdaValue, muValue);
+					if(feasibility.isFeasible())
+					{
+						feasible++;
+						System.out.println(feasibility);
+					}
+				}
+			}
+		}
+
+		double elapsedMicros = (System.nanoTime() - startTime) / 1000.0;
+		System.out.println(feasible + " of " + checked + " primitive parameter sets with v <= " + maximumV + " and k <= (v - 1)/2"
+				+ " pass; " + SRGsolver.round(elapsedMicros / Math.max(checked, 1), 3) + " microseconds per check, including output.");
+	}
+
+}//end ParameterFeasibility class
@@ -0,0 +1,73 @@
+package stronglyRegularGraphs;
+
+/**
+ * The PercentageBacktrackPolicy class backtracks partially once the search has got far enough.  After a fixed number of
+ * failed candidates in a row, a row set that holds at least (percentThreshold)% of the graph's rows keeps
+ * (percentToKeep)% of them, on the grounds that the early rows were probably fine and a later row led the search astray;
+ * a shorter row set is dropped completely.  The number of rows is worked out by SRGsolver.calculateNumberOfRowsToKeep.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class PercentageBacktrackPolicy implements BacktrackPolicy
+{
+	public static final double DEFAULT_PERCENT_TO_KEEP = 50.0;
+	public static final double DEFAULT_PERCENT_THRESHOLD = 50.0;
+
+	private final SRGsolver srgSolver;
+	private final int failures;
+	private final double percentToKeep, percentThreshold;
+
+	/**
+	 * Creates a policy for the passed in solver's graph.
+	 *
+	 * @param srgSolver Solver whose number of vertices the percentages are taken of
+	 * @param failures Failed candidates in a row before a backtrack
+	 * @param percentToKeep Percentage of the rows to keep, below 100
+	 * @param percentThreshold Percentage of the graph's rows the row set must hold for any to be kept
+	 */
+	public PercentageBacktrackPolicy(SRGsolver srgSolver, int failures, double percentToKeep, double percentThreshold)
+	{
+		if(failures < 1)
+		{
+			throw new IllegalArgumentException("The failure budget must be positive: " + failures);
+		}
+		if(percentToKeep < 0 || percentToKeep >= 100)
+		{
+			throw new IllegalArgumentException("The percentage to keep must be at least 0 and below 100: " + percentToKeep);
+		}
+		this.srgSolver = srgSolver;
+		this.failures = failures;
+		this.percentToKeep = percentToKeep;
+		this.percentThreshold = percentThreshold;
+	}//end PercentageBacktrackPolicy constructor
+
+	public int failureBudget(int depth)
+	{
+		return failures;
+	}
+
+	public int rowsToKeep(int depth)
+	{
+		return srgSolver.calculateNumberOfRowsToKeep(depth, percentToKeep, percentThreshold);
+	}
+
+	public void rejected(int depth, int rejectingRow)
+	{
+	}
+
+	public void truncated(int depth)
+	{
+	}
+
+	public BacktrackPolicy copy()
+	{
+		return this;
+	}
+
+	public String toString()
+	{
+		return "percentage(" + failures + ", " + percentToKeep + "%, " + percentThreshold + "%)";
+	}
+
+}//end PercentageBacktrackPolicy class
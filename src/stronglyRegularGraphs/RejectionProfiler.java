@@ -0,0 +1,194 @@
+package stronglyRegularGraphs;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The RejectionProfiler class records why the random search rejects its candidates.  For every rejected candidate it counts,
+ * at the depth the candidate was generated for, the accepted row it first failed against, whether that pair needed lambda
+ * (the candidate has a '1' in the row's column) or mu (a '0'), and the overlap (dot product) the pair actually had.  That
+ * shows whether candidates die mostly against row 0 or against the latest rows, on lambda or on mu, and by how much they
+ * miss, which is what generation and backtracking need to be tuned against.  Candidates the constrained generator could not
+ * build at all are counted separately.
+ * <p>
+ * The counts are kept in a long[] per depth, allocated the first time the search reaches that depth, so recording a
+ * rejection is one array increment.  A profiler has a single writer; each walker of a multi-walker search records into its
+ * own profiler made by fork, and writeCsv adds up the profiler and everything forked from it.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class RejectionProfiler
+{
+	private static final int LAMBDA = 0, MU = 1;
+
+	private final int numOfVertices, degree, lambdaValue, muValue;
+	private final long[][] countsByDepth;
+	private final long[] generationFailures;
+	private final List<RejectionProfiler> forks = new CopyOnWriteArrayList<RejectionProfiler>();
+
+	/**
+	 * Creates an empty profiler for the passed in parameters.
+	 *
+	 * @param numOfVertices Number of vertices
+	 * @param degree Degree
+	 * @param lambdaValue Lambda value
+	 * @param muValue Mu value
+	 */
+	public RejectionProfiler(int numOfVertices, int degree, int lambdaValue, int muValue)
+	{
+		this.numOfVertices = numOfVertices;
+		this.degree = degree;
+		this.lambdaValue = lambdaValue;
+		this.muValue = muValue;
+		this.countsByDepth = new long[numOfVertices + 1][];
+		this.generationFailures = new long[numOfVertices + 1];
+	}//end RejectionProfiler constructor
+
+	/**
+	 * Creates an empty profiler for the passed in solver's parameters.
+	 *
+	 * @param srgSolver Solver holding the graph parameters
+	 * @return New RejectionProfiler
+	 */
+	public static RejectionProfiler of(SRGsolver srgSolver)
+	{
+		return new RejectionProfiler(srgSolver.getNumOfVertices(), srgSolver.getDegree(), srgSolver.getLambdaValue(),
+				srgSolver.getMuValue());
+	}
+
+	/**
+	 * Creates an empty profiler for another solver whose counts are included in this profiler's writeCsv.
+	 *
+	 * @return New RejectionProfiler
+	 */
+	public RejectionProfiler fork()
+	{
+		RejectionProfiler forkedProfiler = new RejectionProfiler(numOfVertices, degree, lambdaValue, muValue);
+		forks.add(forkedProfiler);
+		return forkedProfiler;
+	}
+
+	/**
+	 * Counts a candidate that was rejected.
+	 *
+	 * @param depth Number of accepted rows when the candidate was generated
+	 * @param rejectingRow Index of the accepted row the candidate failed against
+	 * @param lambdaPair true if the pair needed lambda, false if it needed mu
+	 * @param overlap Dot product the pair had
+	 */
+	public void record(int depth, int rejectingRow, boolean lambdaPair, int overlap)
+	{
+		long[] counts = countsByDepth[depth];
+		if(counts == null)
+		{
+			counts = new long[depth * 2 * (degree + 1)];
+			countsByDepth[depth] = counts;
+		}
+		counts[index(rejectingRow, lambdaPair ? LAMBDA : MU, Math.min(overlap, degree))]++;
+	}
+
+	/**
+	 * Counts a candidate the generator could not build without breaking a budget.
+	 *
+	 * @param depth Number of accepted rows
+	 */
+	public void recordGenerationFailure(int depth)
+	{
+		generationFailures[depth]++;
+	}
+
+	private int index(int rejectingRow, int check, int overlap)
+	{
+		return (rejectingRow * 2 + check) * (degree + 1) + overlap;
+	}
+
+	/**
+	 * Writes the counts of this profiler and its forks as CSV, replacing the file.  Each line is one
+	 * (depth, rejecting row, lambda or mu, overlap) combination with a non-zero count; generation failures have an empty row
+	 * and overlap and the check "generation".  It can be called while the search runs, in which case the counts are a
+	 * moment behind.
+	 *
+	 * @param file CSV file to write
+	 * @throws IOException If the file cannot be written
+	 */
+	public void writeCsv(File file) throws IOException
+	{
+		PrintWriter writer = new PrintWriter(new FileWriter(file));
+		try
+		{
+			writer.println("depth,rejecting_row,check,expected,overlap,count");
+			for(int depth = 0; depth <= numOfVertices; depth++)
+			{
+				long failures = generationFailures[depth];
+				for(RejectionProfiler forkedProfiler : forks)
+				{
+					failures += forkedProfiler.generationFailures[depth];
+				}
+				if(failures != 0)
+				{
+					writer.println(depth + ",,generation,,," + failures);
+				}
+
+				long[] counts = sumCounts(depth);
+				if(counts == null)
+				{
+					continue;
+				}
+				for(int row = 0; row < depth; row++)
+				{
+					for(int check = LAMBDA; check <= MU; check++)
+					{
+						for(int overlap = 0; overlap <= degree; overlap++)
+						{
+							long count = counts[index(row, check, overlap)];
+							if(count != 0)
+							{
+								writer.println(depth + "," + row + "," + ((check == LAMBDA) ? "lambda," + lambdaValue : "mu," + muValue)
+										+ "," + overlap + "," + count);
+							}
+						}
+					}
+				}
+			}
+			if(writer.checkError())
+			{
+				throw new IOException("Error writing " + file);
+			}
+		}
+		finally
+		{
+			writer.close();
+		}
+	}
+
+	/**
+	 * Returns the counts at a depth summed over this profiler and its forks, or null if none of them reached the depth.
+	 */
+	private long[] sumCounts(int depth)
+	{
+		long[] sum = null;
+		for(int p = -1; p < forks.size(); p++)
+		{
+			long[] counts = (p == -1) ? countsByDepth[depth] : forks.get(p).countsByDepth[depth];
+			if(counts == null)
+			{
+				continue;
+			}
+			if(sum == null)
+			{
+				sum = new long[counts.length];
+			}
+			for(int i = 0; i < counts.length; i++)
+			{
+				sum[i] += counts[i];
+			}
+		}
+		return sum;
+	}
+
+}//end RejectionProfiler class
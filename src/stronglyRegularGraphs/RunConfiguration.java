@@ -0,0 +1,502 @@
+package stronglyRegularGraphs;
+
+import java.util.EnumSet;
+
+/**
+ * The RunConfiguration class holds the options Main was started with and builds the SearchEngine they ask for.
+ * <p>
+ * Options:
+ * <ul>
+ * 		<li> --mode random|exhaustive|parallel|walkers - Search engine to run (default random)
+ * 		<li> --solutions N - Number of maximal row sets the exhaustive searches look for, 0 for all of them (default 1)
+ * 		<li> --threads N - Worker threads for the parallel search (default: number of processors)
+ * 		<li> --split-depth N - Rows the parallel search expands before searching each subtree sequentially (default 2)
+ * 		<li> --walkers N - Number of independent random walkers (default: number of processors)
+ * 		<li> --seed N - Seed for the random number generator, so a run can be repeated exactly (default: from the clock)
+ * 		<li> --replay N - Replay the seeded random search for N candidates and print the row set reached
+ * 		<li> --replay-walker N - With --replay in walkers mode, the walker whose run is replayed
+ * 		<li> --checkpoint FILE - Periodically save the random search's state to FILE.  The backtrack policy's state (the
+ * 			 Luby schedule's position, backjump charges) is not saved; a resumed search starts the policy afresh
+ * 		<li> --checkpoint-interval N - Seconds between checkpoints (default 300)
+ * 		<li> --start-from FILE - Start the search from rows of a known matrix (text report, graph6 or binary) instead of a
+ * 			 random first row
+ * 		<li> --start-rows N - Number of rows of the --start-from matrix to start from (default 1)
+ * 		<li> --output text,graph6,binary - Comma separated formats a maximal row set is written in (default text)
+ * 		<li> --resume FILE - Continue the random search saved in FILE; checkpoints go back to FILE unless --checkpoint is given.  A
+ * 			 resumed search is not bit-identical to an uninterrupted one, since the backtrack policy's state is not saved
+ * 		<li> --interlacing adaptive|N - Prune row sets whose induced submatrix does not interlace the graph's eigenvalues,
+ * 			 checking every N accepted rows or at an interval adapted to the checks' cost and gain (default off)
+ * 		<li> --symmetry-breaking on|off - Start from canonical rows 0 and 1 and only build canonically ordered rows for the
+ * 			 neighbours of vertex 0; see SymmetryBreaking (default off)
+ * 		<li> --triangle-free on|off - For lambda = 0, start from rows 0 to k built from a 2-design, and only search the rest;
+ * 			 see TriangleFreeInitializer.  Random and walkers modes only, since one random design does not cover the others
+ * 			 (default off)
+ * 		<li> --metrics-log FILE - Append the random search's progress (rates, backtracks, rejections by row, phase times) to
+ * 			 FILE; see MetricsReporter (default off)
+ * 		<li> --metrics-interval N - Seconds between --metrics-log reports (default 10)
+ * 		<li> --backtrack full|percentage|depth|luby|backjump - When the random search gives up on its row set and how far back
+ * 			 it goes; see FullRestartPolicy, PercentageBacktrackPolicy, DepthProportionalPolicy, LubyRestartPolicy and
+ * 			 BackjumpingPolicy (default full)
+ * 		<li> --backtrack-failures N - Failure budget of the --backtrack policy: failed candidates before a backtrack for full and
+ * 			 percentage, per accepted row for depth and backjump, and the schedule's unit for luby (default: the policy's own)
+ * 		<li> --backtrack-keep P - Percentage of the rows the percentage policy keeps (default 50)
+ * 		<li> --backtrack-threshold P - Percentage of the graph's rows a row set needs before the percentage policy keeps any
+ * 			 (default 50)
+ * 		<li> --rejection-profile FILE - Count rejected candidates by depth, rejecting row, lambda or mu and overlap, and write
+ * 			 the counts to FILE as CSV when the run ends or is stopped; see RejectionProfiler (default off)
+ * 		<li> --isomorph-rejection on|off - Only write maximal row sets that are not isomorphic to one already found or already
+ * 			 in the graph6 output file; see IsomorphCache (default off)
+ * </ul>
+ *
+ * @author Tyler Wilcock
+ */
+
+public class RunConfiguration
+{
+	/**
+	 * The search engines Main can run.
+	 */
+	public enum SearchMode
+	{
+		RANDOM, EXHAUSTIVE, PARALLEL, WALKERS
+	}
+
+	/**
+	 * The backtrack policies the random search can use.
+	 */
+	public enum BacktrackMode
+	{
+		FULL, PERCENTAGE, DEPTH, LUBY, BACKJUMP
+	}
+
+	private SearchMode searchMode = SearchMode.RANDOM;
+	private long maxSolutions = 1;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private int splitDepth = 2;
+	private int walkers = Runtime.getRuntime().availableProcessors();
+	private long seed = System.nanoTime();
+	private long replayIterations = 0;
+	private int replayWalker = -1;
+	private String checkpointFile = null;
+	private long checkpointIntervalSeconds = 300;
+	private String resumeFile = null;
+	private String startFromFile = null;
+	private int startRows = 1;
+	private EnumSet<MatrixWriter.OutputFormat> outputFormats = EnumSet.of(MatrixWriter.OutputFormat.TEXT);
+	private int interlacingInterval = -1;
+	private boolean symmetryBreaking = false;
+	private boolean triangleFree = false;
+	private boolean isomorphRejection = false;
+	private String metricsLogFile = null;
+	private long metricsIntervalSeconds = 10;
+	private String rejectionProfileFile = null;
+	private BacktrackMode backtrackMode = BacktrackMode.FULL;
+	private int backtrackFailures = -1;
+	private double backtrackKeep = PercentageBacktrackPolicy.DEFAULT_PERCENT_TO_KEEP;
+	private double backtrackThreshold = PercentageBacktrackPolicy.DEFAULT_PERCENT_THRESHOLD;
+
+	/**
+	 * Builds a configuration from the command line arguments.  An unknown option prints the usage and exits.
+	 *
+	 * @param args Command line arguments
+	 * @return RunConfiguration holding the parsed options
+	 */
+	public static RunConfiguration fromArgs(String[] args)
+	{
+		RunConfiguration configuration = new RunConfiguration();
+
+		for(int i = 0; i < args.length; i++)
+		{
+			String option = args[i];
+			if(i + 1 >= args.length)
+			{
+				exitWithUsage("Missing value for option " + option);
+			}
+			String value = args[++i];
+
+			try
+			{
+				if(option.equals("--mode"))
+				{
+					configuration.searchMode = SearchMode.valueOf(value.toUpperCase());
+				}
+				else if(option.equals("--solutions"))
+				{
+					configuration.maxSolutions = Long.parseLong(value);
+				}
+				else if(option.equals("--threads"))
+				{
+					configuration.threads = Integer.parseInt(value);
+				}
+				else if(option.equals("--split-depth"))
+				{
+					configuration.splitDepth = Integer.parseInt(value);
+				}
+				else if(option.equals("--walkers"))
+				{
+					configuration.walkers = Integer.parseInt(value);
+				}
+				else if(option.equals("--seed"))
+				{
+					configuration.seed = Long.parseLong(value);
+				}
+				else if(option.equals("--replay"))
+				{
+					configuration.replayIterations = Long.parseLong(value);
+				}
+				else if(option.equals("--replay-walker"))
+				{
+					configuration.replayWalker = Integer.parseInt(value);
+				}
+				else if(option.equals("--checkpoint"))
+				{
+					configuration.checkpointFile = value;
+				}
+				else if(option.equals("--checkpoint-interval"))
+				{
+					configuration.checkpointIntervalSeconds = Long.parseLong(value);
+				}
+				else if(option.equals("--resume"))
+				{
+					configuration.resumeFile = value;
+				}
+				else if(option.equals("--start-from"))
+				{
+					configuration.startFromFile = value;
+				}
+				else if(option.equals("--start-rows"))
+				{
+					configuration.startRows = Integer.parseInt(value);
+				}
+				else if(option.equals("--output"))
+				{
+					configuration.outputFormats = EnumSet.noneOf(MatrixWriter.OutputFormat.class);
+					String[] formats = value.split(",");
+					for(int f = 0; f < formats.length; f++)
+					{
+						configuration.outputFormats.add(MatrixWriter.OutputFormat.valueOf(formats[f].trim().toUpperCase()));
+					}
+				}
+				else if(option.equals("--interlacing"))
+				{
+					configuration.interlacingInterval = value.equals("adaptive") ? 0 : Integer.parseInt(value);
+					if(configuration.interlacingInterval <= 0 && !value.equals("adaptive"))
+					{
+						exitWithUsage("--interlacing needs adaptive or a positive interval");
+					}
+				}
+				else if(option.equals("--symmetry-breaking"))
+				{
+					if(!value.equals("on") && !value.equals("off"))
+					{
+						exitWithUsage("--symmetry-breaking needs on or off");
+					}
+					configuration.symmetryBreaking = value.equals("on");
+				}
+				else if(option.equals("--triangle-free"))
+				{
+					if(!value.equals("on") && !value.equals("off"))
+					{
+						exitWithUsage("--triangle-free needs on or off");
+					}
+					configuration.triangleFree = value.equals("on");
+				}
+				else if(option.equals("--metrics-log"))
+				{
+					configuration.metricsLogFile = value;
+				}
+				else if(option.equals("--metrics-interval"))
+				{
+					configuration.metricsIntervalSeconds = Long.parseLong(value);
+					if(configuration.metricsIntervalSeconds <= 0)
+					{
+						exitWithUsage("--metrics-interval must be positive");
+					}
+				}
+				else if(option.equals("--backtrack"))
+				{
+					configuration.backtrackMode = BacktrackMode.valueOf(value.toUpperCase());
+				}
+				else if(option.equals("--backtrack-failures"))
+				{
+					configuration.backtrackFailures = Integer.parseInt(value);
+					if(configuration.backtrackFailures <= 0)
+					{
+						exitWithUsage("--backtrack-failures must be positive");
+					}
+				}
+				else if(option.equals("--backtrack-keep"))
+				{
+					configuration.backtrackKeep = Double.parseDouble(value);
+					if(configuration.backtrackKeep < 0 || configuration.backtrackKeep >= 100)
+					{
+						exitWithUsage("--backtrack-keep must be at least 0 and below 100");
+					}
+				}
+				else if(option.equals("--backtrack-threshold"))
+				{
+					configuration.backtrackThreshold = Double.parseDouble(value);
+				}
+				else if(option.equals("--rejection-profile"))
+				{
+					configuration.rejectionProfileFile = value;
+				}
+				else if(option.equals("--isomorph-rejection"))
+				{
+					if(!value.equals("on") && !value.equals("off"))
+					{
+						exitWithUsage("--isomorph-rejection needs on or off");
+					}
+					configuration.isomorphRejection = value.equals("on");
+				}
+				else
+				{
+					exitWithUsage("Unknown option " + option);
+				}
+			}
+			catch(IllegalArgumentException exception)
+			{
+				exitWithUsage("Invalid value " + value + " for option " + option);
+			}
+		}
+
+		if(configuration.replayIterations > 0)
+		{
+			if(configuration.searchMode == SearchMode.EXHAUSTIVE || configuration.searchMode == SearchMode.PARALLEL)
+			{
+				exitWithUsage("--replay only applies to the random and walkers modes");
+			}
+			if(configuration.searchMode == SearchMode.WALKERS && configuration.replayWalker < 0)
+			{
+				exitWithUsage("--replay in walkers mode needs --replay-walker");
+			}
+		}
+		if(configuration.replayWalker >= 0 && configuration.searchMode != SearchMode.WALKERS)
+		{
+			exitWithUsage("--replay-walker only applies to the walkers mode");
+		}
+		if(configuration.checkpointFile != null || configuration.resumeFile != null)
+		{
+			if(configuration.searchMode != SearchMode.RANDOM)
+			{
+				exitWithUsage("--checkpoint and --resume only apply to the random mode");
+			}
+			if(configuration.replayIterations > 0)
+			{
+				exitWithUsage("--checkpoint and --resume cannot be combined with --replay");
+			}
+		}
+		if(configuration.interlacingInterval >= 0
+				&& (configuration.searchMode == SearchMode.EXHAUSTIVE || configuration.searchMode == SearchMode.PARALLEL))
+		{
+			exitWithUsage("--interlacing only applies to the random and walkers modes");
+		}
+		if(configuration.metricsLogFile != null
+				&& (configuration.searchMode == SearchMode.EXHAUSTIVE || configuration.searchMode == SearchMode.PARALLEL))
+		{
+			exitWithUsage("--metrics-log only applies to the random and walkers modes");
+		}
+		if((configuration.backtrackMode != BacktrackMode.FULL || configuration.backtrackFailures > 0)
+				&& (configuration.searchMode == SearchMode.EXHAUSTIVE || configuration.searchMode == SearchMode.PARALLEL))
+		{
+			exitWithUsage("--backtrack only applies to the random and walkers modes");
+		}
+		if(configuration.rejectionProfileFile != null
+				&& (configuration.searchMode == SearchMode.EXHAUSTIVE || configuration.searchMode == SearchMode.PARALLEL))
+		{
+			exitWithUsage("--rejection-profile only applies to the random and walkers modes");
+		}
+		if(configuration.triangleFree
+				&& (configuration.searchMode == SearchMode.EXHAUSTIVE || configuration.searchMode == SearchMode.PARALLEL))
+		{
+			//Rows 0 to k come from one random design, so an exhausted search would not cover the other designs' subtrees.
+			exitWithUsage("--triangle-free only applies to the random and walkers modes");
+		}
+		if(configuration.resumeFile != null && configuration.checkpointFile == null)
+		{
+			configuration.checkpointFile = configuration.resumeFile;
+		}
+
+		return configuration;
+	}
+
+	/**
+	 * Creates the SearchEngine selected by this configuration for the passed in solver.
+	 *
+	 * @param srgSolver Solver holding the graph parameters
+	 * @return SearchEngine to run
+	 */
+	public SearchEngine createSearchEngine(SRGsolver srgSolver)
+	{
+		if(searchMode == SearchMode.EXHAUSTIVE)
+		{
+			ExhaustiveSearch exhaustiveSearch = new ExhaustiveSearch(srgSolver);
+			exhaustiveSearch.setMaxSolutions(maxSolutions);
+			return exhaustiveSearch;
+		}
+		if(searchMode == SearchMode.PARALLEL)
+		{
+			ParallelExhaustiveSearch parallelSearch = new ParallelExhaustiveSearch(srgSolver);
+			parallelSearch.setMaxSolutions(maxSolutions);
+			parallelSearch.setParallelism(threads);
+			parallelSearch.setSplitDepth(splitDepth);
+			return parallelSearch;
+		}
+		if(searchMode == SearchMode.WALKERS)
+		{
+			MultiWalkerSearch multiWalkerSearch = new MultiWalkerSearch(srgSolver);
+			multiWalkerSearch.setNumOfWalkers(walkers);
+			return multiWalkerSearch;
+		}
+		return srgSolver;
+	}
+
+	/**
+	 * Creates the backtrack policy the options ask for, for the passed in solver.
+	 *
+	 * @param srgSolver Solver the policy is for
+	 * @return BacktrackPolicy
+	 */
+	public BacktrackPolicy createBacktrackPolicy(SRGsolver srgSolver)
+	{
+		if(backtrackMode == BacktrackMode.PERCENTAGE)
+		{
+			return new PercentageBacktrackPolicy(srgSolver, 
+					(backtrackFailures > 0) ? backtrackFailures : FullRestartPolicy.RESTART_FAILURES, backtrackKeep, backtrackThreshold);
+		}
+		if(backtrackMode == BacktrackMode.DEPTH)
+		{
+			return new DepthProportionalPolicy((backtrackFailures > 0) ? backtrackFailures : DepthProportionalPolicy.DEFAULT_FAILURES_PER_ROW);
+		}
+		if(backtrackMode == BacktrackMode.LUBY)
+		{
+			return new LubyRestartPolicy((backtrackFailures > 0) ? backtrackFailures : LubyRestartPolicy.DEFAULT_UNIT);
+		}
+		if(backtrackMode == BacktrackMode.BACKJUMP)
+		{
+			return new BackjumpingPolicy(srgSolver.getNumOfVertices(), 
+					(backtrackFailures > 0) ? backtrackFailures : BackjumpingPolicy.DEFAULT_FAILURES_PER_ROW);
+		}
+		return new FullRestartPolicy((backtrackFailures > 0) ? backtrackFailures : FullRestartPolicy.RESTART_FAILURES);
+	}
+
+	public SearchMode getSearchMode()
+	{
+		return searchMode;
+	}
+
+	public long getMaxSolutions()
+	{
+		return maxSolutions;
+	}
+
+	public int getThreads()
+	{
+		return threads;
+	}
+
+	public int getSplitDepth()
+	{
+		return splitDepth;
+	}
+
+	public int getWalkers()
+	{
+		return walkers;
+	}
+
+	public long getSeed()
+	{
+		return seed;
+	}
+
+	public long getReplayIterations()
+	{
+		return replayIterations;
+	}
+
+	public int getReplayWalker()
+	{
+		return replayWalker;
+	}
+
+	public String getCheckpointFile()
+	{
+		return checkpointFile;
+	}
+
+	public long getCheckpointIntervalSeconds()
+	{
+		return checkpointIntervalSeconds;
+	}
+
+	public String getResumeFile()
+	{
+		return resumeFile;
+	}
+
+	public String getStartFromFile()
+	{
+		return startFromFile;
+	}
+
+	public int getStartRows()
+	{
+		return startRows;
+	}
+
+	public EnumSet<MatrixWriter.OutputFormat> getOutputFormats()
+	{
+		return EnumSet.copyOf(outputFormats);
+	}
+
+	public int getInterlacingInterval()
+	{
+		return interlacingInterval;
+	}
+
+	public boolean isSymmetryBreaking()
+	{
+		return symmetryBreaking;
+	}
+
+	public boolean isTriangleFree()
+	{
+		return triangleFree;
+	}
+
+	public boolean isIsomorphRejection()
+	{
+		return isomorphRejection;
+	}
+
+	public String getMetricsLogFile()
+	{
+		return metricsLogFile;
+	}
+
+	public long getMetricsIntervalSeconds()
+	{
+		return metricsIntervalSeconds;
+	}
+
+	public String getRejectionProfileFile()
+	{
+		return rejectionProfileFile;
+	}
+
+	private static void exitWithUsage(String message)
+	{
+		System.err.println(message);
+		System.err.println("Usage: Main [--mode random|exhaustive|parallel|walkers] [--solutions N] [--threads N] [--split-depth N]"
+				+ " [--walkers N] [--seed N] [--replay N] [--replay-walker N]"
+				+ " [--checkpoint FILE] [--checkpoint-interval N] [--resume FILE]"
+				+ " [--start-from FILE] [--start-rows N] [--output text,graph6,binary]"
+				+ " [--interlacing adaptive|N] [--symmetry-breaking on|off]"
+				+ " [--triangle-free on|off] [--isomorph-rejection on|off]"
+				+ " [--backtrack full|percentage|depth|luby|backjump] [--backtrack-failures N] [--backtrack-keep P]"
+				+ " [--backtrack-threshold P] [--metrics-log FILE] [--metrics-interval N] [--rejection-profile FILE]");
+		System.exit(1);
+	}
+
+}//end RunConfiguration class
@@ -1,5 +1,6 @@
 package stronglyRegularGraphs;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.DateFormat;
@@ -7,8 +8,9 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The purpose of the TFSRGsolver class is to build the adjacency matrix of a Triangle Free Strongly Regular Graph of (x) number of vertices.
@@ -21,6 +23,9 @@ import java.util.Random;
  * all properly match up, then we know that the random row we just generated is a correct row, and it is permanently added into the list of correct
  * rows.  This process is repeated until a maximal row set is formed.
  * <p>
+ * Rows are held internally as BitRows, where each row is packed into 64 bit words.  The List based methods are kept as thin
+ * adapters so existing callers and FileHandler.write2DList continue to work.
+ * <p>
  * Methods implemented:
  * <ul>
  * 		<li> generateRandomRow - Generates a random row of (x) number of vertices, and (d) degree number of one's
@@ -41,8 +46,6 @@ import java.util.Random;
  * 
  * 			   Check generated test files against the graphs I solved on paper to confirm algorithm accuracy
  * 
- * 				Parallelize slow parts of the code using ForkJoin
- * 
  * 				Ensure that all comments are up to date
  * 
  * 				In Main.java, organize all the graphs.   
@@ -50,11 +53,64 @@ import java.util.Random;
  * 					-By number of vertices
  */
 
-public class SRGsolver 
+public class SRGsolver implements SearchEngine
 {
+	/**
+	 * The ways candidate rows can be generated.  RANDOM fills the unknown positions of a row with coin flips.  CONSTRAINED only
+	 * places a '1' where the lambda and mu budgets of the accepted rows, and the degree of the matching columns, still allow it.
+	 */
+	public enum RowGenerationMode
+	{
+		RANDOM, CONSTRAINED
+	}
+	
 	private boolean firstRowKnown;
 	private int numOfVertices, degree, lambdaValue, muValue;
 	private boolean maximalRowSetFound = false;
+	private boolean incrementalGram = true;
+	private GramMatrix gramMatrix;
+	private int lastRejectingRow = -1;
+	private int lastRejectingOverlap = -1;
+	private RowGenerationMode rowGenerationMode = RowGenerationMode.RANDOM;
+	private FastRandom rand;
+	private AtomicBoolean stopFlag = new AtomicBoolean(false);
+	private boolean verbose = true;
+	
+	//Progress counters.  The loop updates the plain counter and publishes it to the volatile field every PUBLISH_INTERVAL 
+	//candidates, so other threads can read progress without slowing the loop down.
+	private static final int PUBLISH_INTERVAL = 1024;
+	private long candidatesGenerated = 0;
+	private volatile long publishedCandidates = 0;
+	private volatile long rowsAccepted = 0;
+	private volatile int maxDepthReached = 0;
+	private long candidateLimit = Long.MAX_VALUE;
+	private long seed;
+	private int walkerIndex = -1;
+	private CheckpointWriter checkpointWriter = null;
+	private long checkpointIntervalNanos = 0;
+	private Checkpoint resumeCheckpoint = null;
+	private EnumSet<MatrixWriter.OutputFormat> outputFormats = EnumSet.of(MatrixWriter.OutputFormat.TEXT);
+	private InterlacingPruner interlacingPruner = null;
+	private SymmetryBreaking symmetryBreaking = null;
+	private TriangleFreeInitializer triangleFreeInitializer = null;
+	private IsomorphCache isomorphCache = null;
+	private final SearchMetrics metrics;
+	private MetricsReporter metricsReporter = null;
+	private RejectionProfiler rejectionProfiler = null;
+	private static final long PROGRESS_INTERVAL_NANOS = 1000000000L;
+	private BacktrackPolicy backtrackPolicy = new FullRestartPolicy();
+	
+	/*
+	 * Scratch buffers for the generation path.  They are allocated once per solver and reused for every candidate, so the
+	 * steady-state loop in buildBitRowListWhileLoop allocates nothing.  rowPool holds the accepted row at each depth.
+	 */
+	private final int[] scratchNumbers;
+	private final int[] scratchColumnOnes;
+	private final int[] scratchBudget;
+	private final long[] scratchOpenColumns;
+	private final long[] scratchClassStarts;
+	private final BitRow candidateBuffer;
+	private final BitRow[] rowPool;
 	private String fileName;
 	
 	/**
@@ -63,6 +119,9 @@ public class SRGsolver
 	 * the lambda value (number of edges shared with each ponts adjacent vertices),
 	 * and the mu value (the number of edges a vertex shares with it's non adjacent vertices). 
 	 * 
+	 * The random number generator is seeded from the clock; the seed is written to the output file so the run can be
+	 * repeated with the seeded constructor.
+	 * 
 	 * @param fileName
 	 * @param numOfVertices
 	 * @param degree
@@ -70,25 +129,445 @@ public class SRGsolver
 	 * @param muValue
 	 */
 	public SRGsolver(String fileName, int numOfVertices, int degree, int lambdaValue, int muValue)
+	{
+		this(fileName, numOfVertices, degree, lambdaValue, muValue, System.nanoTime());
+	}//end SRGsolver constructor
+	
+	/**
+	 * Initializes the solver like the constructor above, but seeds the random number generator with the passed in seed.  Every
+	 * generation and backtracking decision the random search makes comes from that generator, so two solvers with the same
+	 * parameters and seed make exactly the same run.
+	 * 
+	 * @param fileName
+	 * @param numOfVertices
+	 * @param degree
+	 * @param lambdaValue
+	 * @param muValue
+	 * @param seed Seed for the random number generator
+	 */
+	public SRGsolver(String fileName, int numOfVertices, int degree, int lambdaValue, int muValue, long seed)
 	{
 		this.fileName = fileName;
 		this.numOfVertices = numOfVertices;
 		this.degree = degree;
 		this.lambdaValue = lambdaValue;
 		this.muValue = muValue;
+		this.gramMatrix = new GramMatrix(numOfVertices);
+		this.metrics = new SearchMetrics(numOfVertices);
+		this.seed = seed;
+		this.rand = new FastRandom(seed);
+		
+		this.scratchNumbers = new int[numOfVertices];
+		this.scratchColumnOnes = new int[numOfVertices];
+		this.scratchBudget = new int[numOfVertices];
+		this.scratchOpenColumns = new long[BitRow.wordsFor(numOfVertices)];
+		this.scratchClassStarts = new long[BitRow.wordsFor(numOfVertices)];
+		this.candidateBuffer = new BitRow(numOfVertices);
+		this.rowPool = new BitRow[numOfVertices];
+		for(int i = 0; i < numOfVertices; i++)
+		{
+			this.rowPool[i] = new BitRow(numOfVertices);
+		}
 	}//end SRGsolver constructor
 	
 	/**
-	 * This function generates a List object that has (degree) one's randomly placed in a row of (numOfVertices), where the other spaces are 0's. 
+	 * Creates a solver with the same parameters and settings as this one, but with its own row set state and the passed in
+	 * random number generator.  This is how independent walkers are made for MultiWalkerSearch.
+	 * 
+	 * @param walkerRandom Random number generator the new solver will own
+	 * @return New SRGsolver
+	 */
+	public SRGsolver copy(FastRandom walkerRandom)
+	{
+		SRGsolver copiedSolver = new SRGsolver(fileName, numOfVertices, degree, lambdaValue, muValue, seed);
+		copiedSolver.incrementalGram = incrementalGram;
+		copiedSolver.rowGenerationMode = rowGenerationMode;
+		copiedSolver.verbose = verbose;
+		copiedSolver.rand = walkerRandom;
+		copiedSolver.candidateLimit = candidateLimit;
+		copiedSolver.outputFormats = EnumSet.copyOf(outputFormats);
+		copiedSolver.interlacingPruner = (interlacingPruner != null) ? interlacingPruner.copy() : null;
+		copiedSolver.symmetryBreaking = symmetryBreaking;
+		copiedSolver.triangleFreeInitializer = (triangleFreeInitializer != null) ? TriangleFreeInitializer.of(copiedSolver) : null;
+		copiedSolver.isomorphCache = isomorphCache;
+		copiedSolver.backtrackPolicy = backtrackPolicy.copy();
+		if(metricsReporter != null)
+		{
+			copiedSolver.setMetricsReporter(metricsReporter);
+		}
+		copiedSolver.rejectionProfiler = (rejectionProfiler != null) ? rejectionProfiler.fork() : null;
+		return copiedSolver;
+	}
+	
+	/**
+	 * Returns the seed the solver's random number generator was created with.
+	 * 
+	 * @return Long seed
+	 */
+	public long getSeed()
+	{
+		return seed;
+	}
+	
+	/**
+	 * Records that this solver is walker (walkerIndex) of a MultiWalkerSearch, so the walker's stream can be named in the
+	 * output file and replayed.
+	 * 
+	 * @param walkerIndex Index of the walker
+	 */
+	public void setWalkerIndex(int walkerIndex)
+	{
+		this.walkerIndex = walkerIndex;
+	}
+	
+	/**
+	 * Makes buildBitRowListWhileLoop hand a Checkpoint of its state to the passed in writer every (intervalMillis)
+	 * milliseconds.  Taking the checkpoint only copies the accepted rows; the writer writes it on its own thread.  Passing
+	 * null turns checkpointing off.
+	 * 
+	 * @param checkpointWriter Writer the checkpoints are handed to, or null
+	 * @param intervalMillis Milliseconds between checkpoints
+	 */
+	public void setCheckpointWriter(CheckpointWriter checkpointWriter, long intervalMillis)
+	{
+		this.checkpointWriter = checkpointWriter;
+		this.checkpointIntervalNanos = intervalMillis * 1000000L;
+	}
+	
+	/**
+	 * Sets the formats reportMaximalRowSet writes a maximal row set in.  The default is the text report alone.
+	 * 
+	 * @param outputFormats Formats to write
+	 */
+	public void setOutputFormats(EnumSet<MatrixWriter.OutputFormat> outputFormats)
+	{
+		this.outputFormats = EnumSet.copyOf(outputFormats);
+	}
+	
+	/**
+	 * Turns on interlacing pruning in buildBitRowListWhileLoop with the passed in pruner, or turns it off when null.  Each
+	 * solver needs its own pruner; copy gives walkers copies.
+	 * 
+	 * @param interlacingPruner Pruner to use, or null
+	 */
+	public void setInterlacingPruner(InterlacingPruner interlacingPruner)
+	{
+		this.interlacingPruner = interlacingPruner;
+	}
+	
+	/**
+	 * Returns the interlacing pruner, or null if interlacing pruning is off.
+	 * 
+	 * @return InterlacingPruner
+	 */
+	public InterlacingPruner getInterlacingPruner()
+	{
+		return interlacingPruner;
+	}
+	
+	/**
+	 * Turns symmetry breaking on with the passed in SymmetryBreaking, or off when null.  When it is on, the random search
+	 * restarts from the canonical rows 0 and 1 instead of a random row 0, generateCandidateRow puts candidates in canonical
+	 * form, and the exhaustive searches skip rows that are not.
+	 * 
+	 * @param symmetryBreaking Canonical structure to use, or null
+	 */
+	public void setSymmetryBreaking(SymmetryBreaking symmetryBreaking)
+	{
+		this.symmetryBreaking = symmetryBreaking;
+	}
+	
+	/**
+	 * Returns the symmetry breaking in use, or null if it is off.
+	 * 
+	 * @return SymmetryBreaking
+	 */
+	public SymmetryBreaking getSymmetryBreaking()
+	{
+		return symmetryBreaking;
+	}
+	
+	/**
+	 * Makes the random search build rows 0 to k with the passed in TriangleFreeInitializer, or turns that off when null.
+	 * When it is on, a full restart builds a new design for those rows rather than a random row 0, and no backtrack keeps
+	 * fewer rows than the initializer builds.
+	 * 
+	 * @param triangleFreeInitializer Initializer to use, or null
+	 */
+	public void setTriangleFreeInitializer(TriangleFreeInitializer triangleFreeInitializer)
+	{
+		this.triangleFreeInitializer = triangleFreeInitializer;
+	}
+	
+	/**
+	 * Turns on isomorph rejection with the passed in cache, or turns it off when null.  With a cache, a maximal row set
+	 * isomorphic to one already in the cache is not written and the random search starts over, and the exhaustive searches
+	 * keep one maximal row set per isomorphism class.  Walkers made by copy share the cache.
+	 * 
+	 * @param isomorphCache Cache of the isomorphism classes found so far, or null
+	 */
+	public void setIsomorphCache(IsomorphCache isomorphCache)
+	{
+		this.isomorphCache = isomorphCache;
+	}
+	
+	/**
+	 * Adds this solver's metrics to the reports of the passed in reporter.  Walkers made by copy are added too.
+	 * 
+	 * @param metricsReporter Reporter to write this solver's progress
+	 */
+	public void setMetricsReporter(MetricsReporter metricsReporter)
+	{
+		this.metricsReporter = metricsReporter;
+		metricsReporter.register(this);
+	}
+	
+	/**
+	 * Sets how long the random search tries at a depth before it backtracks, and how far it goes back.  The default is a
+	 * FullRestartPolicy.  Walkers made by copy get their own copy of the policy.
+	 * 
+	 * @param backtrackPolicy Policy to use
+	 */
+	public void setBacktrackPolicy(BacktrackPolicy backtrackPolicy)
+	{
+		this.backtrackPolicy = backtrackPolicy;
+	}
+	
+	/**
+	 * Returns the backtrack policy the random search uses.
+	 * 
+	 * @return BacktrackPolicy
+	 */
+	public BacktrackPolicy getBacktrackPolicy()
+	{
+		return backtrackPolicy;
+	}
+	
+	/**
+	 * Turns on profiling of rejected candidates.  Walkers made by copy record into forks of the passed in profiler.
+	 * 
+	 * @param rejectionProfiler Profiler to record rejections into, or null to turn profiling off
+	 */
+	public void setRejectionProfiler(RejectionProfiler rejectionProfiler)
+	{
+		this.rejectionProfiler = rejectionProfiler;
+	}
+	
+	/**
+	 * Returns the rejection profiler, or null if profiling is off.
+	 * 
+	 * @return RejectionProfiler or null
+	 */
+	public RejectionProfiler getRejectionProfiler()
+	{
+		return rejectionProfiler;
+	}
+	
+	/**
+	 * Returns the counters buildBitRowListWhileLoop keeps about its progress.
+	 * 
+	 * @return SearchMetrics of this solver
+	 */
+	public SearchMetrics getMetrics()
+	{
+		return metrics;
+	}
+	
+	/**
+	 * Returns the isomorph cache, or null if isomorph rejection is off.
+	 * 
+	 * @return IsomorphCache
+	 */
+	public IsomorphCache getIsomorphCache()
+	{
+		return isomorphCache;
+	}
+	
+	/**
+	 * Sets the random number generator used for every row this solver generates.  The solver should be the generator's only
+	 * user.
+	 * 
+	 * @param rand Random number generator
+	 */
+	public void setRandom(FastRandom rand)
+	{
+		this.rand = rand;
+	}
+	
+	/**
+	 * Sets the flag buildBitRowListWhileLoop checks to know when to stop.  Solvers that share one flag stop together: the first
+	 * one to find a maximal row set sets it, and the rest return without a result.
+	 * 
+	 * @param stopFlag Shared stop flag
+	 */
+	public void setStopFlag(AtomicBoolean stopFlag)
+	{
+		this.stopFlag = stopFlag;
+	}
+	
+	/**
+	 * Turns the console progress messages of the build loops on (the default) or off.  buildBitRowListWhileLoop prints a
+	 * progress line at most once a second rather than a message per row; MetricsReporter gives the full picture.
+	 * 
+	 * @param verbose true to print progress
+	 */
+	public void setVerbose(boolean verbose)
+	{
+		this.verbose = verbose;
+	}
+	
+	/**
+	 * Returns the number of candidate rows buildBitRowListWhileLoop has generated.  The value is published every thousand
+	 * or so candidates, so it can be read from another thread while the loop runs.
+	 * 
+	 * @return Long number of candidates
+	 */
+	public long getCandidatesGenerated()
+	{
+		return publishedCandidates;
+	}
+	
+	/**
+	 * Returns the number of rows buildBitRowListWhileLoop has accepted, including rows that were later backtracked.
+	 * 
+	 * @return Long number of rows
+	 */
+	public long getRowsAccepted()
+	{
+		return rowsAccepted;
+	}
+	
+	/**
+	 * Limits how many candidate rows a call to buildBitRowListWhileLoop generates.  When the limit is reached, the loop returns
+	 * the row set it has reached so far instead of a maximal row set.  There is no limit by default.
+	 * 
+	 * @param candidateLimit Maximum number of candidates per call
+	 */
+	public void setCandidateLimit(long candidateLimit)
+	{
+		this.candidateLimit = candidateLimit;
+	}
+	
+	/**
+	 * Returns the largest row set buildBitRowListWhileLoop has reached.
+	 * 
+	 * @return Integer number of rows
+	 */
+	public int getMaxDepthReached()
+	{
+		return maxDepthReached;
+	}
+	
+	/**
+	 * Returns the name of the file the maximal row set is written to.
+	 * 
+	 * @return String file name
+	 */
+	public String getFileName()
+	{
+		return fileName;
+	}
+	
+	/**
+	 * Returns the number of vertices of the graph being solved.
+	 * 
+	 * @return Integer number of vertices
+	 */
+	public int getNumOfVertices()
+	{
+		return numOfVertices;
+	}
+	
+	/**
+	 * Returns the degree of the graph being solved.
+	 * 
+	 * @return Integer degree
+	 */
+	public int getDegree()
+	{
+		return degree;
+	}
+	
+	/**
+	 * Returns the lambda value of the graph being solved.
+	 * 
+	 * @return Integer lambda value
+	 */
+	public int getLambdaValue()
+	{
+		return lambdaValue;
+	}
+	
+	/**
+	 * Returns the mu value of the graph being solved.
+	 * 
+	 * @return Integer mu value
+	 */
+	public int getMuValue()
+	{
+		return muValue;
+	}
+	
+	/**
+	 * Turns incremental dot product maintenance on or off.  When it is on (the default), buildBitRowListWhileLoop keeps the dot
+	 * product matrix of the accepted rows in a GramMatrix and only computes the new row's (c) products for each candidate.  When 
+	 * it is off, the full (c) by (c) matrix is recomputed with bitDotProduct for every candidate, which is how the solver worked
+	 * originally.
+	 * 
+	 * @param incrementalGram true to maintain the matrix incrementally, false to recompute it for every candidate
+	 */
+	public void setIncrementalGram(boolean incrementalGram)
+	{
+		this.incrementalGram = incrementalGram;
+	}
+	
+	/**
+	 * Sets how the build loops generate candidate rows.  The default is RowGenerationMode.RANDOM.
+	 * 
+	 * @param rowGenerationMode Generation mode to use
+	 */
+	public void setRowGenerationMode(RowGenerationMode rowGenerationMode)
+	{
+		this.rowGenerationMode = rowGenerationMode;
+	}
+	
+	/**
+	 * This function generates a List object that has (degree) one's randomly placed in a row of (numOfVertices), where the other spaces are 0's.
+	 * It is a thin adapter over generateRandomBitRow for callers that still work with List rows.
 	 * 
 	 * @param rowsetIsEmpty A true or false variable that flags whether or not the calling row set is empty.
 	 * @return List Randomly generated row of 1's and 0's 
 	 */
 	public List<Integer> generateRandomRow(boolean rowsetIsEmpty)
 	{
-		List<Integer> returnedRow = new ArrayList<Integer>(numOfVertices);
-		List<Integer> randomNumbers = new ArrayList<Integer>(numOfVertices);
-		Random rand = new Random();
+		return generateRandomBitRow(rowsetIsEmpty).toList();
+	}//end generateRandomRow method
+	
+	/**
+	 * This function generates a BitRow that has (degree) one's randomly placed in a row of (numOfVertices), where the other spaces are 0's. 
+	 * 
+	 * @param rowsetIsEmpty A true or false variable that flags whether or not the calling row set is empty.
+	 * @return BitRow Randomly generated row of 1's and 0's 
+	 */
+	public BitRow generateRandomBitRow(boolean rowsetIsEmpty)
+	{
+		BitRow returnedRow = new BitRow(numOfVertices);
+		generateRandomBitRow(rowsetIsEmpty, returnedRow);
+		return returnedRow;
+	}
+	
+	/**
+	 * This function is the allocation-free version of generateRandomBitRow; the row is written into the passed in BitRow,
+	 * overwriting whatever it held.
+	 * 
+	 * @param rowsetIsEmpty A true or false variable that flags whether or not the calling row set is empty.
+	 * @param returnedRow Row the randomly generated 1's and 0's are written into
+	 */
+	public void generateRandomBitRow(boolean rowsetIsEmpty, BitRow returnedRow)
+	{
+		returnedRow.clearAll();
+		int[] randomNumbers = scratchNumbers;
+		int randomNumbersSize = 0;
 		int oneCounter = 0;
 		int onesLeft = this.degree;
 		int startingPoint = 0;
@@ -100,7 +579,6 @@ public class SRGsolver
 		 */
 		if(rowsetIsEmpty)
 		{
-			returnedRow.add(0);
 			startingPoint = 1;
 		}
 		else
@@ -111,60 +589,32 @@ public class SRGsolver
 		//Generate (numOfVertices) random numbers
 		for(int i = startingPoint; i < numOfVertices; i++)
 		{
-			int randomNumber;
-			
-			/* If the number of ones left to place is greater than the number of total spots left to place
-			* minus the number of iterations of the loop, then force the next number to be one.
-			* Example: numOfVertices = 5, onesLeft = 2.  Current random row = (0, 0, 0)
-			* There's only two spots left in the random row, and two one's left to place.  Force the next number (and the one after) to be one.
-			*/
-			if(onesLeft > numOfVertices - (i + 1))
-			{
-				randomNumber = 1;
-			}
-			else
-			{
-				//generate a random number that is either 0 or 1
-				randomNumber = rand.nextInt(2);
-				if(randomNumber == 1) 
-				{
-					//Checks to make sure that the current number of one's isn't greater than the total
-					//number of one's allowed by the shape, which is determined by the degree value.
-					if(oneCounter == degree) 
-					{
-						randomNumber = 0;
-					}
-					else
-					{
-						oneCounter++;
-						onesLeft--;
-					}
-				}
-			}
-			randomNumbers.add(randomNumber);
-			
-		}
-		/*
-		 * To ensure that the numbers in the row are truly random, a random starting position is generated.  The numbers generated above
-		 * are then sequentially placed into the returned row starting from this position, resetting to the beginning if the end is reached.
-		 */
-		int randomStartingPosition = rand.nextInt(randomNumbers.size());
-		
-		for(int j = 0; j < randomNumbers.size(); j++)
-		{
-			if(randomStartingPosition > randomNumbers.size() - 1)
+			randomNumbers[randomNumbersSize++] = nextRandomNumber(rand, i, oneCounter, onesLeft);
+			if(randomNumbers[randomNumbersSize - 1] == 1)
 			{
-				randomStartingPosition = 1;
+				oneCounter++;
+				onesLeft--;
 			}
-			returnedRow.add(randomNumbers.get(randomStartingPosition));
-			randomStartingPosition++;
 		}
 		
-		return returnedRow;
-	}//end generateRandomRow method
+		placeRotated(returnedRow, startingPoint, randomNumbers, randomNumbersSize, rand);
+	}//end generateRandomBitRow method
 	
 	/**
 	 * This function generates a random row in the form of a List object, using the current known rows in 'currentRowSet' to add the first 
+	 * values of the row using the symmetry in currentRowSet.  It is a thin adapter over generateRandomBitRowFromCurrentRowSet for callers 
+	 * that still work with List rows.
+	 * 
+	 * @param currentRowSet - 2D List of Integers of currently known correct rows
+	 * @return randomRow - 1D List containing a partially random row of numbers
+	 */
+	public List<Integer> generateRandomRowFromCurrentRowSet(List< List<Integer> > currentRowSet)
+	{
+		return generateRandomBitRowFromCurrentRowSet(BitRow.fromList2D(currentRowSet)).toList();
+	}
+	
+	/**
+	 * This function generates a random BitRow, using the current known rows in 'currentRowSet' to add the first 
 	 * values of the row using the symmetry in currentRowSet.  Once these known values are placed, the remaining numbers are randomly 
 	 * generated into the randomRow and the completed row is returned. 
 	 * <p>
@@ -175,146 +625,474 @@ public class SRGsolver
 	 * spot in this random row for row 2 is a 0, as that value lies in the diagonal.  This function places in these values,
 	 * and then randomly generates numbers for the rest of the spots.  This is the task accomplished by this method.
 	 * 
-	 * @param currentRowSet - 2D List of Integers of currently known correct rows
-	 * @return randomRow - 1D List containing a partially random row of numbers
+	 * @param currentRowSet - List of BitRows of currently known correct rows
+	 * @return randomRow - BitRow containing a partially random row of numbers
 	 */
-	public List<Integer> generateRandomRowFromCurrentRowSet(List< List<Integer> > currentRowSet)
+	public BitRow generateRandomBitRowFromCurrentRowSet(List<BitRow> currentRowSet)
+	{	
+		BitRow returnedRow = new BitRow(numOfVertices);
+		generateRandomBitRowFromCurrentRowSet(currentRowSet, returnedRow);
+		return returnedRow;
+	}
+	
+	/**
+	 * This function is the allocation-free version of generateRandomBitRowFromCurrentRowSet; the row is written into the passed
+	 * in BitRow, overwriting whatever it held.
+	 * 
+	 * @param currentRowSet - List of BitRows of currently known correct rows
+	 * @param returnedRow - Row the partially random row of numbers is written into
+	 */
+	public void generateRandomBitRowFromCurrentRowSet(List<BitRow> currentRowSet, BitRow returnedRow)
 	{	
-		List<Integer> randomNumbers = new ArrayList<Integer>(numOfVertices);
-		List<Integer> returnedRow = new ArrayList<Integer>(numOfVertices);
+		returnedRow.clearAll();
+		int[] randomNumbers = scratchNumbers;
+		int randomNumbersSize = 0;
 		
-		Random rand = new Random();
 		int oneCounter = 0;
 		int onesLeft = this.degree;
-		int numbersLeftToPlace = numOfVertices;
-		int startingPoint = 0;
+		int rowIndex = currentRowSet.size();
 		
 		//We already know the first values of this random row based on the corresponding column from currentRowSet, so this for loop adds those numbers in.
 		//Example: if row 1 is: 0, 1, 0, 1, 0 - We know that the first number in row 2 is a '1'.
-		for(int z = 0; z < currentRowSet.size(); z++)
+		for(int z = 0; z < rowIndex; z++)
 		{
-			returnedRow.add(currentRowSet.get(z).get(currentRowSet.size()));
-			if(returnedRow.get(z) == 1)
+			if(currentRowSet.get(z).get(rowIndex) == 1)
 			{
+				returnedRow.set(z);
 				oneCounter++;
 				onesLeft--;
 			}
-			numbersLeftToPlace--;
 		}
 		
 		/*
-		* These 2 lines of code add in a '0' at the diagonal of this random row, as we know for a fact that in a correct row there will be a '0' in that spot.
+		* The diagonal of this random row is left as '0', as we know for a fact that in a correct row there will be a '0' in that spot.
 		* Example:  The third row in current row set has the following dimensions in the 2D List/adjacency matrix:
 		* Row 2, Column 2 (Remember counting starts from 0).
 		* This means that in that spot, it is in the diagonal and therefore must be a '0'.
 		*
-		* The size of the currentRowSet points to this spot, so that is used to set the value to 0.
+		* The size of the currentRowSet points to this spot, so the random numbers start right after it.
 		*/
-		returnedRow.add(currentRowSet.size(), 0);
-		numbersLeftToPlace--;
-		
-		startingPoint = this.numOfVertices - numbersLeftToPlace;
+		int startingPoint = rowIndex + 1;
 		
 		//Generate (numOfVertices) random numbers
 		for(int i = startingPoint; i < this.numOfVertices; i++)
 		{
-			int randomNumber;
+			randomNumbers[randomNumbersSize++] = nextRandomNumber(rand, i, oneCounter, onesLeft);
+			if(randomNumbers[randomNumbersSize - 1] == 1)
+			{
+				oneCounter++;
+				onesLeft--;
+			}
+		}
+		
+		placeRotated(returnedRow, startingPoint, randomNumbers, randomNumbersSize, rand);
+	}
+	
+	/**
+	 * This function generates the next candidate row for the current row set using the selected RowGenerationMode.
+	 * 
+	 * @param currentRowSet - List of BitRows of currently known correct rows
+	 * @return BitRow candidate row, or null if the constrained generator could not place (degree) one's
+	 */
+	public BitRow generateCandidateRow(List<BitRow> currentRowSet)
+	{
+		BitRow returnedRow = new BitRow(numOfVertices);
+		return generateCandidateRow(currentRowSet, returnedRow) ? returnedRow : null;
+	}
+	
+	/**
+	 * This function is the allocation-free version of generateCandidateRow; the row is written into the passed in BitRow.
+	 * With symmetry breaking on, the row is put in canonical form.
+	 * 
+	 * @param currentRowSet - List of BitRows of currently known correct rows
+	 * @param returnedRow - Row the candidate is written into
+	 * @return true if a candidate was generated, false if the constrained generator could not place (degree) one's
+	 */
+	public boolean generateCandidateRow(List<BitRow> currentRowSet, BitRow returnedRow)
+	{
+		if(rowGenerationMode == RowGenerationMode.CONSTRAINED)
+		{
+			if(!generateConstrainedBitRowFromCurrentRowSet(currentRowSet, returnedRow))
+			{
+				return false;
+			}
+		}
+		else
+		{
+			generateRandomBitRowFromCurrentRowSet(currentRowSet, returnedRow);
+		}
+		if(symmetryBreaking != null)
+		{
+			symmetryBreaking.canonicalize(currentRowSet, returnedRow, scratchClassStarts);
+		}
+		return true;
+	}
+	
+	/**
+	 * This function generates a candidate row that never breaks a lambda, mu or degree limit that can already be seen from the 
+	 * current row set.  The known first values of the row are placed from the symmetry of currentRowSet, just like 
+	 * generateRandomBitRowFromCurrentRowSet.  From those values we know, for every accepted row (r), how many more common 
+	 * one's the new row must still share with it: lambda (if the new row has a '1' in column (r)) or mu (if it has a '0'), 
+	 * minus the common one's already in the known part.  This is the row's budget.
+	 * <p>
+	 * A column (j) past the diagonal stays open for a '1' as long as
+	 * <ul>
+	 * 		<li> every accepted row with a '1' in column (j) still has budget left, and
+	 * 		<li> column (j) does not already hold (degree) one's in the accepted rows, since row (j) will later copy that column.
+	 * </ul>
+	 * Whenever a row's budget reaches 0, all of its columns are closed off.  For example when lambda is 0, placing a '1' at
+	 * a neighbour of a vertex closes off every other neighbour of that vertex.
+	 * <p>
+	 * Each '1' is placed at a random open column of the accepted row whose budget is hardest to meet (the fewest open columns
+	 * compared to the budget left).  Once no row has budget left, the remaining one's go into random open columns.  If a budget 
+	 * can no longer be met, or the one's cannot all be placed, null is returned, so every row this function returns passes 
+	 * validateCandidate.
+	 * 
+	 * @param currentRowSet - List of BitRows of currently known correct rows
+	 * @return BitRow candidate row, or null if no row could be completed from the current row set this way
+	 */
+	public BitRow generateConstrainedBitRowFromCurrentRowSet(List<BitRow> currentRowSet)
+	{
+		BitRow returnedRow = new BitRow(numOfVertices);
+		return generateConstrainedBitRowFromCurrentRowSet(currentRowSet, returnedRow) ? returnedRow : null;
+	}
+	
+	/**
+	 * This function is the allocation-free version of generateConstrainedBitRowFromCurrentRowSet; the row is written into the
+	 * passed in BitRow, overwriting whatever it held.
+	 * 
+	 * @param currentRowSet - List of BitRows of currently known correct rows
+	 * @param returnedRow - Row the candidate is written into
+	 * @return true if a candidate was generated, false if no row could be completed from the current row set
+	 */
+	public boolean generateConstrainedBitRowFromCurrentRowSet(List<BitRow> currentRowSet, BitRow returnedRow)
+	{
+		returnedRow.clearAll();
+		int rowIndex = currentRowSet.size();
+		int onesLeft = this.degree;
+		
+		//Place the known first values of the row from the columns of currentRowSet.
+		for(int z = 0; z < rowIndex; z++)
+		{
+			if(currentRowSet.get(z).get(rowIndex) == 1)
+			{
+				returnedRow.set(z);
+				onesLeft--;
+			}
+		}
+		if(onesLeft < 0)
+		{
+			return false;
+		}
+		
+		//Count the one's already in each column of the accepted rows.
+		int[] columnOnes = scratchColumnOnes;
+		Arrays.fill(columnOnes, 0);
+		for(int r = 0; r < rowIndex; r++)
+		{
+			long[] acceptedWords = currentRowSet.get(r).words();
+			for(int w = 0; w < acceptedWords.length; w++)
+			{
+				long word = acceptedWords[w];
+				while(word != 0)
+				{
+					columnOnes[(w << 6) + Long.numberOfTrailingZeros(word)]++;
+					word &= word - 1;
+				}
+			}
+		}
+		
+		long[] openColumns = scratchOpenColumns;
+		Arrays.fill(openColumns, 0L);
+		for(int j = rowIndex + 1; j < numOfVertices; j++)
+		{
+			if(columnOnes[j] < this.degree)
+			{
+				openColumns[j >>> 6] |= 1L << j;
+			}
+		}
+		
+		int[] budget = scratchBudget;
+		for(int r = 0; r < rowIndex; r++)
+		{
+			long[] acceptedWords = currentRowSet.get(r).words();
+			int expectedValue = (returnedRow.get(r) == 1) ? this.lambdaValue : this.muValue;
+			budget[r] = expectedValue - BitRow.dotProduct(returnedRow.words(), acceptedWords);
+			if(budget[r] < 0)
+			{
+				return false;
+			}
+			if(budget[r] == 0)
+			{
+				andNotInto(openColumns, acceptedWords);
+			}
+		}
+		
+		while(onesLeft > 0)
+		{
+			//Find the row whose budget is hardest to meet with the columns that are still open.
+			int tightestRow = -1;
+			int tightestSlack = Integer.MAX_VALUE;
+			int tiedRows = 0;
+			for(int r = 0; r < rowIndex; r++)
+			{
+				if(budget[r] == 0)
+				{
+					continue;
+				}
+				int slack = BitRow.dotProduct(openColumns, currentRowSet.get(r).words()) - budget[r];
+				if(slack < 0 || budget[r] > onesLeft)
+				{
+					return false;
+				}
+				if(slack < tightestSlack)
+				{
+					tightestRow = r;
+					tightestSlack = slack;
+					tiedRows = 1;
+				}
+				else if(slack == tightestSlack && rand.nextInt(++tiedRows) == 0)
+				{
+					tightestRow = r;
+				}
+			}
 			
-			/* If the number of ones left to place is greater than the number of total spots left to place
-			* minus the number of iterations of the loop, then force the next number to be one.
-			* Example: numOfVertices = 5, onesLeft = 2.  Current random row = (0, 0, 0)
-			* There's only two spots left in the random row, and two one's left to place.  Force the next number (and the one after) to be one.
-			*/
-			if(onesLeft > numOfVertices - (i + 1))
+			int column;
+			if(tightestRow == -1)
 			{
-				randomNumber = 1;
+				column = randomSetBit(openColumns, null, rand);
 			}
 			else
 			{
-				//generate a random number that is either 0 or 1
-				randomNumber = rand.nextInt(2);
-				if(randomNumber == 1) 
+				column = randomSetBit(openColumns, currentRowSet.get(tightestRow).words(), rand);
+			}
+			if(column == -1)
+			{
+				return false;
+			}
+			
+			returnedRow.set(column);
+			openColumns[column >>> 6] &= ~(1L << column);
+			onesLeft--;
+			
+			//Every accepted row with a '1' in this column now shares one more '1' with the new row.
+			for(int r = 0; r < rowIndex; r++)
+			{
+				BitRow acceptedRow = currentRowSet.get(r);
+				if(acceptedRow.get(column) == 1 && --budget[r] == 0)
 				{
-					//Checks to make sure that the current number of one's isn't greater than the total
-					//number of one's allowed by the shape, which is determined by the degree value.
-					if(oneCounter == degree) 
-					{
-						randomNumber = 0;
-					}
-					else
-					{
-						oneCounter++;
-						onesLeft--;
-					}
+					andNotInto(openColumns, acceptedRow.words());
 				}
 			}
-			randomNumbers.add(randomNumber);
-			
 		}
-		/*
-		 * To ensure that the numbers in the row are truly random, a random starting position is generated.  The numbers generated above
-		 * are then sequentially placed into the returned row starting from this position, resetting to the beginning if the end is reached.
-		 */
-		int randomStartingPosition = rand.nextInt(randomNumbers.size());
 		
-		for(int j = 0; j < randomNumbers.size(); j++)
+		for(int r = 0; r < rowIndex; r++)
 		{
-			if(randomStartingPosition > randomNumbers.size() - 1)
+			if(budget[r] != 0)
 			{
-				randomStartingPosition = 1;
+				return false;
 			}
-			returnedRow.add(randomNumbers.get(randomStartingPosition));
-			randomStartingPosition++;
+		}
+		return true;
+	}
+	
+	/**
+	 * Clears every bit of the target words that is set in the source words.
+	 */
+	private static void andNotInto(long[] targetWords, long[] sourceWords)
+	{
+		for(int w = 0; w < targetWords.length; w++)
+		{
+			targetWords[w] &= ~sourceWords[w];
+		}
+	}
+	
+	/**
+	 * Returns the index of a random bit that is set in both word arrays, or -1 if there is none.  If maskWords is null, a random
+	 * set bit of words is returned.
+	 */
+	private static int randomSetBit(long[] words, long[] maskWords, FastRandom rand)
+	{
+		int setBits = 0;
+		for(int w = 0; w < words.length; w++)
+		{
+			setBits += Long.bitCount(maskWords == null ? words[w] : words[w] & maskWords[w]);
+		}
+		if(setBits == 0)
+		{
+			return -1;
 		}
 		
-		return returnedRow;
+		int target = rand.nextInt(setBits);
+		for(int w = 0; w < words.length; w++)
+		{
+			long word = maskWords == null ? words[w] : words[w] & maskWords[w];
+			int wordBits = Long.bitCount(word);
+			if(target < wordBits)
+			{
+				for(int i = 0; i < target; i++)
+				{
+					word &= word - 1;
+				}
+				return (w << 6) + Long.numberOfTrailingZeros(word);
+			}
+			target -= wordBits;
+		}
+		return -1;
 	}
 	
 	/**
-	 * The dot product function takes the current row set, and returns a 2D List of the dot product.  It then multiplies this transposed version of the row set with the non-transposed version, 
-	 * element by element.  The element by element result is modulus'd by 2 to ensure that the result is either 0 or 1.  Then, the result of these modulus operations is added 
-	 * together to get a (c) by (c) matrix.
+	 * This function picks the next random 1 or 0 for a row that is being generated.
+	 * 
+	 * @param rand Random number generator
+	 * @param position Column the number is being generated for
+	 * @param oneCounter Number of one's placed in the row so far
+	 * @param onesLeft Number of one's that still need to be placed
+	 * @return 1 or 0
+	 */
+	private int nextRandomNumber(FastRandom rand, int position, int oneCounter, int onesLeft)
+	{
+		/* If the number of ones left to place is greater than the number of total spots left to place
+		* minus the number of iterations of the loop, then force the next number to be one.
+		* Example: numOfVertices = 5, onesLeft = 2.  Current random row = (0, 0, 0)
+		* There's only two spots left in the random row, and two one's left to place.  Force the next number (and the one after) to be one.
+		*/
+		if(onesLeft > numOfVertices - (position + 1))
+		{
+			return 1;
+		}
+		
+		//Checks to make sure that the current number of one's isn't greater than the total
+		//number of one's allowed by the shape, which is determined by the degree value.
+		if(oneCounter == degree) 
+		{
+			return 0;
+		}
+		
+		//generate a random number that is either 0 or 1
+		return rand.nextInt(2);
+	}
+	
+	/**
+	 * To ensure that the numbers in the row are truly random, a random starting position is generated.  The numbers generated
+	 * are then sequentially placed into the returned row starting from this position, resetting to the beginning if the end is reached.
+	 * 
+	 * @param returnedRow Row the numbers are placed into
+	 * @param firstColumn First column of the row that receives a random number
+	 * @param randomNumbers Generated 1's and 0's
+	 * @param randomNumbersSize Number of entries used in randomNumbers
+	 * @param rand Random number generator
+	 */
+	private void placeRotated(BitRow returnedRow, int firstColumn, int[] randomNumbers, int randomNumbersSize, FastRandom rand)
+	{
+		if(randomNumbersSize == 0)
+		{
+			return;
+		}
+		
+		int randomStartingPosition = rand.nextInt(randomNumbersSize);
+		
+		for(int j = 0; j < randomNumbersSize; j++)
+		{
+			if(randomStartingPosition > randomNumbersSize - 1)
+			{
+				randomStartingPosition = 0;
+			}
+			if(randomNumbers[randomStartingPosition] == 1)
+			{
+				returnedRow.set(firstColumn + j);
+			}
+			randomStartingPosition++;
+		}
+	}
+	
+	/**
+	 * The dot product function takes the current row set, and returns a 2D List of the dot product.  It is a thin adapter over
+	 * bitDotProduct for callers that still work with List rows.
 	 * 
 	 * @param passedInRows
 	 * @return 2D List; Returns a (c) by (c) matrix containing the results of the dot product.  
 	 */
 	public List< List<Integer> > dotProduct(List< List<Integer> > passedInRows)
 	{
-		List< List<Integer> > returnedMatrix = new ArrayList< List<Integer> >();
-		List<Integer> innerCurrentRow = new ArrayList<Integer>();
-		List<Integer> outerCurrentRow = new ArrayList<Integer>();
+		return matrixToList(bitDotProduct(BitRow.fromList2D(passedInRows)));
+	}//end dotProduct method
+	
+	/**
+	 * The dot product function takes the current row set and multiplies the transposed version of the row set with the non-transposed 
+	 * version.  Each entry is the popcount of the AND of two rows (see BitRow.dotProduct), and since the result is symmetric only
+	 * the upper triangle is computed and then mirrored, giving a (c) by (c) matrix.
+	 * 
+	 * @param passedInRows List of BitRows
+	 * @return int[][]; Returns a (c) by (c) matrix containing the results of the dot product.  
+	 */
+	public int[][] bitDotProduct(List<BitRow> passedInRows)
+	{
+		int[][] returnedMatrix = new int[passedInRows.size()][passedInRows.size()];
 		
-		int matrixResult = 0;
+		/*
+		 * Each row (outerCurrentRow) needs to be multiplied against every other row (innerCurrentRow) to get the proper result.
+		 * Row i times row j is the same as row j times row i, so the inner loop starts at the diagonal.
+		 */
 		for(int i = 0; i < passedInRows.size(); i++)
 		{	
-			outerCurrentRow = passedInRows.get(i);
+			long[] outerCurrentRow = passedInRows.get(i).words();
 			
-			//Every time an outerRow is processed, we want to create a new row in the returnedResults 2D list.
-			List<Integer> emptyList = new ArrayList<Integer>();
-			returnedMatrix.addAll(Arrays.asList(emptyList));
-			
-			/*
-			 * The idea behind both of these for loops of the same size is that each row (outerCurrentRow) needs to be multiplied 
-			 * against every other row (innerCurrentRow) to get the proper result.
-			 */
-			for(int j = 0; j < passedInRows.size(); j++)
+			for(int j = i; j < passedInRows.size(); j++)
 			{
-				innerCurrentRow = passedInRows.get(j);
-
-				matrixResult = 0;
-				//Do the math to get matrixResult, which is the variable that stores the result for the returnMatrix at a certain spot
-
-				for(int g = 0; g < innerCurrentRow.size(); g++)
-				{
-						matrixResult += outerCurrentRow.get(g) * innerCurrentRow.get(g);
-				}
+				int matrixResult = BitRow.dotProduct(outerCurrentRow, passedInRows.get(j).words());
 				
-				returnedMatrix.get(i).add(matrixResult);
+				returnedMatrix[i][j] = matrixResult;
+				returnedMatrix[j][i] = matrixResult;
 			}
 		}
 
 		return returnedMatrix;
-	}//end dotProduct method
+	}//end bitDotProduct method
+	
+	/**
+	 * This function converts a (c) by (c) matrix into 2D List form so it can be written with FileHandler.write2DList.
+	 * 
+	 * @param matrix Matrix to convert
+	 * @return 2D List containing the same values
+	 */
+	public static List< List<Integer> > matrixToList(int[][] matrix)
+	{
+		List< List<Integer> > returnedMatrix = new ArrayList< List<Integer> >(matrix.length);
+		for(int i = 0; i < matrix.length; i++)
+		{
+			List<Integer> row = new ArrayList<Integer>(matrix[i].length);
+			for(int j = 0; j < matrix[i].length; j++)
+			{
+				row.add(matrix[i][j]);
+			}
+			returnedMatrix.add(row);
+		}
+		return returnedMatrix;
+	}
+	
+	/**
+	 * This function checks to make sure that the matrix created by the dot product of the correct rows 
+	 * and the new random row contains the lambda and mu values in the right place.  It is a thin adapter over
+	 * the BitRow version of lambdaMuCheck.
+	 * 
+	 * @param currentRowSet - The 2D List of rows that contains rows that are currently known to be correct
+	 * @param dotProductMatrix - The dot product of currentRowSet
+	 * @return true(success) or false(failure)
+	 */
+	public boolean lambdaMuCheck(List< List<Integer> > currentRowSet, List< List<Integer> > dotProductMatrix)
+	{
+		int[][] matrix = new int[dotProductMatrix.size()][];
+		for(int g = 0; g < dotProductMatrix.size(); g++)
+		{
+			matrix[g] = new int[dotProductMatrix.get(g).size()];
+			for(int a = 0; a < matrix[g].length; a++)
+			{
+				matrix[g][a] = dotProductMatrix.get(g).get(a);
+			}
+		}
+		return lambdaMuCheck(BitRow.fromList2D(currentRowSet), matrix);
+	}
 	
 	/**
 	 * This function checks to make sure that the matrix created by the dot product of the correct rows 
@@ -322,40 +1100,93 @@ public class SRGsolver
 	 * the (c) by (c) row set, the lambda value should be in that same position in the dotProductMatrix.  Conversely,
 	 * anytime there is a '0' in the (c) by (c) row set, the mu value should be in that same position in the dotProductMatrix. 
 	 * 
-	 * @param currentRowSet - The 2D List of rows that contains rows that are currently known to be correct
+	 * @param currentRowSet - The List of BitRows that contains rows that are currently known to be correct
 	 * @param dotProductMatrix - The dot product of currentRowSet
 	 * @return true(success) or false(failure)
 	 */
-	public boolean lambdaMuCheck(List< List<Integer> > currentRowSet, List< List<Integer> > dotProductMatrix)
+	public boolean lambdaMuCheck(List<BitRow> currentRowSet, int[][] dotProductMatrix)
 	{
 		
-		for(int g = 0; g < dotProductMatrix.size(); g++)
+		for(int g = 0; g < dotProductMatrix.length; g++)
 		{
-			for(int a = 0; a < dotProductMatrix.get(g).size(); a++)
+			BitRow currentRow = currentRowSet.get(g);
+			for(int a = 0; a < dotProductMatrix[g].length; a++)
 			{
-				if(currentRowSet.get(g).get(a) == 1 && (a != g))
+				if(a == g)
 				{
-					if(dotProductMatrix.get(g).get(a) != this.lambdaValue)
-					{
-						return false;
-					}
+					continue;
 				}
-				else if(currentRowSet.get(g).get(a) == 0 && (a != g))
+				
+				if(currentRow.get(a) == 1)
 				{
-					if(dotProductMatrix.get(g).get(a) != this.muValue)
+					if(dotProductMatrix[g][a] != this.lambdaValue)
 					{
 						return false;
 					}
 				}
+				else if(dotProductMatrix[g][a] != this.muValue)
+				{
+					return false;
+				}
 			}
 		}
 		return true;
 	}
 	
+	/**
+	 * This function validates a candidate row against the accepted rows without building any matrix.  The dot product of the
+	 * candidate with each accepted row (r) is computed in turn and compared straight away against lambda (if the candidate has
+	 * a '1' in column (r)) or mu (if it has a '0').  Nearly every candidate fails on one of the first pairs it is compared 
+	 * against, so stopping at the first mismatch skips almost all of the work a full dotProduct and lambdaMuCheck would do.
+	 * <p>
+	 * The index of the rejecting row is returned so the caller can use it for diagnostics or to decide how far to backtrack.
+	 * It is also kept, with the dot product the pair had, for getLastRejectingRow and the rejection profiler.
+	 * <p>
+	 * When the solver's GramMatrix holds exactly the passed in rows, the products are also written into its pending row, so
+	 * a candidate that passes is added with GramMatrix.extendPending without computing them again.
+	 * 
+	 * @param currentRowSet - The List of BitRows that contains rows that are currently known to be correct
+	 * @param candidateRow - The new random row
+	 * @return -1 if the candidate passes, otherwise the index of the first accepted row it fails against
+	 */
+	public int validateCandidate(List<BitRow> currentRowSet, BitRow candidateRow)
+	{
+		long[] candidateWords = candidateRow.words();
+		int[] pendingEntries = (gramMatrix.size() == currentRowSet.size()) ? gramMatrix.pendingRow() : null;
+		for(int r = 0; r < currentRowSet.size(); r++)
+		{
+			int expectedValue = (candidateRow.get(r) == 1) ? this.lambdaValue : this.muValue;
+			int overlap = BitRow.dotProduct(candidateWords, currentRowSet.get(r).words());
+			if(pendingEntries != null)
+			{
+				pendingEntries[r] = overlap;
+			}
+			if(overlap != expectedValue)
+			{
+				lastRejectingRow = r;
+				lastRejectingOverlap = overlap;
+				return r;
+			}
+		}
+		lastRejectingRow = -1;
+		return -1;
+	}
+	
+	/**
+	 * Returns the index of the accepted row that rejected the last candidate passed to validateCandidate, or -1 if that
+	 * candidate passed.
+	 * 
+	 * @return Integer row index or -1
+	 */
+	public int getLastRejectingRow()
+	{
+		return lastRejectingRow;
+	}
+	
 	/**
 	 * This function checks to make sure that the matrix created by the dot product of the correct rows 
 	 * and the new random row contains the mu values in the right place.  Any time there is a '0' in
-	 * the (c) by (c) row set, the lambda value should be in that same position in the dotProductMatrix.  
+	 * the (c) by (c) row set, the mu value should be in that same position in the dotProductMatrix.  
 	 * 
 	 * @param currentRowSet - The 2D List of rows that contains rows that are currently known to be correct
 	 * @param dotProductMatrix - The dot product of currentRowSet
@@ -436,7 +1267,8 @@ public class SRGsolver
 	
 	/**
 	 * This function generates a text file containing a formatted and unformatted version
-	 * of the maximal row set and dot product matrix that is passed into it.
+	 * of the maximal row set and dot product matrix that is passed into it.  The file is opened once and 
+	 * written through a buffer.
 	 * 
 	 * @param currentRowSet The 2D list that contains the maximal row set.
 	 * @param dotProductMatrix The 2D list that contains the dot product of the maximal row set.
@@ -452,7 +1284,7 @@ public class SRGsolver
 		Date date = new Date();
 		
 		FileHandler fileHandler = new FileHandler();
-		fileHandler.setFileName(this.fileName);
+		fileHandler.openFileForWrite(this.fileName);
 		
 		/* Print formatted row set header */
 		fileHandler.write("FILE NAME: ");
@@ -464,6 +1296,18 @@ public class SRGsolver
 		fileHandler.write("Author: ");
 		fileHandler.write("Tyler Wilcock");
 		fileHandler.writeln(2);
+		//Print what is needed to replay the run
+		fileHandler.write("SEED: ");
+		fileHandler.write(this.seed);
+		if(this.walkerIndex >= 0)
+		{
+			fileHandler.write(", WALKER: ");
+			fileHandler.write(this.walkerIndex);
+		}
+		fileHandler.writeln();
+		fileHandler.write("CANDIDATES GENERATED: ");
+		fileHandler.write(this.candidatesGenerated);
+		fileHandler.writeln(2);
 		//Print run time
 		fileHandler.write("RUN TIME: ");
 		fileHandler.write(hours);
@@ -480,7 +1324,7 @@ public class SRGsolver
 		fileHandler.writeln(2);
 		/* End header */
 		
-		writeFormatted2DList(currentRowSet, spacesToIndent);
+		writeFormatted2DList(fileHandler, currentRowSet, spacesToIndent);
 		
 		fileHandler.writeln(2);
 		
@@ -491,7 +1335,7 @@ public class SRGsolver
 		fileHandler.writeln(2);
 		/* End header */
 		
-		writeFormatted2DList(dotProductMatrix, spacesToIndent);
+		writeFormatted2DList(fileHandler, dotProductMatrix, spacesToIndent);
 		
 		fileHandler.writeln(2);
 		
@@ -508,6 +1352,24 @@ public class SRGsolver
 		fileHandler.write("---------------------------------------------------------");
 		fileHandler.writeln(2);
 		fileHandler.write2DList(dotProductMatrix);
+		
+		fileHandler.closeFileFromWrite();
+	}
+	
+	/**
+	 * This function generates a text file for a maximal row set held as BitRows.  The rows and dot product matrix are converted
+	 * to 2D Lists and written by the List version of printMaximalRowsToFile.
+	 * 
+	 * @param currentRowSet The List of BitRows that contains the maximal row set.
+	 * @param dotProductMatrix The dot product of the maximal row set.
+	 * @param hours The integer value of hours the program took to run
+	 * @param minutes The integer value of minutes the program took to run (not higher than 60)
+	 * @param seconds The double value of seconds the program took to run (not higher than 60)
+	 * @return void
+	 */
+	public void printMaximalRowsToFile(List<BitRow> currentRowSet, int[][] dotProductMatrix, int hours, int minutes, double seconds)
+	{
+		printMaximalRowsToFile(BitRow.toList2D(currentRowSet), matrixToList(dotProductMatrix), hours, minutes, seconds);
 	}
 	
 	/**
@@ -521,8 +1383,21 @@ public class SRGsolver
 	public void writeFormatted2DList(List< List<Integer> > twoDimensionalList, int spacesToIndent)
 	{
 		FileHandler fileHandler = new FileHandler();
-		fileHandler.setFileName(this.fileName);
-		
+		fileHandler.openFileForWrite(this.fileName);
+		writeFormatted2DList(fileHandler, twoDimensionalList, spacesToIndent);
+		fileHandler.closeFileFromWrite();
+	}
+	
+	/**
+	 * This function writes a formatted table from it's 2D List input through a FileHandler that is already open, so the 
+	 * table can be part of a larger file written in one go.
+	 * 
+	 * @param fileHandler - FileHandler the table is written through
+	 * @param twoDimensionalList - Passed in 2D List that will be written onto the text file
+	 * @param spacesToIndent - Integer number of spaces to "indent"
+	 */
+	public void writeFormatted2DList(FileHandler fileHandler, List< List<Integer> > twoDimensionalList, int spacesToIndent)
+	{
 		/* Print column numbers and top line of 2D List*/
 		fileHandler.writeSpace(spacesToIndent);
 		for(int i = 0; i < this.numOfVertices; i++)
@@ -607,29 +1482,110 @@ public class SRGsolver
 		}
 	}
 	
+	/**
+	 * This function handles the amount of backtracking that occurs.  It is a thin adapter over backtrackBitRows for callers
+	 * that still work with List rows.
+	 * 
+	 * @param currentRowSet 2D List of rows found
+	 * @param numOfRowsToKeep Integer value containing the number of rows to keep in the rowset
+	 * @return returnedRowSet Row set cut down to the listed percentage
+	 */
+	public List< List<Integer> > backtrackRows(int numRowsToKeep, List< List<Integer> > currentRowSet)
+	{	
+		List<BitRow> bitRowSet = BitRow.fromList2D(currentRowSet);
+		backtrackBitRows(numRowsToKeep, bitRowSet);
+		
+		currentRowSet.clear();
+		currentRowSet.addAll(BitRow.toList2D(bitRowSet));
+		return currentRowSet;
+	}
+	
 	/**
 	 * This function handles the amount of backtracking that occurs.  In some cases, where the graph completes
 	 * (x)% of the way, we may not want to backtrack all the way to an empty row set, as there is good reason to
 	 * believe that the beginning rows likely were okay, and it was the rows added later on that led to errors.
 	 * To accommodate this, this function will allow you to specify how many rows in the row set you want to keep.
+	 * The incrementally maintained dot product matrix is rolled back along with the rows.
 	 * 
-	 * @param currentRowSet 2D List of rows found
+	 * @param currentRowSet List of BitRows found
 	 * @param numOfRowsToKeep Integer value containing the number of rows to keep in the rowset
 	 * @return returnedRowSet Row set cut down to the listed percentage
 	 */
-	public List< List<Integer> > backtrackRows(int numRowsToKeep, List< List<Integer> > currentRowSet)
+	public List<BitRow> backtrackBitRows(int numRowsToKeep, List<BitRow> currentRowSet)
+	{
+		long backtrackStart = System.nanoTime();
+		int fromDepth = currentRowSet.size();
+		List<BitRow> keptRowSet = dropRows(numRowsToKeep, currentRowSet);
+		metrics.backtracked(fromDepth, keptRowSet.size(), System.nanoTime() - backtrackStart);
+		return keptRowSet;
+	}
+	
+	/**
+	 * Does the work of backtrackBitRows.
+	 */
+	private List<BitRow> dropRows(int numRowsToKeep, List<BitRow> currentRowSet)
 	{	
+		if(symmetryBreaking != null && numRowsToKeep == 1)
+		{
+			//Row 1 is canonical too.  Dropping it alone would let a random row 1 replace it, and symmetry breaking would no
+			//longer apply to the rows built on it.
+			numRowsToKeep = 2;
+		}
+		if(triangleFreeInitializer != null && numRowsToKeep < triangleFreeInitializer.getRowCount())
+		{
+			//The initializer's rows are only ever replaced as a whole, by a new design.
+			List<BitRow> initialRows = triangleFreeInitializer.buildRows(rand);
+			if(initialRows == null)
+			{
+				throw new IllegalStateException("No 2-design exists for the rows of vertex 0's neighbourhood");
+			}
+			currentRowSet.clear();
+			for(int i = 0; i < initialRows.size(); i++)
+			{
+				currentRowSet.add(takePooledRow(i, initialRows.get(i)));
+			}
+			gramMatrix.rebuild(currentRowSet);
+			if(interlacingPruner != null)
+			{
+				interlacingPruner.truncated(0);
+			}
+			backtrackPolicy.truncated(0);
+			return currentRowSet;
+		}
+		
 		if(numRowsToKeep == 0)
 		{
 			currentRowSet.clear();
-			currentRowSet.add(generateRandomRow(true));
+			if(symmetryBreaking != null)
+			{
+				//Restart from the canonical rows rather than an empty row set.
+				currentRowSet.add(takePooledRow(0, symmetryBreaking.getFirstRow()));
+				currentRowSet.add(takePooledRow(1, symmetryBreaking.getSecondRow()));
+			}
+			else
+			{
+				generateRandomBitRow(true, rowPool[0]);
+				currentRowSet.add(rowPool[0]);
+			}
+			gramMatrix.rebuild(currentRowSet);
+			if(interlacingPruner != null)
+			{
+				interlacingPruner.truncated(0);
+			}
+			backtrackPolicy.truncated(0);
 			return currentRowSet;
 		}
 		
-		while(currentRowSet.size() != numRowsToKeep)
+		while(currentRowSet.size() > numRowsToKeep)
 		{
 			currentRowSet.remove(currentRowSet.size() - 1);
 		}
+		gramMatrix.truncate(numRowsToKeep);
+		if(interlacingPruner != null)
+		{
+			interlacingPruner.truncated(numRowsToKeep);
+		}
+		backtrackPolicy.truncated(numRowsToKeep);
 
 		return currentRowSet;
 	}
@@ -663,33 +1619,40 @@ public class SRGsolver
 	}
 	
 	/**
-	 * This function uses a combination of other functions to build the list of known correct rows recursively.
+	 * This function uses a combination of other functions to build the list of known correct rows recursively.  It is a thin 
+	 * adapter over buildBitRowListRecursively for callers that still work with List rows.
 	 * 
 	 * @param currentRowSet The 2D List of rows that are currently known to be correct.
 	 * @return 2D List; Maximal set of rows
 	 */
 	public List< List<Integer> > buildRowListRecursively(List< List<Integer> > currentRowSet)
 	{
-
-		List<Integer> randomRow = new ArrayList<Integer>();
-		List< List<Integer> > dotProductMatrix = new ArrayList< List<Integer> >();
-		
-		randomRow = generateRandomRowFromCurrentRowSet(currentRowSet);
-		currentRowSet.add(randomRow);
+		List<BitRow> bitRowSet = buildBitRowListRecursively(BitRow.fromList2D(currentRowSet));
 		
-		dotProductMatrix = dotProduct(currentRowSet);
+		currentRowSet.clear();
+		currentRowSet.addAll(BitRow.toList2D(bitRowSet));
+		return currentRowSet;
+	}
+	
+	/**
+	 * This function uses a combination of other functions to build the list of known correct BitRows recursively.
+	 * 
+	 * @param currentRowSet The List of BitRows that are currently known to be correct.
+	 * @return List of BitRows; Maximal set of rows
+	 */
+	public List<BitRow> buildBitRowListRecursively(List<BitRow> currentRowSet)
+	{
+		BitRow randomRow = generateCandidateRow(currentRowSet);
 		
-		if(!lambdaMuCheck(currentRowSet, dotProductMatrix) || !muCheck(currentRowSet, dotProductMatrix))
-		{
-			currentRowSet.remove(currentRowSet.size() - 1);
-		}
-		else
+		//validateCandidate checks lambda and mu in a single pass, so no separate mu check is needed.
+		if(randomRow != null && validateCandidate(currentRowSet, randomRow) == -1)
 		{
+			currentRowSet.add(randomRow);
 			System.out.println("Lambda and mu row checks passed.  Row " + currentRowSet.size() + " found.");
 		}
 		if(currentRowSet.size() == this.numOfVertices)
 		{
-			dotProductMatrix = dotProduct(currentRowSet);
+			int[][] dotProductMatrix = bitDotProduct(currentRowSet);
 			System.out.println("\nFOUND MAXIMAL SET.");
 			System.out.println("Writing to file...");
 			printMaximalRowsToFile(currentRowSet, dotProductMatrix, 0, 0, 0);
@@ -698,97 +1661,461 @@ public class SRGsolver
 			return currentRowSet;
 		}
 
-		return buildRowListRecursively(currentRowSet);
+		return buildBitRowListRecursively(currentRowSet);
+	}
+	
+	/**
+	 * This function announces a maximal row set on the console, writes it in each of the selected output formats (the text
+	 * report with printMaximalRowsToFile, graph6 and binary with MatrixWriter), and prints the run time.
+	 * 
+	 * @param currentRowSet The List of BitRows that contains the maximal row set.
+	 * @param dotProductMatrix The dot product of the maximal row set.
+	 * @param elapsedNanos Time in nanoseconds the search took
+	 */
+	public void reportMaximalRowSet(List<BitRow> currentRowSet, int[][] dotProductMatrix, long elapsedNanos)
+	{
+		System.out.println("\nFOUND MAXIMAL SET.");
+		System.out.println("Writing to file...");
+		
+		int hours = 0, minutes = 0;
+		double seconds = (double) elapsedNanos / 1000000000.0;
+		//There are 3600 seconds in an hour; if there are more than 3600 seconds we want to convert
+		//that to an hour.
+		if(seconds > 3600)
+		{
+			while(seconds >= 3600)
+			{
+				seconds -= 3600;
+				hours++;
+			}
+		}
+		//After the hours have been converted, we now want to transfer any seconds value over 60 into
+		//a minute.
+		if(seconds > 60)
+		{
+			while(seconds > 60)
+			{
+				seconds -= 60;
+				minutes++;
+			}
+		}
+		seconds = round(seconds, 2);
+		
+		if(outputFormats.contains(MatrixWriter.OutputFormat.TEXT))
+		{
+			printMaximalRowsToFile(currentRowSet, dotProductMatrix, hours, minutes, seconds);
+		}
+		try
+		{
+			if(outputFormats.contains(MatrixWriter.OutputFormat.GRAPH6))
+			{
+				MatrixWriter.writeGraph6(currentRowSet, MatrixWriter.fileNameFor(fileName, MatrixWriter.OutputFormat.GRAPH6));
+			}
+			if(outputFormats.contains(MatrixWriter.OutputFormat.BINARY))
+			{
+				MatrixWriter.writeBinary(currentRowSet, degree, lambdaValue, muValue, 
+						MatrixWriter.fileNameFor(fileName, MatrixWriter.OutputFormat.BINARY));
+			}
+		}
+		catch(IOException exception)
+		{
+			System.err.println("IOException encountered writing the maximal row set of " + fileName + ".");
+			exception.printStackTrace();
+		}
+		System.out.println("Done.");
+		System.out.println("Run time: ");
+		System.out.println("           Hours:   " + hours);
+		System.out.println("           Minutes: " + minutes);
+		System.out.println("           Seconds: " + seconds);
+		if(interlacingPruner != null)
+		{
+			System.out.println(interlacingPruner);
+		}
+	}
+	
+	/**
+	 * Appends a further maximal row set of the same run to the graph6 file, when graph6 output is on.  The exhaustive searches
+	 * use this for every solution after the first when isomorph rejection is on, so the file ends up with one graph per
+	 * isomorphism class.
+	 * 
+	 * @param currentRowSet Maximal row set
+	 */
+	public void appendMaximalRowSet(List<BitRow> currentRowSet)
+	{
+		if(!outputFormats.contains(MatrixWriter.OutputFormat.GRAPH6))
+		{
+			return;
+		}
+		try
+		{
+			MatrixWriter.writeGraph6(currentRowSet, MatrixWriter.fileNameFor(fileName, MatrixWriter.OutputFormat.GRAPH6));
+		}
+		catch(IOException exception)
+		{
+			System.err.println("IOException encountered writing a maximal row set of " + fileName + ".");
+			exception.printStackTrace();
+		}
+	}
+	
+	/**
+	 * Replays the random search from the passed in rows for (iterations) candidates and returns the row set it reached.  For
+	 * the replay to follow the original run, the solver must be new, created with the run's seed, and the passed in rows must
+	 * be the ones the run started from (for Main, row 0 generated by the seeded solver).  The CANDIDATES GENERATED count in an
+	 * output file is the iteration count at which that run found its maximal row set.
+	 * 
+	 * @param currentRowSet The List of BitRows the original run started from
+	 * @param iterations Number of candidates to replay
+	 * @return List of BitRows reached after (iterations) candidates, or the maximal row set if it was found first
+	 */
+	public List<BitRow> replay(List<BitRow> currentRowSet, long iterations)
+	{
+		long previousCandidateLimit = candidateLimit;
+		candidateLimit = iterations;
+		try
+		{
+			return buildBitRowListWhileLoop(currentRowSet);
+		}
+		finally
+		{
+			candidateLimit = previousCandidateLimit;
+		}
+	}
+	
+	/**
+	 * Runs the random search; this is the SearchEngine entry point and is the same as buildBitRowListWhileLoop.
+	 * 
+	 * @param currentRowSet The List of BitRows that are currently known to be correct.
+	 * @return List of BitRows; Maximal set of rows
+	 */
+	public List<BitRow> search(List<BitRow> currentRowSet)
+	{
+		return buildBitRowListWhileLoop(currentRowSet);
 	}
 	
 	/**
-	 * This function uses a combination of other functions to build the list of known correct rows using a while loop.
+	 * This function uses a combination of other functions to build the list of known correct rows using a while loop.  It is a 
+	 * thin adapter over buildBitRowListWhileLoop for callers that still work with List rows.
 	 * 
 	 * @param currentRowSet The 2D List of rows that are currently known to be correct.
 	 * @return 2D List; Maximal set of rows
 	 */
 	public List< List<Integer> > buildRowListWhileLoop(List< List<Integer> > currentRowSet)
+	{
+		List<BitRow> bitRowSet = buildBitRowListWhileLoop(BitRow.fromList2D(currentRowSet));
+		if(bitRowSet == null)
+		{
+			return currentRowSet;
+		}
+		
+		currentRowSet.clear();
+		currentRowSet.addAll(BitRow.toList2D(bitRowSet));
+		return currentRowSet;
+	}//end buildRowListWhileLoop() method
+	
+	/**
+	 * This function uses a combination of other functions to build the list of known correct BitRows using a while loop.
+	 * The loop also stops when the stop flag is set, for example by another walker sharing the flag; it then returns null.
+	 * If a candidate limit is set and reached first, the row set reached so far is returned.
+	 * <p>
+	 * Candidates are generated into a scratch row and accepted rows are copied into a pool of preallocated rows, so once the
+	 * row set's List has grown to full size the loop allocates nothing per candidate.  The returned rows are copies that do
+	 * not share storage with the pool.
+	 * <p>
+	 * With an InterlacingPruner set, the accepted rows are checked against the eigenvalue interlacing bounds as the pruner
+	 * asks, and the row set drops back to the last size that passed when they fail.
+	 * <p>
+	 * When the candidates at a depth have failed as many times in a row as the BacktrackPolicy's failure budget for that depth
+	 * allows, the row set is cut back to the number of rows the policy keeps.
+	 * <p>
+	 * With an IsomorphCache set, a maximal row set isomorphic to one in the cache restarts the search from row 0 rather than
+	 * ending it, so the shared stop flag is only set for a new isomorphism class.
+	 * <p>
+	 * Rejections and accepted rows by depth, backtracks and sampled phase times are counted in the solver's SearchMetrics for
+	 * a MetricsReporter to log.  With verbose on, a progress line is printed at most once a second.
+	 * 
+	 * @param currentRowSet The List of BitRows that are currently known to be correct.
+	 * @return List of BitRows; Maximal set of rows, or null if the search was stopped first
+	 */
+	public List<BitRow> buildBitRowListWhileLoop(List<BitRow> currentRowSet)
 	{
 		long startTime = System.nanoTime(); //Start program run timer
 		int runCounterWithoutRow = 0;
+		if(resumeCheckpoint != null)
+		{
+			//Carry on the run time and failure count of the search the checkpoint was taken from.
+			startTime -= resumeCheckpoint.getElapsedNanos();
+			runCounterWithoutRow = resumeCheckpoint.getRunCounterWithoutRow();
+			resumeCheckpoint = null;
+		}
+		long candidatesAtStart = candidatesGenerated;
+		long loopStartTime = System.nanoTime();
+		long lastCheckpointTime = loopStartTime;
+		long nextProgressTime = loopStartTime + PROGRESS_INTERVAL_NANOS;
+		gramMatrix.rebuild(currentRowSet);
+		if(interlacingPruner != null)
+		{
+			interlacingPruner.truncated(0);
+		}
+		backtrackPolicy.truncated(0);
+		int failureBudget = backtrackPolicy.failureBudget(currentRowSet.size());
 		while(!maximalRowSetFound)
 		{
-			List< List<Integer> > dotProductMatrix = new ArrayList< List<Integer> >();
+			int[][] dotProductMatrix;
 			if(currentRowSet.size() == this.numOfVertices)
 			{
-				dotProductMatrix = dotProduct(currentRowSet);
-				System.out.println("\nFOUND MAXIMAL SET.");
-				System.out.println("Writing to file...");
+				if(isomorphCache != null && !isomorphCache.add(currentRowSet))
+				{
+					//A class that is already known does not end the search; the walk starts over for a new one.
+					System.out.println("\nFOUND MAXIMAL SET, isomorphic to one already found; not writing it.  Restarting.");
+					runCounterWithoutRow = 0;
+					currentRowSet = backtrackBitRows(0, currentRowSet);
+					failureBudget = backtrackPolicy.failureBudget(currentRowSet.size());
+					continue;
+				}
+				//Only the first solver to set a shared stop flag writes its row set.
+				if(!stopFlag.compareAndSet(false, true))
+				{
+					return null;
+				}
+				publishedCandidates = candidatesGenerated;
+				dotProductMatrix = incrementalGram ? gramMatrix.toMatrix() : bitDotProduct(currentRowSet);
 				maximalRowSetFound = true;
-				
-				long endTime = System.nanoTime() - startTime;
-				int hours = 0, minutes = 0;
-				double seconds = (double) endTime / 1000000000.0;
-				//There are 3600 seconds in an hour; if there are more than 3600 seconds we want to convert
-				//that to an hour.
-				if(seconds > 3600)
+				detachPooledRows(currentRowSet);
+				reportMaximalRowSet(currentRowSet, dotProductMatrix, System.nanoTime() - startTime);
+				return currentRowSet;
+			}	
+			
+			if(candidatesGenerated - candidatesAtStart >= candidateLimit)
+			{
+				publishedCandidates = candidatesGenerated;
+				detachPooledRows(currentRowSet);
+				return currentRowSet;
+			}
+			
+			if(checkpointWriter != null && candidatesGenerated % PUBLISH_INTERVAL == 0)
+			{
+				long now = System.nanoTime();
+				if(now - lastCheckpointTime >= checkpointIntervalNanos)
+				{
+					checkpointWriter.submit(takeCheckpoint(currentRowSet, runCounterWithoutRow, now - startTime));
+					lastCheckpointTime = now;
+				}
+			}
+			
+			if(++candidatesGenerated % PUBLISH_INTERVAL == 0)
+			{
+				publishedCandidates = candidatesGenerated;
+				if(stopFlag.get())
+				{
+					return null;
+				}
+				if(verbose)
 				{
-					while(seconds >= 3600)
+					long now = System.nanoTime();
+					if(now >= nextProgressTime)
 					{
-						seconds -= 3600;
-						hours++;
+						System.out.println("Rows: " + currentRowSet.size() + " (deepest " + maxDepthReached + "), candidates: "
+								+ candidatesGenerated + ", backtracks: " + metrics.getBacktracks());
+						nextProgressTime = now + PROGRESS_INTERVAL_NANOS;
 					}
 				}
-				//After the hours have been converted, we now want to transfer any seconds value over 60 into
-				//a minute.
-				if(seconds > 60)
+			}
+
+			BitRow randomRow = candidateBuffer;
+			boolean rowPassed;
+			int depth = currentRowSet.size();
+			boolean timed = SearchMetrics.isTimed(candidatesGenerated);
+			long phaseStart = timed ? System.nanoTime() : 0;
+			
+			boolean generated = generateCandidateRow(currentRowSet, randomRow);
+			if(timed)
+			{
+				long now = System.nanoTime();
+				metrics.addSampledNanos(SearchMetrics.Phase.GENERATION, now - phaseStart);
+				phaseStart = now;
+			}
+			if(!generated)
+			{
+				//The constrained generator found that no row can be placed without breaking a budget.
+				rowPassed = false;
+			}
+			else if(incrementalGram)
+			{
+				/*
+				 * Only the new row's products are computed, and validateCandidate stops at the first one that is wrong.  The accepted
+				 * part of the matrix is already known to be correct, so the GramMatrix is only extended once a row is accepted, from
+				 * the products validateCandidate left in its pending row.
+				 */
+				int rejectingRow = validateCandidate(currentRowSet, randomRow);
+				rowPassed = rejectingRow == -1;
+				if(rowPassed)
 				{
-					while(seconds > 60)
+					gramMatrix.extendPending(randomRow);
+					currentRowSet.add(takePooledRow(currentRowSet.size(), randomRow));
+					gramMatrix.commit();
+				}
+				else
+				{
+					backtrackPolicy.rejected(depth, rejectingRow);
+				}
+			}
+			else
+			{
+				currentRowSet.add(takePooledRow(currentRowSet.size(), randomRow));
+				dotProductMatrix = bitDotProduct(currentRowSet);
+				rowPassed = lambdaMuCheck(currentRowSet, dotProductMatrix);
+				if(!rowPassed)
+				{
+					currentRowSet.remove(currentRowSet.size() - 1);
+					//lambdaMuCheck does not say which row failed; validateCandidate finds it for the backtrack policy.
+					int rejectingRow = validateCandidate(currentRowSet, randomRow);
+					if(rejectingRow != -1)
 					{
-						seconds -= 60;
-						minutes++;
+						backtrackPolicy.rejected(depth, rejectingRow);
 					}
 				}
-				seconds = round(seconds, 2);
-				
-				printMaximalRowsToFile(currentRowSet, dotProductMatrix, hours, minutes, seconds);
-				System.out.println("Done.");
-				System.out.println("Run time: ");
-				System.out.println("           Hours:   " + hours);
-				System.out.println("           Minutes: " + minutes);
-				System.out.println("           Seconds: " + seconds);
-				return currentRowSet;
-			}	
-
-			List<Integer> randomRow = new ArrayList<Integer>();
-				
-			randomRow = generateRandomRowFromCurrentRowSet(currentRowSet);
-			currentRowSet.add(randomRow);
-				
-			dotProductMatrix = dotProduct(currentRowSet);
+			}
 						
-//			if(lambdaCheck(currentRowSet, dotProductMatrix) && muCheck(currentRowSet, dotProductMatrix))
-//			{
-//				runCounterWithoutRow = 0;
-//				System.out.println("Lambda and mu row checks passed.  Row " + currentRowSet.size() + " found.");
-//			}
-			if(lambdaMuCheck(currentRowSet, dotProductMatrix))
+			if(timed)
+			{
+				metrics.addSampledNanos(SearchMetrics.Phase.VALIDATION, System.nanoTime() - phaseStart);
+			}
+			
+			if(rowPassed)
 			{
 				runCounterWithoutRow = 0;
-				System.out.println("Lambda and mu row checks passed.  Row " + currentRowSet.size() + " found.");
+				rowsAccepted++;
+				metrics.rowAccepted(currentRowSet.size());
+				if(currentRowSet.size() > maxDepthReached)
+				{
+					maxDepthReached = currentRowSet.size();
+				}
+				
+				if(interlacingPruner != null && interlacingPruner.isDue(currentRowSet.size()))
+				{
+					//Without the prune, a doomed row set is only left once the backtrack policy's failure budget runs out.
+					double nanosPerCandidate = (double) (System.nanoTime() - loopStartTime) / (candidatesGenerated - candidatesAtStart);
+					int rowsToKeep = interlacingPruner.check(currentRowSet, 
+							nanosPerCandidate * backtrackPolicy.failureBudget(currentRowSet.size()));
+					if(rowsToKeep != -1)
+					{
+						currentRowSet = backtrackBitRows(rowsToKeep, currentRowSet);
+					}
+				}
+				failureBudget = backtrackPolicy.failureBudget(currentRowSet.size());
 			}
 			else
 			{
-				currentRowSet.remove(currentRowSet.size() - 1);
 				runCounterWithoutRow++;
+				metrics.candidateRejected(depth);
+				if(rejectionProfiler != null)
+				{
+					profileRejection(depth, randomRow, generated);
+				}
 			}
 				
-			if(runCounterWithoutRow == 1000000)
+			if(runCounterWithoutRow >= failureBudget)
 			{
-				System.out.println("\n\n\n Backtracking... \n\n\n");
-					
 				runCounterWithoutRow = 0;
-				currentRowSet = backtrackRows(0, currentRowSet);
+				currentRowSet = backtrackBitRows(backtrackPolicy.rowsToKeep(currentRowSet.size()), currentRowSet);
+				failureBudget = backtrackPolicy.failureBudget(currentRowSet.size());
 			}
 		}//end while(!maximalRowSetFound)
 		
 		return currentRowSet;
 
-	}//end buildRowListWhileLoop() method
+	}//end buildBitRowListWhileLoop() method
+	
+	/**
+	 * Records a rejected candidate in the rejection profiler.  Both validation paths have found the rejecting row with
+	 * validateCandidate by now.
+	 */
+	private void profileRejection(int depth, BitRow candidateRow, boolean generated)
+	{
+		if(!generated)
+		{
+			rejectionProfiler.recordGenerationFailure(depth);
+			return;
+		}
+		if(lastRejectingRow != -1)
+		{
+			rejectionProfiler.record(depth, lastRejectingRow, candidateRow.get(lastRejectingRow) == 1, lastRejectingOverlap);
+		}
+	}
+	
+	/**
+	 * Continues the random search from a checkpoint.  The solver must have the checkpoint's graph parameters; its random
+	 * number generator, counters and run time are restored from the checkpoint, so the search carries on exactly as the
+	 * checkpointed search would have.
+	 * 
+	 * @param checkpoint Checkpoint to resume from
+	 * @return List of BitRows; Maximal set of rows, or null if the search was stopped first
+	 */
+	public List<BitRow> resume(Checkpoint checkpoint)
+	{
+		if(!checkpoint.matches(this))
+		{
+			throw new IllegalArgumentException("Checkpoint was taken for different graph parameters");
+		}
+		
+		seed = checkpoint.getSeed();
+		walkerIndex = checkpoint.getWalkerIndex();
+		rand.setState(checkpoint.getRandomState());
+		candidatesGenerated = checkpoint.getCandidatesGenerated();
+		publishedCandidates = candidatesGenerated;
+		resumeCheckpoint = checkpoint;
+		
+		return buildBitRowListWhileLoop(checkpoint.getRows());
+	}
+	
+	/**
+	 * Copies the state of the search loop into a new Checkpoint.
+	 * 
+	 * @param currentRowSet Accepted rows
+	 * @param runCounterWithoutRow Candidates that have failed since the last accepted row
+	 * @param elapsedNanos Nanoseconds the search has run
+	 * @return Checkpoint of the search
+	 */
+	private Checkpoint takeCheckpoint(List<BitRow> currentRowSet, int runCounterWithoutRow, long elapsedNanos)
+	{
+		long[][] rowWords = new long[currentRowSet.size()][];
+		for(int r = 0; r < currentRowSet.size(); r++)
+		{
+			rowWords[r] = currentRowSet.get(r).words().clone();
+		}
+		return new Checkpoint(numOfVertices, degree, lambdaValue, muValue, seed, walkerIndex, rand.getState(), candidatesGenerated,
+				runCounterWithoutRow, elapsedNanos, rowWords);
+	}
+	
+	/**
+	 * Copies the passed in row into the pooled row for the passed in depth and returns the pooled row.
+	 * 
+	 * @param depth Index the row will have in the row set
+	 * @param row Row to copy
+	 * @return The pooled row holding the copy
+	 */
+	private BitRow takePooledRow(int depth, BitRow row)
+	{
+		BitRow pooledRow = rowPool[depth];
+		System.arraycopy(row.words(), 0, pooledRow.words(), 0, pooledRow.words().length);
+		return pooledRow;
+	}
+	
+	/**
+	 * Replaces every pooled row in the passed in row set with a copy, so the row set can outlive the next call that reuses
+	 * the pool.
+	 * 
+	 * @param currentRowSet List of BitRows to detach from the pool
+	 */
+	private void detachPooledRows(List<BitRow> currentRowSet)
+	{
+		for(int i = 0; i < currentRowSet.size(); i++)
+		{
+			if(currentRowSet.get(i) == rowPool[i])
+			{
+				currentRowSet.set(i, new BitRow(rowPool[i]));
+			}
+		}
+	}
 
 }//end public class SRGsolver
\ No newline at end of file
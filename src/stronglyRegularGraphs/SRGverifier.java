@@ -0,0 +1,407 @@
+package stronglyRegularGraphs;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The SRGverifier class checks that a complete adjacency matrix is a strongly regular graph with parameters (n, k, lambda,
+ * mu), independently of the search that produced it.  In order it checks that the matrix is square (with no '1' past the
+ * last column), has a zero diagonal, is symmetric, is k-regular, and satisfies A^2 = kI + lambda A + mu(J - I - A); for a
+ * symmetric matrix the off-diagonal part of the last check is that rows (i) and (j) have exactly lambda common one's when (i)
+ * and (j) are adjacent and mu when they are not, which is one popcount dot product per pair.
+ * <p>
+ * The first check that fails is reported with the place it failed; for the lambda/mu check that is the first violating pair
+ * in (row, column) order.  For matrices of at least PARALLEL_THRESHOLD vertices the pair check is split across threads, and
+ * it still reports the first violating pair.
+ * <p>
+ * Run as a program, it verifies every matrix file it is given (directories are searched), inferring the parameters from each
+ * matrix:
+ * <pre>
+ *     SRGverifier [--benchmark] [file or directory ...]     (default: CompletedGraphs)
+ * </pre>
+ *
+ * @author Tyler Wilcock
+ */
+
+public class SRGverifier
+{
+	/**
+	 * Matrices with at least this many vertices have their row pairs checked in parallel.
+	 */
+	public static final int PARALLEL_THRESHOLD = 128;
+
+	private static final int ROWS_PER_TASK = 8;
+	private static ForkJoinPool pool;
+
+	/**
+	 * A violation of one of the checks, at row (row) and column (column) of the matrix.
+	 */
+	public static class Violation
+	{
+		private final String check;
+		private final int row, column;
+		private final int expected, actual;
+
+		public Violation(String check, int row, int column, int expected, int actual)
+		{
+			this.check = check;
+			this.row = row;
+			this.column = column;
+			this.expected = expected;
+			this.actual = actual;
+		}
+
+		public String getCheck()
+		{
+			return check;
+		}
+
+		public int getRow()
+		{
+			return row;
+		}
+
+		public int getColumn()
+		{
+			return column;
+		}
+
+		public int getExpected()
+		{
+			return expected;
+		}
+
+		public int getActual()
+		{
+			return actual;
+		}
+
+		@Override
+		public String toString()
+		{
+			return check + " fails at (" + row + ", " + column + "): expected " + expected + ", found " + actual;
+		}
+	}
+
+	private SRGverifier()
+	{
+	}
+
+	/**
+	 * Verifies that the passed in matrix is a strongly regular graph with the passed in parameters.
+	 *
+	 * @param rows Rows of the adjacency matrix
+	 * @param degree Degree (k)
+	 * @param lambdaValue Common neighbours of adjacent vertices
+	 * @param muValue Common neighbours of non-adjacent vertices
+	 * @return null if the matrix is a (n, k, lambda, mu) SRG, otherwise the first violation found
+	 */
+	public static Violation verify(List<BitRow> rows, int degree, int lambdaValue, int muValue)
+	{
+		int numOfVertices = rows.size();
+		BitRow[] rowArray = rows.toArray(new BitRow[numOfVertices]);
+
+		for(int i = 0; i < numOfVertices; i++)
+		{
+			if(rowArray[i].size() != numOfVertices)
+			{
+				return new Violation("square", i, 0, numOfVertices, rowArray[i].size());
+			}
+		}
+		for(int i = 0; i < numOfVertices; i++)
+		{
+			if(rowArray[i].get(i) != 0)
+			{
+				return new Violation("zero diagonal", i, i, 0, 1);
+			}
+		}
+
+		//Every '1' at (i, j) needs a '1' at (j, i); with the same number of one's on both sides, that makes A symmetric.
+		for(int i = 0; i < numOfVertices; i++)
+		{
+			long[] words = rowArray[i].words();
+			for(int w = 0; w < words.length; w++)
+			{
+				long word = words[w];
+				while(word != 0)
+				{
+					int j = (w << 6) + Long.numberOfTrailingZeros(word);
+					if(j >= numOfVertices)
+					{
+						//A '1' past the last column, as a corrupt binary file can hold; the row is wider than the matrix.
+						return new Violation("square", i, j, numOfVertices, j + 1);
+					}
+					if(rowArray[j].get(i) != 1)
+					{
+						return new Violation("symmetry", j, i, 1, 0);
+					}
+					word &= word - 1;
+				}
+			}
+		}
+
+		for(int i = 0; i < numOfVertices; i++)
+		{
+			int rowDegree = rowArray[i].cardinality();
+			if(rowDegree != degree)
+			{
+				return new Violation("regularity", i, i, degree, rowDegree);
+			}
+		}
+
+		long firstViolation;
+		if(numOfVertices >= PARALLEL_THRESHOLD)
+		{
+			AtomicLong sharedViolation = new AtomicLong(Long.MAX_VALUE);
+			getPool().invoke(new PairTask(rowArray, lambdaValue, muValue, 0, numOfVertices, sharedViolation));
+			firstViolation = sharedViolation.get();
+		}
+		else
+		{
+			firstViolation = checkPairs(rowArray, lambdaValue, muValue, 0, numOfVertices, Long.MAX_VALUE);
+		}
+
+		if(firstViolation == Long.MAX_VALUE)
+		{
+			return null;
+		}
+		int i = (int) (firstViolation >>> 32);
+		int j = (int) firstViolation;
+		int expectedValue = (rowArray[i].get(j) == 1) ? lambdaValue : muValue;
+		return new Violation((rowArray[i].get(j) == 1) ? "lambda" : "mu", i, j, expectedValue,
+				rowArray[i].dotProduct(rowArray[j]));
+	}
+
+	/**
+	 * Checks every pair (i, j) with i < j for rows (i) from firstRow up to lastRow, and returns the first violating pair
+	 * packed as (i << 32 | j), or Long.MAX_VALUE if there is none.  Rows past the row of knownViolation are skipped, since a
+	 * violation there cannot come first.
+	 */
+	private static long checkPairs(BitRow[] rowArray, int lambdaValue, int muValue, int firstRow, int lastRow, long knownViolation)
+	{
+		for(int i = firstRow; i < lastRow; i++)
+		{
+			if((long) i << 32 > knownViolation)
+			{
+				break;
+			}
+			long[] rowWords = rowArray[i].words();
+			for(int j = i + 1; j < rowArray.length; j++)
+			{
+				int expectedValue = (rowArray[i].get(j) == 1) ? lambdaValue : muValue;
+				if(BitRow.dotProduct(rowWords, rowArray[j].words()) != expectedValue)
+				{
+					return ((long) i << 32) | j;
+				}
+			}
+		}
+		return Long.MAX_VALUE;
+	}
+
+	/**
+	 * Checks the pairs of a range of rows, splitting the range until it is at most ROWS_PER_TASK rows.  The first violation
+	 * any task finds is kept in sharedViolation, and later rows stop early once an earlier violation is known.
+	 */
+	private static class PairTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final BitRow[] rowArray;
+		private final int lambdaValue, muValue;
+		private final int firstRow, lastRow;
+		private final AtomicLong sharedViolation;
+
+		PairTask(BitRow[] rowArray, int lambdaValue, int muValue, int firstRow, int lastRow, AtomicLong sharedViolation)
+		{
+			this.rowArray = rowArray;
+			this.lambdaValue = lambdaValue;
+			this.muValue = muValue;
+			this.firstRow = firstRow;
+			this.lastRow = lastRow;
+			this.sharedViolation = sharedViolation;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if(lastRow - firstRow > ROWS_PER_TASK)
+			{
+				int middleRow = (firstRow + lastRow) >>> 1;
+				invokeAll(new PairTask(rowArray, lambdaValue, muValue, firstRow, middleRow, sharedViolation),
+						new PairTask(rowArray, lambdaValue, muValue, middleRow, lastRow, sharedViolation));
+				return;
+			}
+
+			long violation = checkPairs(rowArray, lambdaValue, muValue, firstRow, lastRow, sharedViolation.get());
+			long current;
+			while(violation < (current = sharedViolation.get()))
+			{
+				if(sharedViolation.compareAndSet(current, violation))
+				{
+					break;
+				}
+			}
+		}
+	}
+
+	private static synchronized ForkJoinPool getPool()
+	{
+		if(pool == null)
+		{
+			pool = new ForkJoinPool();
+		}
+		return pool;
+	}
+
+	/**
+	 * Infers (k, lambda, mu) from a matrix: k is the degree of row 0, lambda the common neighbours of vertex 0 and its first
+	 * neighbour, and mu the common neighbours of vertex 0 and its first non-neighbour.  When vertex 0 has no neighbours or no
+	 * non-neighbours, the missing value is 0.  The result is only a guess until verify has checked it.
+	 *
+	 * @param rows Rows of the adjacency matrix
+	 * @return int[] of {numOfVertices, degree, lambdaValue, muValue}
+	 */
+	public static int[] inferParameters(List<BitRow> rows)
+	{
+		int numOfVertices = rows.size();
+		int[] parameters = { numOfVertices, 0, 0, 0 };
+		if(numOfVertices == 0)
+		{
+			return parameters;
+		}
+
+		BitRow firstRow = rows.get(0);
+		parameters[1] = firstRow.cardinality();
+		boolean lambdaFound = false, muFound = false;
+		for(int j = 1; j < numOfVertices && !(lambdaFound && muFound); j++)
+		{
+			if(firstRow.get(j) == 1 && !lambdaFound)
+			{
+				parameters[2] = firstRow.dotProduct(rows.get(j));
+				lambdaFound = true;
+			}
+			else if(firstRow.get(j) == 0 && !muFound)
+			{
+				parameters[3] = firstRow.dotProduct(rows.get(j));
+				muFound = true;
+			}
+		}
+		return parameters;
+	}
+
+	/**
+	 * Verifies every matrix file given on the command line, or every file in CompletedGraphs if none are given.  Each file's
+	 * parameters are inferred from its matrix.  With --benchmark, the loaded matrices are then verified repeatedly and the
+	 * rate is printed.  Exits with status 1 if any file fails.
+	 *
+	 * @param args Files and directories to verify, optionally preceded by --benchmark
+	 */
+	public static void main(String args[])
+	{
+		boolean benchmark = false;
+		List<File> files = new ArrayList<File>();
+		for(int a = 0; a < args.length; a++)
+		{
+			if(args[a].equals("--benchmark"))
+			{
+				benchmark = true;
+			}
+			else
+			{
+				addFiles(new File(args[a]), files);
+			}
+		}
+		if(files.isEmpty())
+		{
+			addFiles(new File("CompletedGraphs"), files);
+		}
+
+		List< List<BitRow> > graphs = new ArrayList< List<BitRow> >();
+		List<int[]> graphParameters = new ArrayList<int[]>();
+		int failures = 0;
+		for(int f = 0; f < files.size(); f++)
+		{
+			File file = files.get(f);
+			List<BitRow> rows;
+			try
+			{
+				rows = MatrixLoader.load(file);
+			}
+			catch(IOException exception)
+			{
+				System.out.println("ERROR  " + file + ": " + exception.getMessage());
+				failures++;
+				continue;
+			}
+
+			int[] parameters = inferParameters(rows);
+			String parameterText = "(" + parameters[0] + "," + parameters[1] + "," + parameters[2] + "," + parameters[3] + ")";
+			Violation violation = verify(rows, parameters[1], parameters[2], parameters[3]);
+			if(violation == null)
+			{
+				System.out.println("OK     " + parameterText + " " + file);
+				graphs.add(rows);
+				graphParameters.add(parameters);
+			}
+			else
+			{
+				System.out.println("FAIL   " + parameterText + " " + file + ": " + violation);
+				failures++;
+			}
+		}
+		System.out.println(files.size() - failures + " of " + files.size() + " files verified.");
+
+		if(benchmark && !graphs.isEmpty())
+		{
+			runBenchmark(graphs, graphParameters);
+		}
+		if(failures > 0)
+		{
+			System.exit(1);
+		}
+	}
+
+	private static void addFiles(File file, List<File> files)
+	{
+		if(file.isDirectory())
+		{
+			files.addAll(MatrixLoader.findGraphFiles(file));
+		}
+		else
+		{
+			files.add(file);
+		}
+	}
+
+	/**
+	 * Verifies the passed in graphs over and over for a few seconds and prints how many were verified per second.
+	 */
+	private static void runBenchmark(List< List<BitRow> > graphs, List<int[]> graphParameters)
+	{
+		long verified = 0, invalid = 0;
+		long startTime = System.nanoTime();
+		long elapsed;
+		do
+		{
+			for(int g = 0; g < graphs.size(); g++)
+			{
+				int[] parameters = graphParameters.get(g);
+				if(verify(graphs.get(g), parameters[1], parameters[2], parameters[3]) != null)
+				{
+					invalid++;
+				}
+				verified++;
+			}
+			elapsed = System.nanoTime() - startTime;
+		} while(elapsed < 3000000000L);
+
+		System.out.println("Verified " + verified + " matrices in " + SRGsolver.round(elapsed / 1000000000.0, 2) + " seconds: "
+				+ Math.round(verified / (elapsed / 1000000000.0)) + " per second" + (invalid > 0 ? " (" + invalid + " invalid)" : "") + ".");
+	}
+
+}//end SRGverifier class
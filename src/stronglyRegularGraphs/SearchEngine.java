@@ -0,0 +1,22 @@
+package stronglyRegularGraphs;
+
+import java.util.List;
+
+/**
+ * The SearchEngine interface is the common entry point for the ways a maximal row set can be searched for.  SRGsolver
+ * implements it with its random search, and ExhaustiveSearch with a depth-first enumeration, so Main can pick either one.
+ *
+ * @author Tyler Wilcock
+ */
+
+public interface SearchEngine
+{
+	/**
+	 * Builds rows onto the passed in row set until a maximal row set is found or the search stops.
+	 *
+	 * @param currentRowSet The List of BitRows that are currently known to be correct.
+	 * @return List of BitRows; Maximal set of rows, or null if the search stopped without finding one
+	 */
+	List<BitRow> search(List<BitRow> currentRowSet);
+
+}//end SearchEngine interface
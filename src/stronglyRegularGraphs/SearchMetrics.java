@@ -0,0 +1,164 @@
+package stronglyRegularGraphs;
+
+/**
+ * The SearchMetrics class holds the counters buildBitRowListWhileLoop keeps about its own progress: candidates rejected and
+ * rows accepted at every depth, backtracks and the rows they dropped, and the time spent in each phase of the loop.  Each
+ * solver has its own SearchMetrics and is its only writer, so the counters are plain fields with no atomic operations on the
+ * loop's path.  MetricsReporter reads them from its own thread without locking, so what it sees may be a moment behind the
+ * loop.
+ * <p>
+ * Timing every candidate would cost two System.nanoTime calls per candidate, so only one candidate in TIMING_SAMPLE is
+ * timed, and its time is counted TIMING_SAMPLE times over.  Backtracks are rare and are always timed.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class SearchMetrics
+{
+	/**
+	 * The parts of the search loop whose time is measured.
+	 */
+	public enum Phase
+	{
+		GENERATION, VALIDATION, BACKTRACKING
+	}
+
+	public static final int TIMING_SAMPLE = 64;
+
+	private final long[] rejectionsByDepth;
+	private final long[] acceptsByDepth;
+	private final long[] phaseNanos = new long[Phase.values().length];
+	private volatile long backtracks = 0;
+	private volatile long rowsBacktracked = 0;
+
+	/**
+	 * Creates empty metrics for a graph with the passed in number of vertices.
+	 *
+	 * @param numOfVertices Number of vertices
+	 */
+	public SearchMetrics(int numOfVertices)
+	{
+		this.rejectionsByDepth = new long[numOfVertices + 1];
+		this.acceptsByDepth = new long[numOfVertices + 1];
+	}//end SearchMetrics constructor
+
+	/**
+	 * Returns true if the candidate with the passed in number should be timed.
+	 *
+	 * @param candidateNumber Number of the candidate, counting from 1
+	 * @return true for one candidate in TIMING_SAMPLE
+	 */
+	public static boolean isTimed(long candidateNumber)
+	{
+		return candidateNumber % TIMING_SAMPLE == 0;
+	}
+
+	/**
+	 * Counts a candidate for the row after (depth) accepted rows that was rejected.
+	 *
+	 * @param depth Number of accepted rows
+	 */
+	public void candidateRejected(int depth)
+	{
+		rejectionsByDepth[depth]++;
+	}
+
+	/**
+	 * Counts a row accepted as row (depth - 1), making the row set (depth) rows long.
+	 *
+	 * @param depth Number of accepted rows after the row was added
+	 */
+	public void rowAccepted(int depth)
+	{
+		acceptsByDepth[depth]++;
+	}
+
+	/**
+	 * Counts a backtrack.
+	 *
+	 * @param fromDepth Number of rows before the backtrack
+	 * @param toDepth Number of rows kept
+	 * @param nanos Time the backtrack took
+	 */
+	public void backtracked(int fromDepth, int toDepth, long nanos)
+	{
+		backtracks++;
+		rowsBacktracked += Math.max(0, fromDepth - toDepth);
+		phaseNanos[Phase.BACKTRACKING.ordinal()] += nanos;
+	}
+
+	/**
+	 * Adds time measured on a sampled candidate to a phase, counting it for the TIMING_SAMPLE candidates it stands for.
+	 *
+	 * @param phase Phase the time was spent in
+	 * @param nanos Nanoseconds
+	 */
+	public void addSampledNanos(Phase phase, long nanos)
+	{
+		phaseNanos[phase.ordinal()] += nanos * TIMING_SAMPLE;
+	}
+
+	/**
+	 * Returns the estimated total time spent in a phase.
+	 *
+	 * @param phase Phase
+	 * @return Long nanoseconds
+	 */
+	public long getPhaseNanos(Phase phase)
+	{
+		return phaseNanos[phase.ordinal()];
+	}
+
+	/**
+	 * Returns the number of candidates rejected after (depth) accepted rows.
+	 *
+	 * @param depth Number of accepted rows
+	 * @return Long number of candidates
+	 */
+	public long getRejections(int depth)
+	{
+		return rejectionsByDepth[depth];
+	}
+
+	/**
+	 * Returns the number of rows accepted that made the row set (depth) rows long.
+	 *
+	 * @param depth Number of accepted rows
+	 * @return Long number of rows
+	 */
+	public long getAccepts(int depth)
+	{
+		return acceptsByDepth[depth];
+	}
+
+	/**
+	 * Returns the largest depth the counters cover, the number of vertices.
+	 *
+	 * @return Integer depth
+	 */
+	public int getMaximumDepth()
+	{
+		return rejectionsByDepth.length - 1;
+	}
+
+	/**
+	 * Returns the number of backtracks, including full restarts.
+	 *
+	 * @return Long number of backtracks
+	 */
+	public long getBacktracks()
+	{
+		return backtracks;
+	}
+
+	/**
+	 * Returns the number of rows the backtracks dropped in total.
+	 *
+	 * @return Long number of rows
+	 */
+	public long getRowsBacktracked()
+	{
+		return rowsBacktracked;
+	}
+
+}//end SearchMetrics class
@@ -0,0 +1,217 @@
+package stronglyRegularGraphs;
+
+import java.util.Arrays;
+
+/**
+ * The SymmetricEigenSolver class computes the eigenvalues of real symmetric matrices of up to a fixed order, using
+ * Householder reduction to tridiagonal form followed by the QL algorithm with implicit shifts (the tred2 and tqli routines of
+ * Numerical Recipes, without eigenvectors).  All work is done in double[] arrays allocated once, so repeated calls allocate
+ * nothing.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class SymmetricEigenSolver
+{
+	private static final int MAXIMUM_ITERATIONS = 60;
+
+	private final int maximumOrder;
+	private final double[] matrix;
+	private final double[] offDiagonal;
+
+	/**
+	 * Creates a solver for matrices of up to the passed in order.
+	 *
+	 * @param maximumOrder Largest matrix order the solver will be used for
+	 */
+	public SymmetricEigenSolver(int maximumOrder)
+	{
+		this.maximumOrder = maximumOrder;
+		this.matrix = new double[maximumOrder * maximumOrder];
+		this.offDiagonal = new double[maximumOrder];
+	}//end SymmetricEigenSolver constructor
+
+	/**
+	 * Returns the working matrix, row-major with row length equal to the order passed to eigenvalues.  Callers fill in the
+	 * lower triangle (including the diagonal) before calling eigenvalues; the contents are destroyed by the call.
+	 *
+	 * @return double[] working matrix
+	 */
+	public double[] matrix()
+	{
+		return matrix;
+	}
+
+	/**
+	 * Computes the eigenvalues of the symmetric matrix held in the lower triangle of matrix(), of the passed in order, and
+	 * writes them into the first (order) entries of eigenvalues in ascending order.
+	 *
+	 * @param order Order of the matrix
+	 * @param eigenvalues Array the eigenvalues are written into
+	 * @return true on success, false if the QL iteration did not converge
+	 */
+	public boolean eigenvalues(int order, double[] eigenvalues)
+	{
+		if(order > maximumOrder)
+		{
+			throw new IllegalArgumentException("order " + order + " is larger than " + maximumOrder);
+		}
+		tridiagonalize(order, eigenvalues);
+		if(!diagonalize(order, eigenvalues))
+		{
+			return false;
+		}
+		Arrays.sort(eigenvalues, 0, order);
+		return true;
+	}
+
+	/**
+	 * Householder reduction of the matrix to tridiagonal form.  On return diagonal holds the diagonal and offDiagonal[i] the
+	 * element below diagonal (i - 1).
+	 */
+	private void tridiagonalize(int order, double[] diagonal)
+	{
+		double[] a = matrix;
+		double[] e = offDiagonal;
+
+		for(int i = order - 1; i > 0; i--)
+		{
+			int l = i - 1;
+			double h = 0.0, scale = 0.0;
+			if(l > 0)
+			{
+				for(int k = 0; k < i; k++)
+				{
+					scale += Math.abs(a[i * order + k]);
+				}
+				if(scale == 0.0)
+				{
+					e[i] = a[i * order + l];
+				}
+				else
+				{
+					for(int k = 0; k < i; k++)
+					{
+						a[i * order + k] /= scale;
+						h += a[i * order + k] * a[i * order + k];
+					}
+					double f = a[i * order + l];
+					double g = (f >= 0.0) ? -Math.sqrt(h) : Math.sqrt(h);
+					e[i] = scale * g;
+					h -= f * g;
+					a[i * order + l] = f - g;
+					f = 0.0;
+					for(int j = 0; j < i; j++)
+					{
+						g = 0.0;
+						for(int k = 0; k <= j; k++)
+						{
+							g += a[j * order + k] * a[i * order + k];
+						}
+						for(int k = j + 1; k < i; k++)
+						{
+							g += a[k * order + j] * a[i * order + k];
+						}
+						e[j] = g / h;
+						f += e[j] * a[i * order + j];
+					}
+					double hh = f / (h + h);
+					for(int j = 0; j < i; j++)
+					{
+						f = a[i * order + j];
+						g = e[j] - hh * f;
+						e[j] = g;
+						for(int k = 0; k <= j; k++)
+						{
+							a[j * order + k] -= f * e[k] + g * a[i * order + k];
+						}
+					}
+				}
+			}
+			else
+			{
+				e[i] = a[i * order + l];
+			}
+		}
+		e[0] = 0.0;
+		for(int i = 0; i < order; i++)
+		{
+			diagonal[i] = a[i * order + i];
+		}
+	}
+
+	/**
+	 * QL algorithm with implicit shifts on the tridiagonal matrix left by tridiagonalize.  On return diagonal holds the
+	 * eigenvalues, unsorted.
+	 */
+	private boolean diagonalize(int order, double[] d)
+	{
+		double[] e = offDiagonal;
+		for(int i = 1; i < order; i++)
+		{
+			e[i - 1] = e[i];
+		}
+		if(order > 0)
+		{
+			e[order - 1] = 0.0;
+		}
+
+		for(int l = 0; l < order; l++)
+		{
+			int iterations = 0;
+			int m;
+			do
+			{
+				for(m = l; m < order - 1; m++)
+				{
+					double dd = Math.abs(d[m]) + Math.abs(d[m + 1]);
+					if(Math.abs(e[m]) <= 1e-15 * dd)
+					{
+						break;
+					}
+				}
+				if(m != l)
+				{
+					if(iterations++ == MAXIMUM_ITERATIONS)
+					{
+						return false;
+					}
+					double g = (d[l + 1] - d[l]) / (2.0 * e[l]);
+					double r = Math.hypot(g, 1.0);
+					g = d[m] - d[l] + e[l] / (g + ((g >= 0.0) ? Math.abs(r) : -Math.abs(r)));
+					double s = 1.0, c = 1.0, p = 0.0;
+					int i;
+					for(i = m - 1; i >= l; i--)
+					{
+						double f = s * e[i];
+						double b = c * e[i];
+						r = Math.hypot(f, g);
+						e[i + 1] = r;
+						if(r == 0.0)
+						{
+							d[i + 1] -= p;
+							e[m] = 0.0;
+							break;
+						}
+						s = f / r;
+						c = g / r;
+						g = d[i + 1] - p;
+						r = (d[i] - g) * s + 2.0 * c * b;
+						p = s * r;
+						d[i + 1] = g + p;
+						g = c * r - b;
+					}
+					if(r == 0.0 && i >= l)
+					{
+						continue;
+					}
+					d[l] -= p;
+					e[l] = g;
+					e[m] = 0.0;
+				}
+			} while(m != l);
+		}
+		return true;
+	}
+
+}//end SymmetricEigenSolver class
@@ -0,0 +1,262 @@
+package stronglyRegularGraphs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The SymmetryBreaking class fixes part of the labelling of the vertices, so the searches only build one of the many
+ * relabelled copies of each partial graph.  Every (v, k, lambda, mu) graph can be labelled so that
+ * <ul>
+ * 		<li> row 0 is the neighbourhood of vertex 0: one's at columns 1 to k.
+ * 		<li> row 1 (a neighbour of vertex 0) has one's at column 0, at columns 2 to (lambda + 1) (its lambda common
+ * 			 neighbours with vertex 0) and at columns (k + 1) to (2k - 1 - lambda) (its other neighbours, which are
+ * 			 non-neighbours of vertex 0).  When lambda is 0, row 1 is simply column 0 and the first (k - 1) non-neighbours.
+ * 		<li> the non-neighbours of vertex 0, columns (k + 1) to (v - 1), are in decreasing lexicographic order of their
+ * 			 columns over the neighbour rows 1 to k.
+ * </ul>
+ * The first two rows are given by canonicalRows.  The third condition is checked one row at a time: while the rows for
+ * vertices 2 to k are placed, the non-neighbour columns fall into classes of columns that are equal in every row placed so
+ * far.  Within a class the new row's one's must come first.  No non-neighbour row has been placed yet, so moving a row's
+ * one's to the front of their classes relabels only unplaced vertices; it changes no dot product with an accepted row, and
+ * no column count.  The random search does exactly that with canonicalize, and the exhaustive searches skip the rows that
+ * isCanonical rejects.  For (162, 21, 0, 3), fixing row 0 alone removes the choice of which 21 of the 161 other vertices are
+ * vertex 0's neighbours, row 1 fixes 20 of the 140 non-neighbours, and the column order removes up to 20! * 120! relabellings
+ * of the rest.
+ * <p>
+ * The order of the neighbours 2 to k is left free.  Both checks only apply to row sets that start with canonicalRows, so
+ * other starting rows (for example from --start-from) are searched as before.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class SymmetryBreaking
+{
+	private final int numOfVertices, degree;
+	private final BitRow firstRow, secondRow;
+	private final long[] blockMask;
+
+	/**
+	 * Creates the canonical structure for the passed in parameters.
+	 *
+	 * @param numOfVertices Number of vertices
+	 * @param degree Degree
+	 * @param lambdaValue Lambda value
+	 */
+	public SymmetryBreaking(int numOfVertices, int degree, int lambdaValue)
+	{
+		if(degree < 1 || lambdaValue < 0 || lambdaValue >= degree || 2 * degree - 1 - lambdaValue > numOfVertices - 1)
+		{
+			throw new IllegalArgumentException("No graph with " + numOfVertices + " vertices, degree " + degree + " and lambda "
+					+ lambdaValue + " has the canonical first rows");
+		}
+
+		this.numOfVertices = numOfVertices;
+		this.degree = degree;
+
+		this.firstRow = new BitRow(numOfVertices);
+		for(int j = 1; j <= degree; j++)
+		{
+			firstRow.set(j);
+		}
+
+		this.secondRow = new BitRow(numOfVertices);
+		secondRow.set(0);
+		for(int j = 2; j <= lambdaValue + 1; j++)
+		{
+			secondRow.set(j);
+		}
+		for(int j = degree + 1; j <= 2 * degree - 1 - lambdaValue; j++)
+		{
+			secondRow.set(j);
+		}
+
+		BitRow block = new BitRow(numOfVertices);
+		for(int j = degree + 1; j < numOfVertices; j++)
+		{
+			block.set(j);
+		}
+		this.blockMask = block.words();
+	}//end SymmetryBreaking constructor
+
+	/**
+	 * Creates the canonical structure for the passed in solver's parameters.
+	 *
+	 * @param srgSolver Solver holding the graph parameters
+	 * @return New SymmetryBreaking
+	 */
+	public static SymmetryBreaking of(SRGsolver srgSolver)
+	{
+		return new SymmetryBreaking(srgSolver.getNumOfVertices(), srgSolver.getDegree(), srgSolver.getLambdaValue());
+	}
+
+	/**
+	 * Returns new copies of the canonical rows 0 and 1.
+	 *
+	 * @return List of the two canonical BitRows
+	 */
+	public List<BitRow> canonicalRows()
+	{
+		List<BitRow> canonicalRows = new ArrayList<BitRow>();
+		canonicalRows.add(new BitRow(firstRow));
+		canonicalRows.add(new BitRow(secondRow));
+		return canonicalRows;
+	}
+
+	/**
+	 * Returns the canonical row 0.  The row must not be changed.
+	 *
+	 * @return BitRow row 0
+	 */
+	public BitRow getFirstRow()
+	{
+		return firstRow;
+	}
+
+	/**
+	 * Returns the canonical row 1.  The row must not be changed.
+	 *
+	 * @return BitRow row 1
+	 */
+	public BitRow getSecondRow()
+	{
+		return secondRow;
+	}
+
+	/**
+	 * Returns true if the column order constrains the next row of the passed in row set: the row set starts with the
+	 * canonical rows and the next row is a neighbour of vertex 0.
+	 *
+	 * @param currentRowSet Accepted rows
+	 * @return true if canonicalize and isCanonical apply
+	 */
+	public boolean appliesTo(List<BitRow> currentRowSet)
+	{
+		int rowIndex = currentRowSet.size();
+		return rowIndex >= 2 && rowIndex <= degree && currentRowSet.get(0).equals(firstRow)
+				&& currentRowSet.get(1).equals(secondRow);
+	}
+
+	/**
+	 * Moves the candidate's one's among the non-neighbours of vertex 0 to the front of their column classes, so the
+	 * candidate keeps the non-neighbour columns in order.  Does nothing if appliesTo is false.
+	 *
+	 * @param currentRowSet Accepted rows
+	 * @param candidateRow Candidate for the next row; changed in place
+	 * @param classStarts Scratch array of at least BitRow.wordsFor(numOfVertices) words
+	 */
+	public void canonicalize(List<BitRow> currentRowSet, BitRow candidateRow, long[] classStarts)
+	{
+		if(!appliesTo(currentRowSet))
+		{
+			return;
+		}
+		findClassStarts(currentRowSet, classStarts);
+		if(isCanonical(candidateRow, classStarts))
+		{
+			return;
+		}
+
+		int start = degree + 1;
+		while(start < numOfVertices)
+		{
+			int end = start + 1;
+			while(end < numOfVertices && ((classStarts[end >>> 6] >>> end) & 1L) == 0)
+			{
+				end++;
+			}
+
+			int ones = 0;
+			for(int j = start; j < end; j++)
+			{
+				ones += candidateRow.get(j);
+				candidateRow.clear(j);
+			}
+			for(int j = start; j < start + ones; j++)
+			{
+				candidateRow.set(j);
+			}
+			start = end;
+		}
+	}
+
+	/**
+	 * Returns true if the candidate keeps the non-neighbour columns in order, or if appliesTo is false.
+	 *
+	 * @param currentRowSet Accepted rows
+	 * @param candidateRow Candidate for the next row
+	 * @return true if the candidate is in canonical form
+	 */
+	public boolean isCanonical(List<BitRow> currentRowSet, BitRow candidateRow)
+	{
+		if(!appliesTo(currentRowSet))
+		{
+			return true;
+		}
+		return isCanonical(candidateRow, classStarts(currentRowSet));
+	}
+
+	/**
+	 * Returns the first column of every class of non-neighbour columns for the passed in row set, as bits, for use with
+	 * isCanonical(BitRow, long[]) when many candidates are checked against the same row set.
+	 *
+	 * @param currentRowSet Accepted rows
+	 * @return long[] with bit (j) set if column (j) starts a class
+	 */
+	public long[] classStarts(List<BitRow> currentRowSet)
+	{
+		long[] classStarts = new long[blockMask.length];
+		findClassStarts(currentRowSet, classStarts);
+		return classStarts;
+	}
+
+	/**
+	 * Marks in classStarts the first column of every class of non-neighbour columns that are equal in rows 1 to the last
+	 * accepted row.  Row 0 is 0 across the non-neighbours, so it never splits a class.
+	 */
+	private void findClassStarts(List<BitRow> currentRowSet, long[] classStarts)
+	{
+		for(int w = 0; w < classStarts.length; w++)
+		{
+			classStarts[w] = 0;
+		}
+		classStarts[(degree + 1) >>> 6] |= 1L << (degree + 1);
+
+		for(int r = 1; r < currentRowSet.size(); r++)
+		{
+			long[] words = currentRowSet.get(r).words();
+			long carry = 0;
+			for(int w = 0; w < blockMask.length; w++)
+			{
+				//Bit (j) of shifted is column (j - 1), so (words ^ shifted) marks the columns that differ from the one before.
+				long shifted = (words[w] << 1) | carry;
+				carry = words[w] >>> 63;
+				classStarts[w] |= (words[w] ^ shifted) & blockMask[w];
+			}
+		}
+	}
+
+	/**
+	 * Returns true if no column inside a class holds a '1' after a '0', that is, if the candidate is in canonical form for
+	 * the row set the passed in class starts were found for.
+	 *
+	 * @param candidateRow Candidate for the next row
+	 * @param classStarts Class starts from classStarts(List)
+	 * @return true if the candidate is in canonical form
+	 */
+	public boolean isCanonical(BitRow candidateRow, long[] classStarts)
+	{
+		long[] words = candidateRow.words();
+		long carry = 0;
+		for(int w = 0; w < blockMask.length; w++)
+		{
+			long shifted = (words[w] << 1) | carry;
+			carry = words[w] >>> 63;
+			if((words[w] & ~shifted & ~classStarts[w] & blockMask[w]) != 0)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+}//end SymmetryBreaking class
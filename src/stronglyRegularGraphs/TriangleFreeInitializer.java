@@ -0,0 +1,398 @@
+package stronglyRegularGraphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The TriangleFreeInitializer class builds the first (k + 1) rows of a triangle-free (lambda = 0) strongly regular graph
+ * directly, instead of leaving them to the random row generator.  With vertex 0 adjacent to vertices 1 to k:
+ * <ul>
+ * 		<li> the neighbours 1 to k are pairwise non-adjacent, so each has its other (k - 1) neighbours among the
+ * 			 non-neighbours (k + 1) to (v - 1);
+ * 		<li> each non-neighbour shares exactly mu neighbours with vertex 0, all of them in 1 to k;
+ * 		<li> two neighbours share mu neighbours: vertex 0 and (mu - 1) non-neighbours.
+ * </ul>
+ * So, reading each non-neighbour as the block of the mu neighbours it is adjacent to, the non-neighbours form a
+ * 2-(k, mu, mu - 1) design with (v - k - 1) blocks, each point in (k - 1) of them.  The design is built by a depth-first
+ * search: the next block always contains the pair that is in too few blocks with the fewest points left that could join it,
+ * and those points are tried in random order, keeping every count within its limit.  After each block, the search checks
+ * that no pair is short of more blocks than its points have left.  Some orders lead into long dead ends, so the search
+ * restarts with a fresh order after a node limit that follows the Luby sequence; the limits grow without bound, so a design
+ * is found whenever one exists.  The blocks are sorted so the non-neighbour columns are in decreasing lexicographic order,
+ * which makes rows 0 and 1 the canonical rows of SymmetryBreaking.
+ * <p>
+ * Rows 0 to k are then fixed: row 0 is the neighbourhood of vertex 0, and row (i) has a '1' at column 0 and at the columns
+ * of the blocks that contain point (i).  The rows of the non-neighbours start with the transposed incidences, which the
+ * generators copy from these rows, so the searches only fill in the adjacency among the non-neighbours.
+ *
+ * @author Tyler Wilcock
+ */
+
+public class TriangleFreeInitializer
+{
+	private static final long NODE_LIMIT_UNIT = 100000;
+
+	private final int numOfVertices, degree, muValue;
+	private final int numOfPoints, numOfBlocks, blocksPerPoint, blocksPerPair;
+
+	private FastRandom rand;
+	private int[] pointCount;
+	private int[] pairCount;
+	private int[][] blocks;
+	private int blockCount;
+	private long nodes, nodeLimit;
+	private long totalNodes;
+
+	/**
+	 * Creates an initializer for the passed in parameters.
+	 *
+	 * @param numOfVertices Number of vertices
+	 * @param degree Degree
+	 * @param lambdaValue Lambda value; must be 0
+	 * @param muValue Mu value
+	 */
+	public TriangleFreeInitializer(int numOfVertices, int degree, int lambdaValue, int muValue)
+	{
+		if(lambdaValue != 0)
+		{
+			throw new IllegalArgumentException("The triangle-free initializer needs lambda = 0, not " + lambdaValue);
+		}
+		if(degree < 1 || muValue < 1 || muValue > degree || (long) degree * (degree - 1) != (long) (numOfVertices - degree - 1) * muValue)
+		{
+			throw new IllegalArgumentException("(" + numOfVertices + "," + degree + ",0," + muValue + ") does not satisfy "
+					+ "k(k - 1) = (v - k - 1)mu");
+		}
+
+		this.numOfVertices = numOfVertices;
+		this.degree = degree;
+		this.muValue = muValue;
+		this.numOfPoints = degree;
+		this.numOfBlocks = numOfVertices - degree - 1;
+		this.blocksPerPoint = degree - 1;
+		this.blocksPerPair = muValue - 1;
+	}//end TriangleFreeInitializer constructor
+
+	/**
+	 * Creates an initializer for the passed in solver's parameters.
+	 *
+	 * @param srgSolver Solver holding the graph parameters
+	 * @return New TriangleFreeInitializer
+	 */
+	public static TriangleFreeInitializer of(SRGsolver srgSolver)
+	{
+		return new TriangleFreeInitializer(srgSolver.getNumOfVertices(), srgSolver.getDegree(), srgSolver.getLambdaValue(),
+				srgSolver.getMuValue());
+	}
+
+	/**
+	 * Returns the number of rows buildRows returns, (k + 1).
+	 *
+	 * @return Integer number of rows
+	 */
+	public int getRowCount()
+	{
+		return degree + 1;
+	}
+
+	/**
+	 * Returns the number of search nodes the design searches have visited so far.
+	 *
+	 * @return Long number of nodes
+	 */
+	public long getTotalNodes()
+	{
+		return totalNodes;
+	}
+
+	/**
+	 * Builds rows 0 to k from a random 2-(k, mu, mu - 1) design.
+	 *
+	 * @param rand Random number generator the design search draws from
+	 * @return List of the (k + 1) BitRows, or null if no design exists
+	 */
+	public List<BitRow> buildRows(FastRandom rand)
+	{
+		int[][] design = buildDesign(rand);
+		if(design == null)
+		{
+			return null;
+		}
+
+		List<BitRow> rows = new ArrayList<BitRow>(degree + 1);
+		BitRow firstRow = new BitRow(numOfVertices);
+		for(int j = 1; j <= degree; j++)
+		{
+			firstRow.set(j);
+		}
+		rows.add(firstRow);
+		for(int point = 0; point < numOfPoints; point++)
+		{
+			BitRow neighbourRow = new BitRow(numOfVertices);
+			neighbourRow.set(0);
+			rows.add(neighbourRow);
+		}
+		for(int b = 0; b < design.length; b++)
+		{
+			for(int x = 0; x < design[b].length; x++)
+			{
+				rows.get(design[b][x] + 1).set(degree + 1 + b);
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * Builds a random 2-(k, mu, mu - 1) design with (v - k - 1) blocks.  Points are numbered 0 to (k - 1), each block's
+	 * points are in increasing order, and the blocks are in increasing lexicographic order.
+	 *
+	 * @param rand Random number generator the search draws from
+	 * @return int[][] of blocks, or null if no design exists
+	 */
+	public int[][] buildDesign(FastRandom rand)
+	{
+		this.rand = rand;
+		for(int attempt = 1; ; attempt++)
+		{
+			nodeLimit = NODE_LIMIT_UNIT * LubyRestartPolicy.luby(attempt);
+			pointCount = new int[numOfPoints];
+			pairCount = new int[numOfPoints * numOfPoints];
+			blocks = new int[numOfBlocks][];
+			blockCount = 0;
+			nodes = 0;
+
+			boolean found = addBlocks();
+			totalNodes += nodes;
+			if(found)
+			{
+				int[][] design = Arrays.copyOf(blocks, numOfBlocks);
+				Arrays.sort(design, new Comparator<int[]>()
+				{
+					public int compare(int[] firstBlock, int[] secondBlock)
+					{
+						for(int x = 0; x < firstBlock.length; x++)
+						{
+							if(firstBlock[x] != secondBlock[x])
+							{
+								return firstBlock[x] - secondBlock[x];
+							}
+						}
+						return 0;
+					}
+				});
+				return design;
+			}
+			if(nodes <= nodeLimit)
+			{
+				//The search finished within the limit, so there is no design.
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Adds blocks until there are numOfBlocks of them.  Returns true once the design is complete, false if it cannot be
+	 * completed or the node limit was passed.
+	 */
+	private boolean addBlocks()
+	{
+		if(blockCount == numOfBlocks)
+		{
+			return true;
+		}
+		if(++nodes > nodeLimit)
+		{
+			return false;
+		}
+
+		int[] block = new int[muValue];
+		if(muValue == 1)
+		{
+			//Blocks are single points; take the first point that is in too few blocks.
+			for(int p = 0; p < numOfPoints; p++)
+			{
+				if(pointCount[p] < blocksPerPoint)
+				{
+					block[0] = p;
+					return placeAndContinue(block);
+				}
+			}
+			return false;
+		}
+
+		//Every completion has a block holding each pair that is in too few blocks; branch on the pair with the fewest points
+		//that could join it.
+		int bestFirst = -1, bestSecond = -1, bestOptions = Integer.MAX_VALUE;
+		for(int p = 0; p < numOfPoints && bestOptions > 0; p++)
+		{
+			for(int q = p + 1; q < numOfPoints && bestOptions > 0; q++)
+			{
+				if(pairCount[p * numOfPoints + q] >= blocksPerPair)
+				{
+					continue;
+				}
+				block[0] = p;
+				block[1] = q;
+				int options = 0;
+				for(int c = 0; c < numOfPoints && options < bestOptions; c++)
+				{
+					if(c != p && c != q && fitsWith(c, block, 2))
+					{
+						options++;
+					}
+				}
+				if(options < bestOptions)
+				{
+					bestFirst = p;
+					bestSecond = q;
+					bestOptions = options;
+				}
+			}
+		}
+		if(bestFirst == -1 || (muValue > 2 && bestOptions < muValue - 2))
+		{
+			return false;
+		}
+		block[0] = bestFirst;
+		block[1] = bestSecond;
+		if(pointCount[bestFirst] >= blocksPerPoint || pointCount[bestSecond] >= blocksPerPoint)
+		{
+			return false;
+		}
+
+		//The points that could join the pair, in random order.
+		int[] candidates = new int[numOfPoints];
+		int candidateCount = 0;
+		for(int c = 0; c < numOfPoints; c++)
+		{
+			if(c != bestFirst && c != bestSecond && fitsWith(c, block, 2))
+			{
+				candidates[candidateCount++] = c;
+			}
+		}
+		for(int i = candidateCount - 1; i > 0; i--)
+		{
+			int j = rand.nextInt(i + 1);
+			int swap = candidates[i];
+			candidates[i] = candidates[j];
+			candidates[j] = swap;
+		}
+		return chooseRest(block, 2, candidates, 0, candidateCount);
+	}
+
+	/**
+	 * Fills block[size] onwards from candidates[start] onwards, then places the block and continues the search.
+	 */
+	private boolean chooseRest(int[] block, int size, int[] candidates, int start, int candidateCount)
+	{
+		if(size == muValue)
+		{
+			return placeAndContinue(block);
+		}
+		for(int i = start; i <= candidateCount - (muValue - size); i++)
+		{
+			if(nodes > nodeLimit)
+			{
+				return false;
+			}
+			if(fitsWith(candidates[i], block, size))
+			{
+				block[size] = candidates[i];
+				if(chooseRest(block, size + 1, candidates, i + 1, candidateCount))
+				{
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if point can join the first (size) points of block without going over a count.
+	 */
+	private boolean fitsWith(int point, int[] block, int size)
+	{
+		if(pointCount[point] >= blocksPerPoint)
+		{
+			return false;
+		}
+		for(int x = 0; x < size; x++)
+		{
+			if(pairCount[point * numOfPoints + block[x]] >= blocksPerPair)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Adds a copy of the block to the design, searches on, and takes it back out if the search fails.
+	 */
+	private boolean placeAndContinue(int[] block)
+	{
+		int[] placedBlock = block.clone();
+		Arrays.sort(placedBlock);
+		updateCounts(placedBlock, 1);
+		blocks[blockCount++] = placedBlock;
+
+		if(countsReachable(placedBlock) && addBlocks())
+		{
+			return true;
+		}
+
+		blocks[--blockCount] = null;
+		updateCounts(placedBlock, -1);
+		return false;
+	}
+
+	/**
+	 * Returns true if the points of the block can still reach their counts: a pair cannot be short of more blocks than
+	 * either of its points, and a point that needs more blocks needs at least (mu - 1) partners to share them with.
+	 */
+	private boolean countsReachable(int[] block)
+	{
+		for(int x = 0; x < block.length; x++)
+		{
+			int point = block[x];
+			int pointDeficit = blocksPerPoint - pointCount[point];
+			int partners = 0;
+			for(int q = 0; q < numOfPoints; q++)
+			{
+				if(q == point)
+				{
+					continue;
+				}
+				int pairDeficit = blocksPerPair - pairCount[point * numOfPoints + q];
+				if(pairDeficit > pointDeficit || pairDeficit > blocksPerPoint - pointCount[q])
+				{
+					return false;
+				}
+				if(pairDeficit > 0)
+				{
+					partners++;
+				}
+			}
+			if(pointDeficit > 0 && partners < muValue - 1)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void updateCounts(int[] block, int change)
+	{
+		for(int x = 0; x < block.length; x++)
+		{
+			pointCount[block[x]] += change;
+			for(int y = x + 1; y < block.length; y++)
+			{
+				pairCount[block[x] * numOfPoints + block[y]] += change;
+				pairCount[block[y] * numOfPoints + block[x]] += change;
+			}
+		}
+	}
+
+}//end TriangleFreeInitializer class